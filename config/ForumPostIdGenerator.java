@@ -1,32 +1,12 @@
 package com.example.moodmovies.config;
 
-import org.hibernate.HibernateException;
-import org.hibernate.engine.spi.SharedSessionContractImplementor;
-import org.hibernate.id.IdentifierGenerator;
-import java.sql.CallableStatement;
-import java.sql.Connection;
-import java.sql.SQLException;
-import java.sql.Types;
+/**
+ * Forum gönderileri (MOODMOVIES_FORUM) için ID üreteci. ID'ler CON prefix'iyle {@link PooledIdGenerator} bloklarından dağıtılır.
+ */
+public class ForumPostIdGenerator extends PooledIdGenerator {
 
-public class ForumPostIdGenerator implements IdentifierGenerator {
     @Override
-    public Object generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
-        Connection connection = null;
-        String generatedId = null;
-        try {
-            connection = session.getJdbcConnectionAccess().obtainConnection();
-            try (CallableStatement stmt = connection.prepareCall("{call id_generator(?, ?)}")) {
-                stmt.setString(1, "CON"); 
-                stmt.registerOutParameter(2, Types.VARCHAR);
-                stmt.execute();
-                generatedId = stmt.getString(2);
-            }
-        } catch (SQLException e) {
-            throw new HibernateException("ID üretimi sırasında veritabanı hatası oluştu (ForumPostIdGenerator)", e);
-        }
-        if (generatedId == null) {
-            throw new HibernateException("ID üretimi başarısız, stored procedure null ID döndürdü (ForumPostIdGenerator)");
-        }
-        return generatedId;
+    protected String prefix() {
+        return "CON";
     }
-}
\ No newline at end of file
+}
@@ -1,26 +1,43 @@
 package com.example.moodmovies.config;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
-import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.client.googleapis.auth.oauth2.GoogleOAuthConstants;
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.Collections;
 
+/**
+ * Google ID token doğrulaması için tek (singleton) verifier ve imza sertifikası yöneticisi.
+ *
+ * GooglePublicKeysManager sertifikaları Cache-Control max-age süresi boyunca bellekte tutar;
+ * süre dolmadan yenilenmesi GooglePublicKeysRefresher tarafından arka planda yapılır.
+ * Sertifika adresi app.google.public-certs-url ile değiştirilebilir (ör. testlerde yerel bir anahtar sunucusu).
+ */
 @Configuration
 public class GoogleAuthConfig {
 
-    @Value("${google.clientId}")
+    @Value("${spring.security.oauth2.client.registration.google.client-id}")
     private String clientId;
 
+    @Value("${app.google.public-certs-url:" + GoogleOAuthConstants.DEFAULT_PUBLIC_CERTS_ENCODED_URL + "}")
+    private String publicCertsUrl;
+
+    @Bean
+    public GooglePublicKeysManager googlePublicKeysManager() {
+        return new GooglePublicKeysManager.Builder(new NetHttpTransport(), GsonFactory.getDefaultInstance())
+                .setPublicCertsEncodedUrl(publicCertsUrl)
+                .build();
+    }
+
     @Bean
-    public GoogleIdTokenVerifier googleIdTokenVerifier() throws Exception {
-        return new GoogleIdTokenVerifier.Builder(
-                GoogleNetHttpTransport.newTrustedTransport(),
-                JacksonFactory.getDefaultInstance())
-            .setAudience(Collections.singletonList(clientId))
-            .build();
+    public GoogleIdTokenVerifier googleIdTokenVerifier(GooglePublicKeysManager googlePublicKeysManager) {
+        return new GoogleIdTokenVerifier.Builder(googlePublicKeysManager)
+                .setAudience(Collections.singletonList(clientId))
+                .build();
     }
 }
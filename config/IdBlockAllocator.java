@@ -0,0 +1,168 @@
+package com.example.moodmovies.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.HibernateException;
+import org.hibernate.engine.jdbc.connections.spi.JdbcConnectionAccess;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prefix başına ID aralıklarını (blok) veritabanından rezerve edip bellekten dağıtan ayırıcı.
+ *
+ * Bir blok, MOODMOVIES_ID_BLOCK tablosundaki sayacı tek bir UPDATE ... OUTPUT ifadesiyle ilerleterek alınır;
+ * ifade satırı kilitlediği için birden fazla uygulama düğümü aynı aralığı alamaz. Blok içindeki ID'ler
+ * AtomicLong ile kilitsiz dağıtılır; kilit sadece blok bittiğinde yenisi alınırken kullanılır.
+ *
+ * ID formatı id_generator stored procedure'ünün ürettiği formatla aynıdır: 10 haneli sayaç 4-6 olarak bölünür
+ * ve prefix eklenir (ör. 0000-000123-USR). Bir prefix için tabloda satır yoksa stored procedure bir kez çağrılır
+ * ve sayaç onun döndürdüğü değerden başlatılır; bu prefix'ler için procedure artık başka yerden çağrılmamalıdır.
+ * Uygulama kapanırken kullanılmamış ID'ler atlanır; ID'ler benzersizdir ama ardışık olmayabilir.
+ *
+ * <pre>
+ * CREATE TABLE MOODMOVIES_ID_BLOCK (
+ *     PREFIX     VARCHAR(3) NOT NULL PRIMARY KEY,
+ *     NEXT_VALUE BIGINT     NOT NULL
+ * );
+ * </pre>
+ */
+@Slf4j
+final class IdBlockAllocator {
+
+    static final IdBlockAllocator INSTANCE = new IdBlockAllocator();
+
+    private static final long MAX_VALUE = 9_999_999_999L;
+    private static final String RESERVE_SQL =
+            "UPDATE MOODMOVIES_ID_BLOCK SET NEXT_VALUE = NEXT_VALUE + ? OUTPUT deleted.NEXT_VALUE WHERE PREFIX = ?";
+    private static final String SEED_SQL = "INSERT INTO MOODMOVIES_ID_BLOCK (PREFIX, NEXT_VALUE) VALUES (?, ?)";
+
+    private final ConcurrentHashMap<String, PrefixPool> pools = new ConcurrentHashMap<>();
+
+    private IdBlockAllocator() {
+    }
+
+    /**
+     * @param prefix ID prefix'i (USR, POI, LST...)
+     * @param blockSize Blok bittiğinde rezerve edilecek ID sayısı
+     * @param connectionAccess Blok rezervasyonu için ayrı bağlantı sağlayan Hibernate erişimi
+     * @return Yeni ID
+     */
+    String next(String prefix, int blockSize, JdbcConnectionAccess connectionAccess) {
+        PrefixPool pool = pools.computeIfAbsent(prefix, key -> new PrefixPool());
+        while (true) {
+            Block block = pool.current;
+            long value = block.next.getAndIncrement();
+            if (value < block.end) {
+                return format(value, prefix);
+            }
+            synchronized (pool) {
+                if (pool.current == block) { // Başka bir thread yeni bloğu henüz almadıysa
+                    pool.current = reserve(prefix, blockSize, connectionAccess);
+                }
+            }
+        }
+    }
+
+    static String format(long value, String prefix) {
+        if (value > MAX_VALUE) {
+            throw new HibernateException("ID aralığı tükendi - Prefix: " + prefix);
+        }
+        return String.format("%04d-%06d-%s", value / 1_000_000, value % 1_000_000, prefix);
+    }
+
+    // --- Blok Rezervasyonu ---
+
+    private Block reserve(String prefix, int blockSize, JdbcConnectionAccess connectionAccess) {
+        long startTime = System.currentTimeMillis();
+        Connection connection = null;
+        try {
+            connection = connectionAccess.obtainConnection();
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(true); // Rezervasyon, entity'yi kaydeden işlemden bağımsız kalıcı olmalı
+            try {
+                Long start = reserveRange(connection, prefix, blockSize);
+                if (start == null) {
+                    seed(connection, prefix);
+                    start = reserveRange(connection, prefix, blockSize);
+                }
+                if (start == null) {
+                    throw new HibernateException("ID bloğu rezerve edilemedi - Prefix: " + prefix);
+                }
+                log.debug("ID bloğu rezerve edildi - Prefix: {}, Start: {}, Size: {}, Duration: {}ms",
+                        prefix, start, blockSize, System.currentTimeMillis() - startTime);
+                return new Block(start, start + blockSize);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            log.error("❌ ID bloğu rezervasyon hatası - Prefix: {}, Error: {}", prefix, e.getMessage(), e);
+            throw new HibernateException("ID üretimi sırasında veritabanı hatası oluştu - Prefix: " + prefix, e);
+        } finally {
+            if (connection != null) {
+                try {
+                    connectionAccess.releaseConnection(connection);
+                } catch (SQLException ignored) {
+                    // Bağlantıyı kapatırken oluşan hatalar görmezden gelinebilir
+                }
+            }
+        }
+    }
+
+    private static Long reserveRange(Connection connection, String prefix, int blockSize) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(RESERVE_SQL)) {
+            stmt.setLong(1, blockSize);
+            stmt.setString(2, prefix);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Prefix için sayacı id_generator procedure'ünün o anki değerinden başlatır. Başka bir düğüm aynı anda
+     * satırı eklediyse birincil anahtar ihlali yok sayılır; procedure'den alınan değer zaten kullanılmamıştır.
+     */
+    private static void seed(Connection connection, String prefix) throws SQLException {
+        String legacyId;
+        try (CallableStatement stmt = connection.prepareCall("{call id_generator(?, ?)}")) {
+            stmt.setString(1, prefix);
+            stmt.registerOutParameter(2, Types.VARCHAR);
+            stmt.execute();
+            legacyId = stmt.getString(2);
+        }
+        if (legacyId == null) {
+            throw new HibernateException("ID üretimi başarısız, stored procedure null ID döndürdü - Prefix: " + prefix);
+        }
+        long start = Long.parseLong(legacyId.substring(0, legacyId.lastIndexOf('-')).replace("-", ""));
+        try (PreparedStatement stmt = connection.prepareStatement(SEED_SQL)) {
+            stmt.setString(1, prefix);
+            stmt.setLong(2, start);
+            stmt.executeUpdate();
+            log.info("ID sayacı başlatıldı - Prefix: {}, Start: {}", prefix, start);
+        } catch (SQLException e) {
+            if (e.getSQLState() == null || !e.getSQLState().startsWith("23")) {
+                throw e;
+            }
+        }
+    }
+
+    private static final class PrefixPool {
+        private volatile Block current = new Block(0, 0); // Boş blok: ilk çağrıda rezervasyon yapılır
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.moodmovies.config;
+
+import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Prefix'li string ID üreteçlerinin ortak tabanı. ID'ler {@link IdBlockAllocator} üzerinden bloklar halinde
+ * rezerve edilir; her insert için veritabanına gidilmez.
+ * Blok boyutu @GenericGenerator'a "block_size" parametresiyle verilebilir.
+ */
+public abstract class PooledIdGenerator implements IdentifierGenerator {
+
+    public static final String BLOCK_SIZE_PARAMETER = "block_size";
+    private static final int DEFAULT_BLOCK_SIZE = 50;
+
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+
+    /**
+     * @return ID'nin sonuna eklenen 3 harfli prefix (ör. USR)
+     */
+    protected abstract String prefix();
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        String value = parameters.getProperty(BLOCK_SIZE_PARAMETER);
+        if (value != null) {
+            blockSize = Math.max(1, Integer.parseInt(value.trim()));
+        }
+    }
+
+    /**
+     * Toplu JDBC insert'leri için önceden ID ayırır. Gerekirse tek bir rezervasyonla tüm ID'leri kapsayan blok alınır.
+     * @param prefix ID prefix'i (ör. RSP)
+     * @param count İstenen ID sayısı
+     * @param session Rezervasyon bağlantısını sağlayan Hibernate oturumu
+     * @return Yeni ID'ler
+     */
+    public static List<String> allocate(String prefix, int count, SharedSessionContractImplementor session) {
+        List<String> ids = new ArrayList<>(count);
+        int blockSize = Math.max(DEFAULT_BLOCK_SIZE, count);
+        for (int i = 0; i < count; i++) {
+            ids.add(IdBlockAllocator.INSTANCE.next(prefix, blockSize, session.getJdbcConnectionAccess()));
+        }
+        return ids;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) throws HibernateException {
+        return IdBlockAllocator.INSTANCE.next(prefix(), blockSize, session.getJdbcConnectionAccess());
+    }
+}
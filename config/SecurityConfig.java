@@ -1,5 +1,6 @@
 package com.example.moodmovies.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -26,6 +27,8 @@ import com.example.moodmovies.security.JwtAuthenticationFilter;
 import com.example.moodmovies.security.OAuth2AuthenticationFailureHandler;
 import com.example.moodmovies.security.OAuth2AuthenticationSuccessHandler;
 import com.example.moodmovies.security.OAuth2UserServiceImpl;
+import com.example.moodmovies.security.OffloadedPasswordEncoder;
+import com.example.moodmovies.security.PasswordHashingExecutor;
 
 import lombok.RequiredArgsConstructor;
 
@@ -84,9 +87,14 @@ public class SecurityConfig {
                 .build();
     }
 
+    /**
+     * BCrypt işlemleri istek thread'inde değil, sınırlı hash'leme havuzunda çalışır.
+     * Maliyet (strength) artırıldığında eski hash'ler başarılı girişte yeniden hash'lenir (bkz. CustomUserDetailsService).
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor passwordHashingExecutor,
+                                           @Value("${app.security.bcrypt-strength:10}") int strength) {
+        return new OffloadedPasswordEncoder(new BCryptPasswordEncoder(strength), passwordHashingExecutor);
     }
 
     @Bean
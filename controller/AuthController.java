@@ -13,12 +13,10 @@ import com.example.moodmovies.service.UserService;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken.Payload;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -34,6 +32,7 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -46,10 +45,7 @@ public class AuthController {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
     private final CookieService cookieService;
-
-    // Google Client ID'sini application.properties'ten alıyoruz
-    @Value("${spring.security.oauth2.client.registration.google.client-id}")
-    private String googleClientId;
+    private final GoogleIdTokenVerifier googleIdTokenVerifier;
 
     @GetMapping("/test")
     public ResponseEntity<Map<String, String>> test() {
@@ -141,13 +137,9 @@ public class AuthController {
             return ResponseEntity.badRequest().build();
         }
 
-        // GoogleIdTokenVerifier'ı her istekte oluşturmak daha güvenli ve basittir.
-        GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(new NetHttpTransport(), new GsonFactory())
-                .setAudience(Collections.singletonList(googleClientId))
-                .build();
-
         try {
-            GoogleIdToken idToken = verifier.verify(idTokenString);
+            // Paylaşılan verifier; imza sertifikaları önbellekten gelir (bkz. GoogleAuthConfig)
+            GoogleIdToken idToken = googleIdTokenVerifier.verify(idTokenString);
             if (idToken == null) {
                 log.warn("Geçersiz Google ID Token alındı.");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
@@ -189,11 +181,12 @@ public class AuthController {
     @PostMapping("/refresh-token")
     public ResponseEntity<AuthResponse> refreshToken(@CookieValue(name = "refreshToken", required = false) String refreshTokenFromCookie) {
         String refreshToken = refreshTokenFromCookie;
-        if (refreshToken == null || !tokenProvider.validateToken(refreshToken)) {
+        Optional<Claims> claims = refreshToken != null ? tokenProvider.parseClaims(refreshToken) : Optional.empty();
+        if (claims.isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
 
-        String userId = tokenProvider.getUserIdFromJWT(refreshToken);
+        String userId = claims.get().getSubject();
         String newAccessToken = tokenProvider.generateTokenFromUserId(userId);
         String newRefreshToken = tokenProvider.generateRefreshToken(userId);
         UserDTO userDTO = userService.findUserById(userId);
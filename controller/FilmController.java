@@ -1,21 +1,39 @@
 package com.example.moodmovies.controller;
 
+import com.example.moodmovies.dto.CursorPageDTO;
 import com.example.moodmovies.dto.FilmDetailDTO;
+import com.example.moodmovies.dto.FilmRatingDistributionDTO;
+import com.example.moodmovies.dto.FilmSearchResponseDTO;
 import com.example.moodmovies.dto.FilmSummaryDTO;
+import com.example.moodmovies.exception.FilmNotFoundException;
+import com.example.moodmovies.security.UserPrincipal;
 import com.example.moodmovies.service.FilmService;
+import com.example.moodmovies.service.interaction.UserFilmBadgeCache;
+import com.example.moodmovies.service.poster.PosterResource;
+import com.example.moodmovies.service.poster.PosterStore;
+import com.example.moodmovies.service.poster.PosterThumbnailService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Film verileri için REST API endpoint'lerini sağlayan Controller.
@@ -27,20 +45,48 @@ import java.util.List;
 public class FilmController {
 
     private final FilmService filmService;
+    private final PosterStore posterStore;
+    private final PosterThumbnailService posterThumbnailService;
+    private final UserFilmBadgeCache userFilmBadgeCache;
+
+    @Value("${app.poster-store.max-age-seconds:3600}")
+    private long posterMaxAgeSeconds;
 
     /**
      * Filmlerin özet bilgilerini sayfalanmış olarak listeler.
      * Örnek istek: /api/v1/films?page=0&size=10&sort=releaseDate,desc
+     * Giriş yapmış kullanıcı için filmler puanladı / favoriledi / listede rozetleriyle işaretlenir.
      * @param pageable Spring tarafından otomatik doldurulan sayfalama ve sıralama bilgisi
      * @return Sayfalanış özet film bilgilerinin listesi
      */
     @GetMapping
     public ResponseEntity<Page<FilmSummaryDTO>> getAllFilmSummaries(
-            @PageableDefault(size = 20, sort = "id") Pageable pageable) { // Varsayılan 20 film, ID'ye göre sıralı
+            @PageableDefault(size = 20, sort = "id") Pageable pageable, // Varsayılan 20 film, ID'ye göre sıralı
+            @AuthenticationPrincipal UserPrincipal currentUser) {
         Page<FilmSummaryDTO> summariesPage = filmService.getFilmSummaries(pageable);
+        userFilmBadgeCache.decorate(userIdOf(currentUser), summariesPage.getContent());
         return ResponseEntity.ok(summariesPage);
     }
 
+    /**
+     * Filmlerin özet bilgilerini cursor ile sayfalar (ID sırasına göre). Toplam sayı döndürülmez.
+     * İlk sayfa için cursor boş gönderilir, sonraki sayfalar için yanıttaki nextCursor kullanılır.
+     * Örnek istek: /api/v1/films?cursor=&size=20
+     * @param cursor Önceki yanıttaki nextCursor
+     * @param size Sayfa boyutu (en fazla 100)
+     * @return Film özetleri ve sonraki sayfanın cursor'ı
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageDTO<FilmSummaryDTO>> getFilmSummariesByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        int safeSize = Math.min(Math.max(size, 1), 100);
+        CursorPageDTO<FilmSummaryDTO> page = filmService.getFilmSummariesByCursor(cursor, safeSize);
+        userFilmBadgeCache.decorate(userIdOf(currentUser), page.getItems());
+        return ResponseEntity.ok(page);
+    }
+
     /**
      * ID'ye göre film detaylarını getirir
      * @param id Film ID'si
@@ -53,16 +99,56 @@ public class FilmController {
     }
 
     /**
-     * Film ID'sine göre resim verisini getirir
+     * Bir filme verilen kullanıcı puanlarının 1-10 dağılımını getirir.
+     * Örnek istek: /api/v1/films/0000-000001-FLM/ratings/distribution
      * @param id Film ID'si
+     * @return Puan dağılımı, ortalama ve toplam puan sayısı
+     */
+    @GetMapping("/{id}/ratings/distribution")
+    public ResponseEntity<FilmRatingDistributionDTO> getRatingDistribution(@PathVariable String id) {
+        return ResponseEntity.ok(filmService.getRatingDistribution(id));
+    }
+
+    /**
+     * Film ID'sine göre resim verisini getirir.
+     * Poster, memory-mapped poster paketinden sunulur; veritabanına sadece paket posteri henüz içermiyorsa gidilir.
+     * Güçlü ETag ile If-None-Match istekleri 304 döner, Range istekleri Spring tarafından kısmi içerikle karşılanır.
+     * URL aynı kalırken poster değişebildiği için cevap immutable değildir; max-age dolunca ETag ile doğrulanır.
+     * w parametresi verilirse en yakın desteklenen genişlikte küçük poster döner; format Accept header'ına göre
+     * WebP veya JPEG seçilir. Küçük poster henüz hazır değilse arka planda üretilir ve orijinal poster döner.
+     * Örnek istek: /api/v1/films/image/0000-000001-FLM?w=160
+     * @param id Film ID'si
+     * @param width İstenen genişlik (opsiyonel, piksel)
+     * @param accept İstemcinin kabul ettiği formatlar
      * @return Resim binary verisi
      */
-    @GetMapping(value = "/image/{id}", produces = MediaType.IMAGE_JPEG_VALUE)
-    public ResponseEntity<byte[]> getFilmImage(@PathVariable String id) {
-        byte[] imageBytes = filmService.getFilmImage(id);
-        return ResponseEntity.ok()
+    @GetMapping("/image/{id}")
+    public ResponseEntity<Resource> getFilmImage(@PathVariable String id,
+                                                 @RequestParam(value = "w", required = false) Integer width,
+                                                 @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        if (width != null && width > 0) {
+            Optional<PosterThumbnailService.Thumbnail> thumbnail = posterThumbnailService.find(id, width, accept);
+            if (thumbnail.isPresent()) {
+                return ResponseEntity.ok()
+                        .contentType(thumbnail.get().mediaType())
+                        .eTag(thumbnail.get().etag())
+                        .varyBy(HttpHeaders.ACCEPT) // Aynı URL, Accept'e göre farklı format döndürebilir
+                        .cacheControl(CacheControl.maxAge(Duration.ofSeconds(posterMaxAgeSeconds)).cachePublic().mustRevalidate())
+                        .body(new FileSystemResource(thumbnail.get().file()));
+            }
+        }
+        PosterResource poster = posterStore.find(id)
+                .orElseThrow(() -> new FilmNotFoundException("Film image not found for id: " + id));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
                 .contentType(MediaType.IMAGE_JPEG) // İçeriğin tipini belirtin
-                .body(imageBytes);
+                .eTag(poster.getEtag()); // If-None-Match eşleşirse Spring 304 döner
+        if (width != null) {
+            // Küçük poster yerine orijinal döndü; paylaşılan cache'ler bu cevabı varyant olarak saklamamalı
+            return response.cacheControl(CacheControl.noCache()).body(poster);
+        }
+        return response
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(posterMaxAgeSeconds)).cachePublic().mustRevalidate())
+                .body(poster);
     }
     
     /**
@@ -83,11 +169,76 @@ public class FilmController {
         return ResponseEntity.ok(suggestions);
     }
 
+    /**
+     * Film adı, konusu, ülkesi ve türleri üzerinde tam metin arama yapar (BM25 sıralı).
+     * Yanıt, sonuçlarla birlikte tür, ülke ve on yıl facet sayımlarını da içerir.
+     * Örnek istek: /api/v1/films/search?q=uzay yolculuğu&genre=Bilim Kurgu&decade=2010&page=0&size=20
+     * @param query Arama metni
+     * @param genre Tür filtresi (opsiyonel)
+     * @param country Ülke filtresi (opsiyonel)
+     * @param decade On yıl filtresi (opsiyonel)
+     * @param page Sayfa numarası
+     * @param size Sayfa boyutu (en fazla 100)
+     * @return Sonuçlar ve facet'ler
+     */
+    @GetMapping("/search")
+    public ResponseEntity<FilmSearchResponseDTO> searchFilms(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) Integer decade,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        int safePage = Math.max(page, 0);
+        int safeSize = Math.min(Math.max(size, 1), 100);
+        FilmSearchResponseDTO response = filmService.searchFilms(query.trim(), genre, country, decade, safePage, safeSize);
+        userFilmBadgeCache.decorate(userIdOf(currentUser), response.getResults());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Filmleri türe ve ülkeye göre gezinmek için kullanılır. Sıralama önceden hesaplanmış dizilerden yapılır.
+     * Örnek istek: /api/v1/films/browse?genre=Dram&genre=Suç&sort=rating&direction=desc&page=0&size=20
+     * @param genres Filmin sahip olması gereken türler (birden fazla verilebilir)
+     * @param country Ülke filtresi (opsiyonel)
+     * @param sort releaseDate (varsayılan), rating, name veya averageRating
+     * @param direction asc veya desc (varsayılan)
+     * @param page Sayfa numarası
+     * @param size Sayfa boyutu (en fazla 100)
+     * @return Sayfalanmış film özetleri
+     */
+    @GetMapping("/browse")
+    public ResponseEntity<Page<FilmSummaryDTO>> browseFilms(
+            @RequestParam(value = "genre", required = false) List<String> genres,
+            @RequestParam(required = false) String country,
+            @RequestParam(defaultValue = "releaseDate") String sort,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        int safePage = Math.max(page, 0);
+        int safeSize = Math.min(Math.max(size, 1), 100);
+        boolean ascending = "asc".equalsIgnoreCase(direction);
+        Page<FilmSummaryDTO> films = filmService.browseFilms(genres, country, sort, ascending, safePage, safeSize);
+        userFilmBadgeCache.decorate(userIdOf(currentUser), films.getContent());
+        return ResponseEntity.ok(films);
+    }
+
     // controller/FilmController.java
 // ...
     @GetMapping("/popular/favorites")
     public ResponseEntity<List<FilmSummaryDTO>> getPopularFavorites(
-        @RequestParam(defaultValue = "4") int limit) {
-    return ResponseEntity.ok(filmService.getTopFavoritedFilms(limit));
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "4") int limit,
+        @AuthenticationPrincipal UserPrincipal currentUser) {
+    int safeLimit = Math.min(Math.max(limit, 1), 100);
+    List<FilmSummaryDTO> films = filmService.getTopFavoritedFilms(Math.max(page, 0), safeLimit);
+    userFilmBadgeCache.decorate(userIdOf(currentUser), films);
+    return ResponseEntity.ok(films);
+    }
+
+    private static String userIdOf(UserPrincipal currentUser) {
+        return currentUser != null ? currentUser.getId() : null; // Anonim isteklerde rozet eklenmez
     }
 }
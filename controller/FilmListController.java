@@ -1,12 +1,18 @@
 package com.example.moodmovies.controller;
 
+import com.example.moodmovies.dto.CursorPageDTO;
 import com.example.moodmovies.dto.ListCreateRequestDTO;
 import com.example.moodmovies.dto.FilmListDetailDTO;
+import com.example.moodmovies.dto.FilmListHeaderDTO;
+import com.example.moodmovies.dto.FilmSummaryDTO;
 import com.example.moodmovies.dto.FilmListSummaryDTO;
 import com.example.moodmovies.dto.ListUpdateRequestDTO;
 import com.example.moodmovies.dto.FilmToListRequestDTO;
+import com.example.moodmovies.dto.FilmListBatchRequestDTO;
+import com.example.moodmovies.dto.FilmListDeltaDTO;
 import com.example.moodmovies.security.UserPrincipal; // Projendeki UserPrincipal yolu
 import com.example.moodmovies.service.FilmListService; // Projendeki FilmListService yolu
+import com.example.moodmovies.service.interaction.UserFilmBadgeCache;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +30,7 @@ import java.util.List;
 public class FilmListController {
 
     private final FilmListService filmListService;
+    private final UserFilmBadgeCache userFilmBadgeCache;
 
     /**
      * Giriş yapmış kullanıcının yeni bir film listesi oluşturmasını sağlar.
@@ -169,6 +176,37 @@ public class FilmListController {
         }
     }
 
+    /**
+     * Listenin filmler hariç üst bilgisini getirir. Büyük listelerde {@link #getListDetails} yerine
+     * bu endpoint ve sayfalı /{listId}/films birlikte kullanılmalıdır. Erişim kuralları liste detayıyla aynıdır.
+     */
+    @GetMapping("/{listId}/header")
+    public ResponseEntity<FilmListHeaderDTO> getListHeader(
+            @PathVariable String listId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        String currentUserId = (currentUser != null) ? currentUser.getId() : null;
+        return ResponseEntity.ok(filmListService.getListHeader(listId, currentUserId));
+    }
+
+    /**
+     * Listedeki filmleri liste sırasıyla cursor (keyset) ile sayfalar. Toplam sayı header'da döner.
+     * İlk sayfa için cursor boş gönderilir, sonraki sayfalar için yanıttaki nextCursor kullanılır.
+     * @param cursor Önceki yanıttaki nextCursor
+     * @param size Sayfa boyutu (en fazla 100)
+     */
+    @GetMapping("/{listId}/films")
+    public ResponseEntity<CursorPageDTO<FilmSummaryDTO>> getListFilmsByCursor(
+            @PathVariable String listId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        String currentUserId = (currentUser != null) ? currentUser.getId() : null;
+        int safeSize = Math.min(Math.max(size, 1), 100);
+        CursorPageDTO<FilmSummaryDTO> page = filmListService.getListFilmsByCursor(listId, currentUserId, cursor, safeSize);
+        userFilmBadgeCache.decorate(currentUserId, page.getItems());
+        return ResponseEntity.ok(page);
+    }
+
     /**
      * Giriş yapmış kullanıcının kendi listesinin bilgilerini (ad, etiket, görünürlük, açıklama) güncellemesini sağlar.
      */
@@ -284,6 +322,49 @@ public class FilmListController {
         }
     }
 
+    /**
+     * Giriş yapmış kullanıcının kendi listesine tek istekte birden fazla ekleme/çıkarma/taşıma işlemi uygular.
+     * İşlemler tek bir veritabanı işleminde uygulanır; biri geçersizse hiçbiri uygulanmaz (HTTP 400).
+     * delta=true ise listenin tamamı yerine sadece değişiklikler (FilmListDeltaDTO) döner.
+     */
+    @PatchMapping("/{listId}/films")
+    public ResponseEntity<?> applyFilmOperations(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @PathVariable String listId,
+            @RequestParam(defaultValue = "false") boolean delta,
+            @Valid @RequestBody FilmListBatchRequestDTO batchRequestDTO) {
+
+        long startTime = System.currentTimeMillis();
+        String userId = currentUser != null ? currentUser.getId() : "anonymous";
+
+        log.info("🧩 Toplu liste düzenleme isteği - UserId: {}, ListId: {}, Operations: {}, Delta: {}",
+                userId, listId, batchRequestDTO.getOperations().size(), delta);
+
+        try {
+            if (currentUser == null) {
+                log.warn("❌ Yetkisiz toplu liste düzenleme girişimi - Token eksik, ListId: {}", listId);
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            FilmListDeltaDTO result = filmListService.applyFilmOperations(currentUser.getId(), listId, batchRequestDTO.getOperations());
+            long duration = System.currentTimeMillis() - startTime;
+
+            log.info("✅ Toplu liste düzenleme tamamlandı - UserId: {}, ListId: {}, FilmCount: {}, Duration: {}ms",
+                    userId, listId, result.getFilmCount(), duration);
+
+            if (delta) {
+                return ResponseEntity.ok(result);
+            }
+            return ResponseEntity.ok(filmListService.getListDetails(listId, currentUser.getId()));
+
+        } catch (Exception e) {
+            long duration = System.currentTimeMillis() - startTime;
+            log.error("❌ Toplu liste düzenleme endpoint hatası - UserId: {}, ListId: {}, Error: {}, Duration: {}ms",
+                    userId, listId, e.getMessage(), duration, e);
+            throw e; // Global exception handler'a bırak
+        }
+    }
+
     /**
      * Giriş yapmış kullanıcının kendi listesinden bir filmi çıkarmasını sağlar.
      * Başarılı olursa HTTP 204 (No Content) döner.
@@ -34,6 +34,15 @@ public class ForumController {
         return ResponseEntity.ok(forumService.getAllPosts(pageable));
     }
 
+    // Cursor (keyset) sayfalama: en yeni başlıklar önce, toplam sayı yok. İlk sayfa için cursor boş gönderilir.
+    @GetMapping(value = "/posts", params = "cursor")
+    public ResponseEntity<CursorPageDTO<ForumPostSummaryDTO>> getPostsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        int safeSize = Math.min(Math.max(size, 1), 100);
+        return ResponseEntity.ok(forumService.getPostsByCursor(cursor, safeSize));
+    }
+
     @GetMapping("/posts/{postId}")
     public ResponseEntity<ForumPostDetailDTO> getPostById(@PathVariable String postId) {
         return ResponseEntity.ok(forumService.getPostById(postId));
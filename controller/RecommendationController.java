@@ -3,6 +3,7 @@ package com.example.moodmovies.controller;
 import com.example.moodmovies.dto.FilmSummaryDTO;
 import com.example.moodmovies.security.UserPrincipal;
 import com.example.moodmovies.service.MovieRecommendationService;
+import com.example.moodmovies.service.interaction.UserFilmBadgeCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -24,6 +25,7 @@ import java.util.List;
 public class RecommendationController {
 
     private final MovieRecommendationService recommendationService;
+    private final UserFilmBadgeCache userFilmBadgeCache;
 
     /**
      * Endpoint for retrieving personalized movie recommendations for the authenticated user.
@@ -45,6 +47,7 @@ public class RecommendationController {
                 // Öneri yoksa 204 No Content döndürmek daha uygun olabilir
                 return ResponseEntity.noContent().build();
             }
+            userFilmBadgeCache.decorate(currentUser.getId(), recommendations);
             return ResponseEntity.ok(recommendations);
         } catch (Exception e) {
             log.error("Error fetching recommendations for user {}: {}", currentUser.getId(), e.getMessage(), e);
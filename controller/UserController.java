@@ -4,13 +4,17 @@ import com.example.moodmovies.dto.AvatarUpdateRequestDTO;
 import com.example.moodmovies.dto.ProfileDataDTO; // Yeni import
 import com.example.moodmovies.dto.UserDTO;
 import com.example.moodmovies.dto.UserUpdateRequestDTO;
+import com.example.moodmovies.security.CookieService;
 import com.example.moodmovies.security.UserPrincipal;
 import com.example.moodmovies.service.UserService;
+import com.example.moodmovies.service.purge.UserPurgeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -20,6 +24,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final UserPurgeService userPurgeService;
+    private final CookieService cookieService;
 
     @GetMapping("/{id}")
     public ResponseEntity<UserDTO> getUserById(@PathVariable String id) {
@@ -100,4 +106,24 @@ public class UserController {
         UserDTO updatedUserDTO = userService.updateUserAvatar(userPrincipal.getId(), updateRequest.getAvatarId());
         return ResponseEntity.ok(updatedUserDTO);
     }
-}
\ No newline at end of file
+
+    /**
+     * Giriş yapmış kullanıcının hesabını ve tüm verilerini siler. Silme arka planda parça parça yapılır;
+     * istek iş kaydedildikten hemen sonra 202 Accepted ile döner ve oturum çerezleri temizlenir.
+     * @param userPrincipal Kimlik doğrulaması yapılmış kullanıcı
+     * @return 202 Accepted veya 401 Unauthorized
+     */
+    @DeleteMapping("/me")
+    public ResponseEntity<Void> deleteCurrentUser(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        if (userPrincipal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        userPurgeService.requestPurge(userPrincipal.getId());
+        SecurityContextHolder.clearContext();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.SET_COOKIE, cookieService.deleteAccessTokenCookie().toString());
+        headers.add(HttpHeaders.SET_COOKIE, cookieService.deleteRefreshTokenCookie().toString());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).headers(headers).build();
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.moodmovies.controller;
 
 import com.example.moodmovies.dto.CommentRequestDTO;
+import com.example.moodmovies.dto.CursorPageDTO;
 import com.example.moodmovies.dto.FilmRatingRequestDTO;
 import com.example.moodmovies.dto.FilmReviewDTO;
+import com.example.moodmovies.dto.FilmStatusBatchRequestDTO;
 import com.example.moodmovies.dto.FilmSummaryDTO;
 import com.example.moodmovies.dto.RatedFilmDTO;
 import com.example.moodmovies.dto.UserFilmInteractionDTO;
@@ -38,6 +40,14 @@ public class UserInteractionController {
         return ResponseEntity.ok(updatedInteraction);
     }
 
+    @DeleteMapping("/films/{filmId}/rate")
+    public ResponseEntity<UserFilmInteractionDTO> removeRating(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @PathVariable String filmId) {
+        UserFilmInteractionDTO updatedInteraction = userInteractionService.removeRating(currentUser.getId(), filmId);
+        return ResponseEntity.ok(updatedInteraction);
+    }
+
     @PostMapping("/films/{filmId}/favorite")
     public ResponseEntity<UserFilmInteractionDTO> toggleFavorite(
             @AuthenticationPrincipal UserPrincipal currentUser,
@@ -67,6 +77,14 @@ public class UserInteractionController {
         return ResponseEntity.ok(status);
     }
 
+    // Film grid'leri için: tek istekte birden fazla filmin etkileşim durumu (en fazla 500 film)
+    @PostMapping("/films/status")
+    public ResponseEntity<List<UserFilmInteractionDTO>> getUserFilmInteractionStatuses(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @Valid @RequestBody FilmStatusBatchRequestDTO request) {
+        return ResponseEntity.ok(userInteractionService.getUserFilmInteractionStatuses(currentUser.getId(), request.getFilmIds()));
+    }
+
     @GetMapping("/favorites")
     public ResponseEntity<List<FilmSummaryDTO>> getUserFavoriteFilms(
             @AuthenticationPrincipal UserPrincipal currentUser) {
@@ -93,6 +111,16 @@ public class UserInteractionController {
         return ResponseEntity.ok(reviews);
     }
 
+    // Cursor (keyset) sayfalama: en yeni yorumlar önce, toplam sayı yok. İlk sayfa için cursor boş gönderilir.
+    @GetMapping(value = "/reviews/film/{filmId}", params = "cursor")
+    public ResponseEntity<CursorPageDTO<FilmReviewDTO>> getFilmReviewsByCursor(
+            @PathVariable String filmId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        int safeSize = Math.min(Math.max(size, 1), 100);
+        return ResponseEntity.ok(userInteractionService.getFilmReviewsByCursor(filmId, cursor, safeSize));
+    }
+
     @GetMapping("/public/favorites/{userId}")
     public ResponseEntity<List<FilmSummaryDTO>> getPublicFavoriteFilms(@PathVariable String userId) {
         return ResponseEntity.ok(userInteractionService.getUserFavoriteFilms(userId));
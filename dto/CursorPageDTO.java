@@ -0,0 +1,22 @@
+package com.example.moodmovies.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cursor (keyset) tabanlı sayfalama yanıtı.
+ * Toplam kayıt sayısı içermez; sonraki sayfa nextCursor değeri ile istenir.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private String nextCursor; // Son sayfada null
+    private boolean hasNext;
+}
@@ -0,0 +1,18 @@
+package com.example.moodmovies.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Arama sonuçlarındaki bir facet değeri ve o değere sahip film sayısı.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountDTO {
+    private String value; // Tür, ülke veya on yıl (ör. "1990")
+    private int count;
+}
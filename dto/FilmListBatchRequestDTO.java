@@ -0,0 +1,23 @@
+package com.example.moodmovies.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bir listeye tek istekte uygulanacak film işlemleri. İşlemler verilen sırayla uygulanır.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmListBatchRequestDTO {
+
+    @NotEmpty(message = "En az bir işlem (operations) gönderilmelidir.")
+    @Size(max = 500, message = "Tek istekte en fazla 500 işlem gönderilebilir.")
+    private List<@Valid FilmListOperationDTO> operations;
+}
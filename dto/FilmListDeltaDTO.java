@@ -0,0 +1,23 @@
+package com.example.moodmovies.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Toplu liste düzenlemesinin sonucu; listenin tamamı yerine sadece değişen kısım döner.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmListDeltaDTO {
+    private String listId;
+    private int filmCount;
+    private List<FilmSummaryDTO> added;   // Yeni eklenen filmler
+    private List<String> removed;         // Çıkarılan film ID'leri
+    private List<String> order;           // İşlemlerden sonra listedeki tüm film ID'leri, sırasıyla
+}
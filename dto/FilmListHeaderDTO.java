@@ -0,0 +1,28 @@
+package com.example.moodmovies.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Liste detayının film içermeyen üst bilgisi. Filmler /api/v1/lists/{listId}/films üzerinden sayfalı alınır.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmListHeaderDTO {
+    private String listId;
+    private String name;
+    private String description;
+    private String tag;
+    private Integer visibility;
+    private Integer status;
+    private UserDTO owner;
+    private LocalDateTime created;
+    private LocalDateTime lastUpd;
+    private long filmCount;
+}
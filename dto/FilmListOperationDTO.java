@@ -0,0 +1,29 @@
+package com.example.moodmovies.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Liste üzerinde tek bir film işlemi (ekleme, çıkarma veya taşıma).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmListOperationDTO {
+
+    public enum Type { ADD, REMOVE, MOVE }
+
+    @NotNull(message = "İşlem tipi (op) boş bırakılamaz.")
+    private Type op;
+
+    @NotBlank(message = "Film ID'si (filmId) boş bırakılamaz.")
+    private String filmId;
+
+    // ADD için isteğe bağlı (yoksa sona eklenir), MOVE için zorunlu. 0'dan başlar.
+    private Integer position;
+}
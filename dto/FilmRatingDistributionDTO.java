@@ -0,0 +1,23 @@
+package com.example.moodmovies.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Bir filme verilen kullanıcı puanlarının dağılımı.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmRatingDistributionDTO {
+    private String filmId;
+    private BigDecimal averageRating;
+    private long totalRatings;
+    private Map<Integer, Long> distribution; // Puan (1-10) -> o puanı veren kullanıcı sayısı
+}
@@ -0,0 +1,27 @@
+package com.example.moodmovies.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Tam metin film araması yanıtı.
+ * Sonuçlar alaka düzeyine göre sıralıdır; facet'ler istemcinin filtre seçeneklerini tek istekte göstermesi içindir.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmSearchResponseDTO {
+    private List<FilmSummaryDTO> results;
+    private int totalHits;
+    private int page;
+    private int size;
+
+    private List<FacetCountDTO> genres;
+    private List<FacetCountDTO> countries;
+    private List<FacetCountDTO> decades;
+}
@@ -0,0 +1,23 @@
+package com.example.moodmovies.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Film grid'i için tek istekte etkileşim durumu sorgulanacak filmler.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmStatusBatchRequestDTO {
+
+    @NotEmpty(message = "En az bir film ID'si (filmIds) gönderilmelidir.")
+    @Size(max = 500, message = "Tek istekte en fazla 500 film sorgulanabilir.")
+    private List<@NotBlank String> filmIds;
+}
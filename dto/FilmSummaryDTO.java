@@ -1,5 +1,6 @@
 package com.example.moodmovies.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,4 +18,12 @@ public class FilmSummaryDTO {
     private String id;
     private String title;
     private String imageUrl; // Resim endpoint'ine işaret eden URL
+
+    // Giriş yapmış kullanıcıya göre rozetler; sadece sayfa kullanıcı için işaretlendiyse yanıtta yer alır
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean rated;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean favorite;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean listed;
 }
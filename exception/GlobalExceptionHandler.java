@@ -2,6 +2,7 @@ package com.example.moodmovies.exception;
 
 import com.example.moodmovies.dto.ErrorResponseDTO;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -25,6 +26,47 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidCursorException(InvalidCursorException ex,
+                                                                         HttpServletRequest request) {
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidListOperationException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidListOperationException(InvalidListOperationException ex,
+                                                                                HttpServletRequest request) {
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePasswordHashingBusyException(PasswordHashingBusyException ex,
+                                                                               HttpServletRequest request) {
+        ErrorResponseDTO errorResponse = ErrorResponseDTO.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponseDTO> handleGenericException(RuntimeException ex,
                                                                    HttpServletRequest request) {
@@ -53,6 +95,9 @@ public class GlobalExceptionHandler {
             if (rootMsg.contains("UQ_MOODMOVIES_FORUM_TITLE")) {
                 message = "Bu başlık zaten mevcut. Lütfen farklı bir başlık seçin.";
                 status = HttpStatus.CONFLICT;
+            } else if (rootMsg.contains("MOODMOVIES_FILMS_LIST_INFO") && rootMsg.contains("duplicate key")) {
+                message = "Film zaten listede mevcut.";
+                status = HttpStatus.CONFLICT;
             } else if (rootMsg.contains("FK_RESPONSE_QUESTION")) {
                 message = "Gönderilen test sorusu geçersiz. Lütfen testi yeniden başlatın.";
                 status = HttpStatus.BAD_REQUEST;
@@ -0,0 +1,15 @@
+package com.example.moodmovies.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Sayfalama cursor'ı çözümlenemediğinde (bozuk, elle değiştirilmiş veya başka bir endpoint'e ait) fırlatılır.
+ * HTTP 400 (Bad Request) durum kodu ile eşleştirilir.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.moodmovies.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Toplu liste düzenlemesindeki bir işlem uygulanamadığında (katalogda olmayan film, listede olmayan filmi taşıma vb.)
+ * fırlatılır. Hiçbir işlem uygulanmaz. HTTP 400 (Bad Request) durum kodu ile eşleştirilir.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidListOperationException extends RuntimeException {
+    public InvalidListOperationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.moodmovies.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Şifre hash'leme kuyruğu dolu olduğunda fırlatılır. İstek bekletilmeden reddedilir.
+ * HTTP 503 (Service Unavailable) durum kodu ve Retry-After header'ı ile eşleştirilir.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -3,7 +3,6 @@ package com.example.moodmovies.model;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
-import jakarta.persistence.Lob;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -17,6 +16,8 @@ import java.time.LocalDate;
 /**
  * MOODMOVIES_ALL_FILMS_INFO veritabanı görünümünü temsil eden Entity sınıfı.
  * Bu görünüm salt okunurdur, bu nedenle @Immutable olarak işaretlenmiştir.
+ * Poster (ImageByte) kolonu bilerek map edilmez; özet ve detay sorguları LOB'u hiç seçmez.
+ * Poster verisi için {@link FilmPoster} kullanılır.
  */
 @Entity
 @Table(name = "MOODMOVIES_ALL_FILMS_INFO")
@@ -49,10 +50,6 @@ public class FilmInfo {
     @Column(name = "PLOT")
     private String plot;
 
-    @Lob
-    @Column(name = "ImageByte", columnDefinition = "VARBINARY(MAX)")
-    private byte[] imageByte;
-
     @Column(name = "TUR_1")
     private String tur1;
 
@@ -70,6 +70,7 @@ public class FilmList {
     // Bir listenin içinde birden fazla film olabilir.
     // Liste silindiğinde, o listedeki filmler de (FilmListInfo kayıtları) silinsin (cascade, orphanRemoval).
     @OneToMany(mappedBy = "filmList", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("position ASC, created ASC") // SQL Server'da NULL pozisyonlar (eski kayıtlar) başta gelir
     @Builder.Default // Lombok Builder kullanırken koleksiyonu initialize etmek için.
     private List<FilmListInfo> filmListInfos = new ArrayList<>();
 
@@ -80,6 +81,12 @@ public class FilmList {
                 .id(filmListInfoId)
                 .filmList(this)
                 .user(listOwner) // FilmListInfo'daki user'ı listenin sahibi olarak ayarla
+                .position(this.filmListInfos.stream() // POSITION NOT NULL; yeni film sona eklenir
+                        .map(FilmListInfo::getPosition)
+                        .filter(Objects::nonNull)
+                        .max(Integer::compare)
+                        .map(max -> max + 1)
+                        .orElse(0))
                 .build();
         if (!this.filmListInfos.contains(newFilmInList)) { // equals/hashCode FilmListInfoId'de tanımlı olmalı
             this.filmListInfos.add(newFilmInList);
@@ -36,6 +36,16 @@ public class FilmListInfo {
     // @MapsId("filmId") ile o ilişki de buraya map edilebilirdi.
     // Ancak biz filmId'yi string olarak saklıyoruz.
 
+    // Liste içindeki sıra (0'dan başlar). Bu kolondan önce eklenen kayıtlar açılışta eklenme sırasıyla
+    // negatif pozisyonlarla numaralandırılır (FilmListInfoRepository.backfillPositions); böylece liste sırası
+    // indekslenebilir ham kolon üzerinden okunur.
+    // ALTER TABLE MOODMOVIES_FILMS_LIST_INFO ADD POSITION INT NULL
+    // Numaralandırma bittikten sonra:
+    // ALTER TABLE MOODMOVIES_FILMS_LIST_INFO ALTER COLUMN POSITION INT NOT NULL
+    // CREATE INDEX IX_FILMS_LIST_INFO_ORDER ON MOODMOVIES_FILMS_LIST_INFO (LIST_ID, POSITION, CREATED, FILM_ID)
+    @Column(name = "POSITION")
+    private Integer position;
+
     @CreationTimestamp
     @Column(name = "CREATED", nullable = false, updatable = false)
     private LocalDateTime created;
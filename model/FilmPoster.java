@@ -0,0 +1,60 @@
+package com.example.moodmovies.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * MOODMOVIES_ALL_FILMS_INFO görünümündeki poster (ImageByte) kolonunu taşıyan ayrı okuma modeli.
+ * FilmInfo bu kolonu map etmediği için liste/özet sorguları poster byte'larını hiç çekmez;
+ * poster yalnızca resim isteklerinde bu entity üzerinden okunur.
+ *
+ * POSTER_VERSION, posterin bulunduğu tablodaki ROWVERSION kolonudur; satır her güncellendiğinde SQL Server
+ * tarafından artırılır. Poster paketi değişiklikleri LOB'u okumadan bu kolonla tespit eder.
+ * ALTER TABLE <poster tablosu> ADD POSTER_VERSION ROWVERSION
+ * MOODMOVIES_ALL_FILMS_INFO görünümü bu kolonu POSTER_VERSION adıyla seçmelidir.
+ */
+@Entity
+@Table(name = "MOODMOVIES_ALL_FILMS_INFO")
+@Immutable // Veritabanı görünümü olduğu için salt okunur
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmPoster {
+
+    @Id
+    @Column(name = "FILM_ID")
+    private String id;
+
+    @Lob
+    @Column(name = "ImageByte", columnDefinition = "VARBINARY(MAX)")
+    private byte[] imageByte;
+
+    @Column(name = "POSTER_VERSION", insertable = false, updatable = false)
+    private byte[] version; // ROWVERSION, 8 byte big-endian
+
+    /**
+     * @return POSTER_VERSION değerinin sayısal karşılığı (CAST(POSTER_VERSION AS BIGINT) ile aynı), yoksa 0
+     */
+    public long getVersionNumber() {
+        return version != null && version.length == Long.BYTES ? ByteBuffer.wrap(version).getLong() : 0L;
+    }
+
+    @Override
+    public String toString() {
+        return "FilmPoster{" +
+                "id='" + id + '\'' +
+                ", size=" + (imageByte != null ? imageByte.length : 0) +
+                '}';
+    }
+}
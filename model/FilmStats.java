@@ -0,0 +1,76 @@
+package com.example.moodmovies.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Film başına kullanıcı puanı toplamları: puan toplamı, puan sayısı ve 1-10 puan histogramı.
+ * Satırlar FilmStatsService tarafından artımlı (delta) olarak güncellenir; MOODMOVIES_FILMS_POINT'in
+ * kopyası değil, ondan türetilen özet tablodur.
+ */
+@Entity
+@Table(name = "FILM_STATS")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilmStats {
+
+    @Id
+    @Column(name = "FILM_ID", length = 15)
+    private String filmId;
+
+    @Column(name = "RATING_SUM", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "RATING_COUNT", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "HIST_1", nullable = false)
+    private long hist1;
+
+    @Column(name = "HIST_2", nullable = false)
+    private long hist2;
+
+    @Column(name = "HIST_3", nullable = false)
+    private long hist3;
+
+    @Column(name = "HIST_4", nullable = false)
+    private long hist4;
+
+    @Column(name = "HIST_5", nullable = false)
+    private long hist5;
+
+    @Column(name = "HIST_6", nullable = false)
+    private long hist6;
+
+    @Column(name = "HIST_7", nullable = false)
+    private long hist7;
+
+    @Column(name = "HIST_8", nullable = false)
+    private long hist8;
+
+    @Column(name = "HIST_9", nullable = false)
+    private long hist9;
+
+    @Column(name = "HIST_10", nullable = false)
+    private long hist10;
+
+    @Column(name = "LAST_UPD")
+    private LocalDateTime lastUpd;
+
+    /**
+     * @return İndeks 0 = 1 puan, indeks 9 = 10 puan olacak şekilde histogram
+     */
+    public long[] histogram() {
+        return new long[]{hist1, hist2, hist3, hist4, hist5, hist6, hist7, hist8, hist9, hist10};
+    }
+}
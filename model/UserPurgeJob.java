@@ -0,0 +1,71 @@
+package com.example.moodmovies.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Hesap silme (kullanıcı verilerini temizleme) işinin durumu. İş adım adım ilerler ve her adımın sonunda
+ * kaydedilir; uygulama yeniden başlarsa kaldığı adımdan devam eder. Birden fazla node çalışıyorsa iş, OWNER'a
+ * yazılan node tarafından işlenir; CLAIMED_AT her parçada yenilenir ve süresi dolan iş başka bir node'a geçer.
+ *
+ * <pre>
+ * CREATE TABLE USER_PURGE_JOB (
+ *     USER_ID      VARCHAR(15) NOT NULL PRIMARY KEY,
+ *     STEP         VARCHAR(30) NOT NULL,
+ *     DELETED_ROWS BIGINT      NOT NULL,
+ *     REQUESTED    DATETIME2   NOT NULL,
+ *     LAST_UPD     DATETIME2   NULL,
+ *     OWNER        VARCHAR(64) NULL,
+ *     CLAIMED_AT   DATETIME2   NULL
+ * );
+ * CREATE INDEX IX_USER_PURGE_JOB_PENDING ON USER_PURGE_JOB (STEP, REQUESTED);
+ * </pre>
+ */
+@Entity
+@Table(name = "USER_PURGE_JOB")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPurgeJob {
+
+    /**
+     * Silme adımları, yabancı anahtar bağımlılıklarına göre çocuk tablolardan başlayarak sıralıdır.
+     */
+    public enum Step {
+        LIST_ENTRIES, LISTS, FORUM_COMMENTS, FORUM_POSTS, FILM_POINTS, SUGGESTIONS, RESPONSES, ACCOUNT, DONE
+    }
+
+    @Id
+    @Column(name = "USER_ID", length = 15)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STEP", length = 30, nullable = false)
+    private Step step;
+
+    @Column(name = "DELETED_ROWS", nullable = false)
+    private long deletedRows;
+
+    @Column(name = "REQUESTED", nullable = false)
+    private LocalDateTime requested;
+
+    @Column(name = "LAST_UPD")
+    private LocalDateTime lastUpd;
+
+    @Column(name = "OWNER", length = 64)
+    private String owner;
+
+    @Column(name = "CLAIMED_AT")
+    private LocalDateTime claimedAt;
+}
@@ -0,0 +1,44 @@
+package com.example.moodmovies.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Kullanıcı başına etkileşim sayaçları. Puan, favori ve liste işlemleriyle aynı işlem içinde artımlı güncellenir;
+ * profil ve sıralama okumaları MOODMOVIES_FILMS_POINT üzerinde aggregate çalıştırmadan bu tablodan yapılır.
+ */
+@Entity
+@Table(name = "USER_STATS")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStats {
+
+    @Id
+    @Column(name = "USER_ID", length = 15)
+    private String userId;
+
+    @Column(name = "RATING_COUNT", nullable = false)
+    private long ratingCount; // Puan verilmiş film sayısı
+
+    @Column(name = "FAVORITE_COUNT", nullable = false)
+    private long favoriteCount; // Favorilenmiş film sayısı
+
+    @Column(name = "LIST_COUNT", nullable = false)
+    private long listCount; // Aktif liste sayısı
+
+    @Column(name = "INTERACTION_COUNT", nullable = false)
+    private long interactionCount; // FILMS_POINT kayıt sayısı (puan, favori veya yorum); yorumcu sıralamasının anahtarı
+
+    @Column(name = "LAST_UPD")
+    private LocalDateTime lastUpd;
+}
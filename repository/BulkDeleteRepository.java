@@ -0,0 +1,86 @@
+package com.example.moodmovies.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Set tabanlı (DELETE ... WHERE) ve parçalı silme işlemleri.
+ *
+ * Silmeler entity yüklemeden tek ifadeyle yapılır. Büyük silmeler DELETE TOP (n) ile parçalara bölünür;
+ * SQL Server tek bir ifade bir tabloda ~5000 kilit aldığında kilidi tablo seviyesine yükselttiği için
+ * varsayılan parça boyutu bunun altındadır. İfadeler çevreleyen işlemin bağlantısında çalışır.
+ *
+ * Tablo adı ve koşul SQL'e doğrudan eklenir; sadece koddaki sabitlerle çağrılmalı, kullanıcı girdisi verilmemelidir.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BulkDeleteRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.bulk-delete.chunk-size:4000}")
+    private int chunkSize;
+
+    /**
+     * @return Bir parçada silinecek en fazla satır sayısı
+     */
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Koşula uyan tüm satırları parça parça, çağıranın işlemi içinde siler.
+     * @param table Tablo adı
+     * @param condition WHERE koşulu (ör. "LIST_ID = ?")
+     * @param args Koşul parametreleri
+     * @return Silinen toplam satır sayısı
+     */
+    public int deleteInChunks(String table, String condition, Object... args) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = deleteChunk(table, condition, args);
+            total += deleted;
+        } while (deleted >= chunkSize);
+        return total;
+    }
+
+    /**
+     * Koşula uyan satırlardan en fazla bir parça siler.
+     * @return Silinen satır sayısı; parça boyutundan küçükse silinecek satır kalmamıştır
+     */
+    public int deleteChunk(String table, String condition, Object... args) {
+        Object[] params = new Object[args.length + 1];
+        params[0] = chunkSize;
+        System.arraycopy(args, 0, params, 1, args.length);
+        return jdbcTemplate.update("DELETE TOP (?) FROM " + table + " WHERE " + condition, params);
+    }
+
+    /**
+     * Kullanıcının film etkileşimlerinden en fazla bir parça siler ve silinen satırları döndürür;
+     * böylece çağıran taraf film istatistiklerini silinen puan ve favorilere göre düzeltebilir.
+     * @param userId Kullanıcı ID'si
+     * @return [FILM_ID, FILM_POINT, FILM_FAV] satırları
+     */
+    public List<Object[]> deleteFilmPointsChunk(String userId) {
+        List<Object[]> rows = new ArrayList<>();
+        jdbcTemplate.query("DELETE TOP (?) FROM MOODMOVIES_FILMS_POINT "
+                        + "OUTPUT deleted.FILM_ID, deleted.FILM_POINT, deleted.FILM_FAV WHERE USER_ID = ?",
+                rs -> {
+                    rows.add(new Object[]{rs.getString(1), nullableInt(rs, 2), nullableInt(rs, 3)});
+                }, chunkSize, userId);
+        return rows;
+    }
+
+    private static Integer nullableInt(ResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+}
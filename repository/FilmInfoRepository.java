@@ -1,7 +1,10 @@
 package com.example.moodmovies.repository;
 
 import com.example.moodmovies.model.FilmInfo;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -22,4 +25,17 @@ public interface FilmInfoRepository extends JpaRepository<FilmInfo, String> {
      * @return En fazla 5 filmden oluşan liste (FilmInfo nesneleri)
      */
     List<FilmInfo> findTop5ByNameContainingIgnoreCaseOrderById(String name); // ID'ye göre sıralama ekleyerek tutarlılık sağla
+
+    /**
+     * Keyset sayfalamasının ilk sayfası (ID'ye göre artan). COUNT sorgusu çalıştırılmaz.
+     * @param limit Sadece sayfa boyutu kullanılır (offset her zaman 0)
+     */
+    @Query("SELECT f FROM FilmInfo f ORDER BY f.id ASC")
+    List<FilmInfo> findKeysetFirstPage(Pageable limit);
+
+    /**
+     * Verilen ID'den sonraki filmleri getirir (seek predicate: FILM_ID > :lastId). OFFSET kullanılmaz.
+     */
+    @Query("SELECT f FROM FilmInfo f WHERE f.id > :lastId ORDER BY f.id ASC")
+    List<FilmInfo> findKeysetPageAfter(@Param("lastId") String lastId, Pageable limit);
 }
@@ -0,0 +1,36 @@
+package com.example.moodmovies.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * MOODMOVIES_FILMS_LIST_INFO için JDBC batch işlemleri; listelerin toplu düzenlenmesinde kullanılır.
+ * Her metot satırlarını entity başına ayrı ifade yerine tek bir batch ile gönderir.
+ */
+public interface FilmListInfoBatchOperations {
+
+    /**
+     * Listeye film ekler.
+     * @param listId Liste ID'si
+     * @param userId Listenin sahibi
+     * @param positions Film ID'si -> liste içindeki pozisyon
+     * @param created Eklenen satırlara yazılacak zaman
+     */
+    void insertFilms(String listId, String userId, Map<String, Integer> positions, LocalDateTime created);
+
+    /**
+     * Listedeki filmlerin pozisyonlarını günceller.
+     * @param listId Liste ID'si
+     * @param positions Film ID'si -> yeni pozisyon
+     * @param updated Güncellenen satırlara yazılacak zaman
+     */
+    void updatePositions(String listId, Map<String, Integer> positions, LocalDateTime updated);
+
+    /**
+     * Filmleri listeden çıkarır.
+     * @param listId Liste ID'si
+     * @param filmIds Çıkarılacak film ID'leri
+     */
+    void deleteFilms(String listId, Collection<String> filmIds);
+}
@@ -3,16 +3,19 @@ package com.example.moodmovies.repository;
 import com.example.moodmovies.model.FilmList;
 import com.example.moodmovies.model.FilmListInfo;
 import com.example.moodmovies.model.FilmListInfoId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface FilmListInfoRepository extends JpaRepository<FilmListInfo, FilmListInfoId> { // Birincil anahtar FilmListInfoId (bileşik)
+public interface FilmListInfoRepository extends JpaRepository<FilmListInfo, FilmListInfoId>, FilmListInfoBatchOperations { // Birincil anahtar FilmListInfoId (bileşik)
 
     /**
      * Belirli bir FilmList entity'sine ait tüm FilmListInfo kayıtlarını (yani listedeki tüm filmleri) getirir.
@@ -36,6 +39,65 @@ public interface FilmListInfoRepository extends JpaRepository<FilmListInfo, Film
      */
     long countByFilmList(FilmList filmList);
 
+    // Keyset sayfalaması: listedeki filmler liste sırasıyla, IX_FILMS_LIST_INFO_ORDER indeksi üzerinden.
+    // Satırlar: [FILM_ID, POSITION, CREATED]; entity yüklenmez.
+    @Query("SELECT fli.id.filmId, fli.position, fli.created FROM FilmListInfo fli WHERE fli.id.listId = :listId " +
+            "ORDER BY fli.position, fli.created, fli.id.filmId")
+    List<Object[]> findFilmsKeysetFirstPage(@Param("listId") String listId, Pageable limit);
+
+    // Seek predicate: (POSITION, CREATED, FILM_ID) son görülen kayıttan büyük olanlar
+    @Query("SELECT fli.id.filmId, fli.position, fli.created FROM FilmListInfo fli WHERE fli.id.listId = :listId " +
+            "AND (fli.position > :position OR (fli.position = :position " +
+            "AND (fli.created > :created OR (fli.created = :created AND fli.id.filmId > :filmId)))) " +
+            "ORDER BY fli.position, fli.created, fli.id.filmId")
+    List<Object[]> findFilmsKeysetPageAfter(@Param("listId") String listId, @Param("position") int position,
+                                            @Param("created") LocalDateTime created, @Param("filmId") String filmId,
+                                            Pageable limit);
+
+    // Kullanıcının herhangi bir listesinde bulunan filmler; kullanıcı rozetlerini kurmak için kullanılır
+    @Query("SELECT DISTINCT fli.id.filmId FROM FilmListInfo fli WHERE fli.filmList.user.id = :userId")
+    List<String> findListedFilmIdsByUserId(@Param("userId") String userId);
+
+    /**
+     * POSITION kolonundan önce eklenmiş (NULL pozisyonlu) kayıtları numaralandırır. Bu kayıtlar liste sırasında
+     * numaralı kayıtlardan önce geldiği için eklenme sırasıyla -n..-1 pozisyonlarını alır; mevcut sıra değişmez.
+     * @return Numaralandırılan kayıt sayısı
+     */
+    @Modifying
+    @Query(value = "WITH unnumbered AS (" +
+            "SELECT POSITION, ROW_NUMBER() OVER (PARTITION BY LIST_ID ORDER BY CREATED DESC, FILM_ID DESC) AS RN " +
+            "FROM MOODMOVIES_FILMS_LIST_INFO WHERE POSITION IS NULL) " +
+            "UPDATE unnumbered SET POSITION = -RN",
+            nativeQuery = true)
+    int backfillPositions();
+
+    /**
+     * @param listId Liste ID'si
+     * @return Listedeki en büyük pozisyon; liste boşsa null
+     */
+    @Query("SELECT MAX(fli.position) FROM FilmListInfo fli WHERE fli.id.listId = :listId")
+    Integer findMaxPosition(@Param("listId") String listId);
+
+    /**
+     * Birden fazla listenin film sayılarını tek sorguda döndürür. Boş listeler sonuçta yer almaz.
+     * @param listIds Liste ID'leri
+     * @return [LIST_ID, film sayısı] satırları
+     */
+    @Query("SELECT fli.id.listId, COUNT(fli) FROM FilmListInfo fli WHERE fli.id.listId IN :listIds GROUP BY fli.id.listId")
+    List<Object[]> countFilmsByListIds(@Param("listIds") Collection<String> listIds);
+
+    /**
+     * Her listenin liste sırasına göre ilk N filmini tek sorguda döndürür (liste önizlemeleri için).
+     * @param listIds Liste ID'leri
+     * @param limit Liste başına en fazla film sayısı
+     * @return [LIST_ID, FILM_ID] satırları, liste içindeki sırayla
+     */
+    @Query(value = "SELECT LIST_ID, FILM_ID FROM ("
+            + "SELECT LIST_ID, FILM_ID, ROW_NUMBER() OVER (PARTITION BY LIST_ID ORDER BY POSITION, CREATED, FILM_ID) AS RN "
+            + "FROM MOODMOVIES_FILMS_LIST_INFO WHERE LIST_ID IN (:listIds)) ranked "
+            + "WHERE RN <= :limit ORDER BY LIST_ID, RN", nativeQuery = true)
+    List<Object[]> findFirstFilmIdsByListIds(@Param("listIds") Collection<String> listIds, @Param("limit") int limit);
+
     /**
      * Belirli bir listeden belirli bir film ID'sine sahip kaydı siler.
      * Bu, JpaRepository'deki deleteById(FilmListInfoId id) ile aynı işi yapar
@@ -0,0 +1,62 @@
+package com.example.moodmovies.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link FilmListInfoBatchOperations} için JdbcTemplate tabanlı uygulama.
+ * Spring Data, "Impl" isimlendirme kuralıyla bunu {@link FilmListInfoRepository}'nin parçası olarak kullanır.
+ * İfadeler çevreleyen işlemin bağlantısında çalışır.
+ */
+@RequiredArgsConstructor
+public class FilmListInfoRepositoryImpl implements FilmListInfoBatchOperations {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO MOODMOVIES_FILMS_LIST_INFO (LIST_ID, FILM_ID, USER_ID, POSITION, CREATED, LAST_UPD) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_POSITION_SQL =
+            "UPDATE MOODMOVIES_FILMS_LIST_INFO SET POSITION = ?, LAST_UPD = ? WHERE LIST_ID = ? AND FILM_ID = ?";
+    private static final String DELETE_SQL = "DELETE FROM MOODMOVIES_FILMS_LIST_INFO WHERE LIST_ID = ? AND FILM_ID = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertFilms(String listId, String userId, Map<String, Integer> positions, LocalDateTime created) {
+        if (positions.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.valueOf(created);
+        List<Object[]> batch = new ArrayList<>(positions.size());
+        positions.forEach((filmId, position) -> batch.add(new Object[]{listId, filmId, userId, position, timestamp, timestamp}));
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    @Override
+    public void updatePositions(String listId, Map<String, Integer> positions, LocalDateTime updated) {
+        if (positions.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.valueOf(updated);
+        List<Object[]> batch = new ArrayList<>(positions.size());
+        positions.forEach((filmId, position) -> batch.add(new Object[]{position, timestamp, listId, filmId}));
+        jdbcTemplate.batchUpdate(UPDATE_POSITION_SQL, batch);
+    }
+
+    @Override
+    public void deleteFilms(String listId, Collection<String> filmIds) {
+        if (filmIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(filmIds.size());
+        for (String filmId : filmIds) {
+            batch.add(new Object[]{listId, filmId});
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, batch);
+    }
+}
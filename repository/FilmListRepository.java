@@ -3,8 +3,11 @@ package com.example.moodmovies.repository;
 import com.example.moodmovies.model.FilmList;
 import com.example.moodmovies.model.User;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -25,9 +28,16 @@ public interface FilmListRepository extends JpaRepository<FilmList, String> {
 
     Optional<FilmList> findByListIdAndUser(String listId, User user);
 
+    // Liste satırını işlem sonuna kadar kilitler (UPDLOCK); aynı listeyi düzenleyen eşzamanlı istekler sırayla çalışır
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT fl FROM FilmList fl WHERE fl.listId = :listId AND fl.user = :user")
+    Optional<FilmList> findForUpdateByListIdAndUser(@Param("listId") String listId, @Param("user") User user);
+
     // Herkese açık ve aktif olan listeleri, oluşturulma tarihine göre en yeniden eskiye doğru getirir.
     List<FilmList> findByVisibleAndStatusOrderByCreatedDesc(Integer visible, Integer status, Pageable pageable);
 
-    @Query("SELECT fl.user.id, COUNT(fl.listId) FROM FilmList fl WHERE fl.user.id IN :userIds AND fl.status = 1 GROUP BY fl.user.id")
-    List<Object[]> countListsByUserIds(@Param("userIds") List<String> userIds);
-}
\ No newline at end of file
+    // Listeyi entity yüklemeden tek ifadeyle siler; liste elemanları önce BulkDeleteRepository ile silinmelidir.
+    @Modifying
+    @Query("DELETE FROM FilmList fl WHERE fl.listId = :listId")
+    int deleteByListId(@Param("listId") String listId);
+}
@@ -8,11 +8,13 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface FilmPointRepository extends JpaRepository<FilmPoint, String> {
+public interface FilmPointRepository extends JpaRepository<FilmPoint, String>, FilmPointUpsertOperations {
 
     /**
      * Belirli bir kullanıcı ve film ID'sine ait puan/favori kaydını bulur.
@@ -42,6 +44,38 @@ public interface FilmPointRepository extends JpaRepository<FilmPoint, String> {
     @Query("SELECT COUNT(fp.filmPoint) FROM FilmPoint fp WHERE fp.filmId = :filmId AND fp.filmPoint IS NOT NULL")
     Long countRatingsByFilmId(@Param("filmId") String filmId);
 
+    /**
+     * Verilen filmler için puan ortalamasını ve puan sayısını tek sorguda döndürür.
+     * Film istatistikleri henüz yüklenmemişken toplu durum sorgusunda kullanılır.
+     * @return [filmId, averageRating, ratingCount] satırları; puanı olmayan filmler dönmez
+     */
+    @Query("SELECT fp.filmId, AVG(fp.filmPoint), COUNT(fp.filmPoint) FROM FilmPoint fp " +
+            "WHERE fp.filmId IN :filmIds AND fp.filmPoint IS NOT NULL GROUP BY fp.filmId")
+    List<Object[]> findRatingSummariesByFilmIds(@Param("filmIds") Collection<String> filmIds);
+
+    /**
+     * Kullanıcının verilen filmlerle etkileşimlerini tek sorguda döndürür.
+     * @return [filmId, filmPoint, filmFav, comment] satırları; etkileşim olmayan filmler dönmez
+     */
+    @Query("SELECT fp.filmId, fp.filmPoint, fp.filmFav, fp.comment FROM FilmPoint fp " +
+            "WHERE fp.user.id = :userId AND fp.filmId IN :filmIds")
+    List<Object[]> findInteractionsByUserIdAndFilmIds(@Param("userId") String userId,
+                                                      @Param("filmIds") Collection<String> filmIds);
+
+    /**
+     * Kullanıcının puanladığı veya favorilediği filmleri döndürür. Kullanıcı rozetlerini kurmak için kullanılır.
+     * @return [filmId, filmPoint, filmFav] satırları
+     */
+    @Query("SELECT fp.filmId, fp.filmPoint, fp.filmFav FROM FilmPoint fp " +
+            "WHERE fp.user.id = :userId AND (fp.filmPoint IS NOT NULL OR fp.filmFav = 1)")
+    List<Object[]> findRatedOrFavoritedByUserId(@Param("userId") String userId);
+
+    /**
+     * Belirli bir filme verilen puanları döndürür. Film istatistikleri henüz yüklenmemişken dağılım hesabında kullanılır.
+     */
+    @Query("SELECT fp.filmPoint FROM FilmPoint fp WHERE fp.filmId = :filmId AND fp.filmPoint IS NOT NULL")
+    List<Integer> findRatingsByFilmId(@Param("filmId") String filmId);
+
     /**
      * Belirli bir kullanıcının puan verdiği filmleri (filmPoint alanı NULL olmayan),
      * son güncelleme (`lastUpd`) tarihine göre azalan sırada (en yeni önce) getirir.
@@ -53,15 +87,34 @@ public interface FilmPointRepository extends JpaRepository<FilmPoint, String> {
     @Query("SELECT fp.filmId, COUNT(fp.pointId) as favoriteCount FROM FilmPoint fp WHERE fp.filmFav = 1 GROUP BY fp.filmId ORDER BY favoriteCount DESC")
     List<Object[]> findTopFavoritedFilmIds(Pageable pageable);
 
-    // Belirtilen kullanıcı listesi için her bir kullanıcının toplam puanlama sayısını döndürür.
-    @Query("SELECT fp.user.id, COUNT(fp.pointId) FROM FilmPoint fp WHERE fp.user.id IN :userIds AND fp.filmPoint IS NOT NULL GROUP BY fp.user.id")
-    List<Object[]> countRatingsByUserIds(@Param("userIds") List<String> userIds);
+    /**
+     * Favoriye alınmış her film için favori sayısını döndürür. Bellek içi popülerlik sıralamaları için kullanılır.
+     * @return [filmId, favoriteCount] satırları
+     */
+    @Query("SELECT fp.filmId, COUNT(fp.pointId) FROM FilmPoint fp WHERE fp.filmFav = 1 GROUP BY fp.filmId")
+    List<Object[]> countFavoritesGroupedByFilmId();
 
-    // Belirtilen kullanıcı listesi için her bir kullanıcının toplam favori sayısını döndürür.
-    @Query("SELECT fp.user.id, COUNT(fp.pointId) FROM FilmPoint fp WHERE fp.user.id IN :userIds AND fp.filmFav = 1 GROUP BY fp.user.id")
-    List<Object[]> countFavoritesByUserIds(@Param("userIds") List<String> userIds);
+    /**
+     * Puan verilmiş her film için kullanıcı puanlarının ortalamasını döndürür.
+     * @return [filmId, averageRating] satırları
+     */
+    @Query("SELECT fp.filmId, AVG(fp.filmPoint) FROM FilmPoint fp WHERE fp.filmPoint IS NOT NULL GROUP BY fp.filmId")
+    List<Object[]> findAverageRatingsGroupedByFilmId();
 
     // Belirli bir filme yapılan tüm yorumları ve puanlamaları getirir (comment veya rating olan kayıtlar)
     @Query("SELECT fp FROM FilmPoint fp WHERE fp.filmId = :filmId AND (fp.comment IS NOT NULL OR fp.filmPoint IS NOT NULL) ORDER BY fp.created DESC")
     List<FilmPoint> findAllByFilmIdAndCommentOrRatingExists(@Param("filmId") String filmId);
-}
\ No newline at end of file
+
+    // Keyset sayfalaması: bir filmin yorum/puanları, en yeni önce. Yazan kullanıcı tek sorguda gelir.
+    @Query("SELECT fp FROM FilmPoint fp JOIN FETCH fp.user WHERE fp.filmId = :filmId " +
+            "AND (fp.comment IS NOT NULL OR fp.filmPoint IS NOT NULL) ORDER BY fp.created DESC, fp.pointId DESC")
+    List<FilmPoint> findReviewsKeysetFirstPage(@Param("filmId") String filmId, Pageable limit);
+
+    // Seek predicate: (CREATED, POINT_ID) son görülen kayıttan küçük olanlar
+    @Query("SELECT fp FROM FilmPoint fp JOIN FETCH fp.user WHERE fp.filmId = :filmId " +
+            "AND (fp.comment IS NOT NULL OR fp.filmPoint IS NOT NULL) " +
+            "AND (fp.created < :created OR (fp.created = :created AND fp.pointId < :pointId)) " +
+            "ORDER BY fp.created DESC, fp.pointId DESC")
+    List<FilmPoint> findReviewsKeysetPageAfter(@Param("filmId") String filmId, @Param("created") LocalDateTime created,
+                                               @Param("pointId") String pointId, Pageable limit);
+}
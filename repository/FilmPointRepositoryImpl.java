@@ -0,0 +1,170 @@
+package com.example.moodmovies.repository;
+
+import com.example.moodmovies.config.PointIdGenerator;
+import com.example.moodmovies.config.PooledIdGenerator;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link FilmPointUpsertOperations} için JdbcTemplate tabanlı uygulama.
+ * Spring Data, "Impl" isimlendirme kuralıyla bunu {@link FilmPointRepository}'nin parçası olarak kullanır.
+ * İfadeler çevreleyen işlemin bağlantısında çalışır.
+ *
+ * Yeni satırın POINT_ID'si MERGE'den önce ID bloğundan (bellekten) ayrılır; satır zaten varsa bu ID kullanılmaz.
+ */
+@RequiredArgsConstructor
+public class FilmPointRepositoryImpl implements FilmPointUpsertOperations {
+
+    private static final String MERGE_SOURCE = "MERGE MOODMOVIES_FILMS_POINT WITH (HOLDLOCK) AS t " +
+            "USING (SELECT ? AS USER_ID, ? AS FILM_ID) AS s ON t.USER_ID = s.USER_ID AND t.FILM_ID = s.FILM_ID ";
+    private static final String OUTPUT =
+            "OUTPUT $action, deleted.FILM_POINT, deleted.FILM_FAV, inserted.FILM_POINT, inserted.FILM_FAV, inserted.COMMENT";
+
+    private static final String RATE_SQL = MERGE_SOURCE +
+            "WHEN MATCHED THEN UPDATE SET FILM_POINT = ?, COMMENT = ?, LAST_UPD = ? " +
+            "WHEN NOT MATCHED THEN INSERT (POINT_ID, USER_ID, FILM_ID, FILM_POINT, COMMENT, CREATED, LAST_UPD) " +
+            "VALUES (?, s.USER_ID, s.FILM_ID, ?, ?, ?, ?) " + OUTPUT + ";";
+    private static final String TOGGLE_FAVORITE_SQL = MERGE_SOURCE +
+            "WHEN MATCHED THEN UPDATE SET FILM_FAV = CASE WHEN t.FILM_FAV = 1 THEN 0 ELSE 1 END, LAST_UPD = ? " +
+            "WHEN NOT MATCHED THEN INSERT (POINT_ID, USER_ID, FILM_ID, FILM_FAV, CREATED, LAST_UPD) " +
+            "VALUES (?, s.USER_ID, s.FILM_ID, 1, ?, ?) " + OUTPUT + ";";
+    private static final String COMMENT_SQL = MERGE_SOURCE +
+            "WHEN MATCHED THEN UPDATE SET COMMENT = ?, LAST_UPD = ? " +
+            "WHEN NOT MATCHED THEN INSERT (POINT_ID, USER_ID, FILM_ID, COMMENT, CREATED, LAST_UPD) " +
+            "VALUES (?, s.USER_ID, s.FILM_ID, ?, ?, ?) " + OUTPUT + ";";
+    // Çok satırlı yazma: kaynak satırlar VALUES ile verilir, SET_* bayrağı 0 olan kolonlar mevcut satırda korunur
+    private static final String WRITE_SQL_HEAD = "MERGE MOODMOVIES_FILMS_POINT WITH (HOLDLOCK) AS t USING (VALUES ";
+    private static final String WRITE_SQL_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String WRITE_SQL_TAIL = ") AS s (USER_ID, FILM_ID, POINT_ID, SET_POINT, FILM_POINT, SET_FAV, FILM_FAV, SET_COMMENT, COMMENT) " +
+            "ON t.USER_ID = s.USER_ID AND t.FILM_ID = s.FILM_ID " +
+            "WHEN MATCHED THEN UPDATE SET " +
+            "FILM_POINT = CASE WHEN s.SET_POINT = 1 THEN s.FILM_POINT ELSE t.FILM_POINT END, " +
+            "FILM_FAV = CASE WHEN s.SET_FAV = 1 THEN s.FILM_FAV ELSE t.FILM_FAV END, " +
+            "COMMENT = CASE WHEN s.SET_COMMENT = 1 THEN s.COMMENT ELSE t.COMMENT END, LAST_UPD = ? " +
+            "WHEN NOT MATCHED THEN INSERT (POINT_ID, USER_ID, FILM_ID, FILM_POINT, FILM_FAV, COMMENT, CREATED, LAST_UPD) " +
+            "VALUES (s.POINT_ID, s.USER_ID, s.FILM_ID, s.FILM_POINT, s.FILM_FAV, s.COMMENT, ?, ?) " +
+            OUTPUT + ", inserted.USER_ID, inserted.FILM_ID;";
+    private static final int WRITE_PARAMETERS_PER_ROW = 9;
+    private static final int WRITE_ROWS_PER_STATEMENT = 200; // SQL Server ifade başına en fazla 2100 parametre kabul eder
+    private static final String CLEAR_RATING_SQL = "UPDATE MOODMOVIES_FILMS_POINT SET FILM_POINT = NULL, LAST_UPD = ? " +
+            "OUTPUT 'UPDATE', deleted.FILM_POINT, deleted.FILM_FAV, inserted.FILM_POINT, inserted.FILM_FAV, inserted.COMMENT " +
+            "WHERE USER_ID = ? AND FILM_ID = ? AND FILM_POINT IS NOT NULL";
+    private static final String FIND_SQL = "SELECT 'SELECT', FILM_POINT, FILM_FAV, FILM_POINT, FILM_FAV, COMMENT " +
+            "FROM MOODMOVIES_FILMS_POINT WHERE USER_ID = ? AND FILM_ID = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Override
+    public InteractionRow upsertRating(String userId, String filmId, int rating, String comment) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return single(jdbcTemplate.query(RATE_SQL, FilmPointRepositoryImpl::mapRow,
+                userId, filmId, rating, comment, now, newPointId(), rating, comment, now, now));
+    }
+
+    @Override
+    public InteractionRow toggleFavorite(String userId, String filmId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return single(jdbcTemplate.query(TOGGLE_FAVORITE_SQL, FilmPointRepositoryImpl::mapRow,
+                userId, filmId, now, newPointId(), now, now));
+    }
+
+    @Override
+    public InteractionRow upsertComment(String userId, String filmId, String comment) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return single(jdbcTemplate.query(COMMENT_SQL, FilmPointRepositoryImpl::mapRow,
+                userId, filmId, comment, now, newPointId(), comment, now, now));
+    }
+
+    @Override
+    public Optional<InteractionRow> clearRating(String userId, String filmId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.query(CLEAR_RATING_SQL, FilmPointRepositoryImpl::mapRow, now, userId, filmId)
+                .stream().findFirst();
+    }
+
+    @Override
+    public List<WrittenInteraction> writeInteractions(List<InteractionState> states) {
+        if (states.isEmpty()) {
+            return List.of();
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<String> pointIds = PooledIdGenerator.allocate(PointIdGenerator.PREFIX, states.size(),
+                entityManager.unwrap(SessionImplementor.class));
+        List<WrittenInteraction> written = new ArrayList<>(states.size());
+        for (int from = 0; from < states.size(); from += WRITE_ROWS_PER_STATEMENT) {
+            int to = Math.min(states.size(), from + WRITE_ROWS_PER_STATEMENT);
+            List<Object> parameters = new ArrayList<>((to - from) * WRITE_PARAMETERS_PER_ROW + 3);
+            for (int i = from; i < to; i++) {
+                InteractionState state = states.get(i);
+                parameters.add(state.userId());
+                parameters.add(state.filmId());
+                parameters.add(pointIds.get(i));
+                parameters.add(state.ratingChanged() ? 1 : 0);
+                parameters.add(new SqlParameterValue(Types.INTEGER, state.rating()));
+                parameters.add(state.favoriteChanged() ? 1 : 0);
+                parameters.add(state.favorite() ? 1 : 0);
+                parameters.add(state.commentChanged() ? 1 : 0);
+                parameters.add(new SqlParameterValue(Types.NVARCHAR, state.comment()));
+            }
+            parameters.add(now);
+            parameters.add(now);
+            parameters.add(now);
+            written.addAll(jdbcTemplate.query(writeSql(to - from),
+                    (rs, rowNum) -> new WrittenInteraction(rs.getString(7), rs.getString(8), mapRow(rs, rowNum)),
+                    parameters.toArray()));
+        }
+        return written;
+    }
+
+    @Override
+    public Optional<InteractionRow> findInteraction(String userId, String filmId) {
+        return jdbcTemplate.query(FIND_SQL, FilmPointRepositoryImpl::mapRow, userId, filmId).stream().findFirst();
+    }
+
+    private static String writeSql(int rows) {
+        StringBuilder sql = new StringBuilder(WRITE_SQL_HEAD);
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append(WRITE_SQL_ROW);
+        }
+        return sql.append(WRITE_SQL_TAIL).toString();
+    }
+
+    private String newPointId() {
+        return PooledIdGenerator.allocate(PointIdGenerator.PREFIX, 1, entityManager.unwrap(SessionImplementor.class)).get(0);
+    }
+
+    private static InteractionRow single(List<InteractionRow> rows) {
+        if (rows.size() != 1) {
+            throw new IllegalStateException("Upsert beklenen tek satırı döndürmedi - Rows: " + rows.size());
+        }
+        return rows.get(0);
+    }
+
+    private static InteractionRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new InteractionRow(
+                "INSERT".equals(rs.getString(1)),
+                nullableInt(rs, 2),
+                rs.getInt(3) == 1, // NULL 0 olarak okunur
+                nullableInt(rs, 4),
+                rs.getInt(5) == 1,
+                rs.getString(6));
+    }
+
+    private static Integer nullableInt(ResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+}
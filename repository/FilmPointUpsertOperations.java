@@ -0,0 +1,74 @@
+package com.example.moodmovies.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * MOODMOVIES_FILMS_POINT üzerinde tek ifadelik, atomik etkileşim işlemleri.
+ *
+ * Her yazma işlemi (kullanıcı, film) satırını tek bir MERGE ... WITH (HOLDLOCK) ile ekler veya günceller ve
+ * satırın önceki ile yeni halini OUTPUT ile döndürür. Aynı isteğin iki kez gönderilmesi benzersizlik ihlaline
+ * yol açmaz; ikinci istek birincinin eklediği satırı günceller.
+ */
+public interface FilmPointUpsertOperations {
+
+    /**
+     * Filme puan (ve yorum) verir; satır yoksa oluşturur.
+     */
+    InteractionRow upsertRating(String userId, String filmId, int rating, String comment);
+
+    /**
+     * Favori durumunu tersine çevirir; satır yoksa favori olarak oluşturur.
+     */
+    InteractionRow toggleFavorite(String userId, String filmId);
+
+    /**
+     * Yorumu yazar; satır yoksa oluşturur.
+     */
+    InteractionRow upsertComment(String userId, String filmId, String comment);
+
+    /**
+     * Puanı kaldırır; favori ve yorum korunur.
+     * @return Puan kaldırıldıysa satırın önceki ve yeni hali; puan yoksa boş
+     */
+    Optional<InteractionRow> clearRating(String userId, String filmId);
+
+    /**
+     * Etkileşimlerin son hallerini çok satırlı MERGE ifadeleriyle yazar; satırı olmayanlar eklenir.
+     * Mevcut satırlarda sadece değiştirildiği belirtilen kolonlar yazılır, diğerleri satırdaki haliyle kalır.
+     * @return Yazılan her satırın önceki ve yeni hali (MERGE OUTPUT'undan); sıra girdiyle aynı olmayabilir
+     */
+    List<WrittenInteraction> writeInteractions(List<InteractionState> states);
+
+    /**
+     * @return Kullanıcının filmle etkileşimi; kayıt yoksa boş
+     */
+    Optional<InteractionRow> findInteraction(String userId, String filmId);
+
+    /**
+     * Bir etkileşim satırının işlem öncesi ve sonrası değerleri.
+     * @param inserted Satır bu işlemle oluşturulduysa true
+     * @param previousRating Önceki puan (yoksa null)
+     * @param previousFavorite Önceki favori durumu
+     * @param rating Yeni puan (yoksa null)
+     * @param favorite Yeni favori durumu
+     * @param comment Yeni yorum (yoksa null)
+     */
+    record InteractionRow(boolean inserted, Integer previousRating, boolean previousFavorite,
+                          Integer rating, boolean favorite, String comment) {
+    }
+
+    /**
+     * Bir (kullanıcı, film) satırına yazılacak son hal. *Changed alanları false olan kolonlar mevcut satırda
+     * değiştirilmez; yeni satırda verilen değerle eklenir.
+     */
+    record InteractionState(String userId, String filmId, Integer rating, boolean favorite, String comment,
+                            boolean ratingChanged, boolean favoriteChanged, boolean commentChanged) {
+    }
+
+    /**
+     * Toplu yazmada bir satırın sonucu.
+     */
+    record WrittenInteraction(String userId, String filmId, InteractionRow row) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.moodmovies.repository;
+
+import com.example.moodmovies.model.FilmPoster;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * FilmPoster entity'si için veritabanı erişim katmanı.
+ * Poster LOB'u yalnızca bu repository üzerinden okunur; film özet/detay sorguları FilmInfoRepository'yi kullanır.
+ */
+@Repository
+public interface FilmPosterRepository extends JpaRepository<FilmPoster, String> {
+
+    /**
+     * Posteri olan filmlerin ID'lerini ve POSTER_VERSION (ROWVERSION) değerlerini döndürür. LOB içeriği okunmaz
+     * ve özet hesaplanmaz; poster paketinin artımlı eşitlenmesinde kullanılır.
+     * @return [FILM_ID, CAST(POSTER_VERSION AS BIGINT)] satırları
+     */
+    @Query(value = "SELECT FILM_ID, CAST(POSTER_VERSION AS BIGINT) FROM MOODMOVIES_ALL_FILMS_INFO " +
+            "WHERE ImageByte IS NOT NULL", nativeQuery = true)
+    List<Object[]> findPosterVersions();
+}
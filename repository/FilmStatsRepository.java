@@ -0,0 +1,13 @@
+package com.example.moodmovies.repository;
+
+import com.example.moodmovies.model.FilmStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * FilmStats entity'si için veritabanı erişim katmanı.
+ * Sadece açılışta toplamları belleğe yüklemek için okunur; yazmalar FilmStatsService'in toplu MERGE'ü ile yapılır.
+ */
+@Repository
+public interface FilmStatsRepository extends JpaRepository<FilmStats, String> {
+}
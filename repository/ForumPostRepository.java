@@ -1,11 +1,14 @@
 package com.example.moodmovies.repository;
 
 import com.example.moodmovies.model.ForumPost;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -15,4 +18,19 @@ public interface ForumPostRepository extends JpaRepository<ForumPost, String> {
     // N+1 problemini çözmek için post ID listesine göre yorum sayılarını tek sorguda getiren metot.
     @Query("SELECT c.forumPost.id, COUNT(c.id) FROM ForumComment c WHERE c.forumPost.id IN :postIds GROUP BY c.forumPost.id")
     List<Object[]> countCommentsByPostIds(@Param("postIds") List<String> postIds);
-}
\ No newline at end of file
+
+    // Keyset sayfalaması: en yeni başlıklar önce, eşit tarihlerde ID ile kesin sıralama. Yazar tek sorguda gelir.
+    @Query("SELECT p FROM ForumPost p JOIN FETCH p.user ORDER BY p.created DESC, p.id DESC")
+    List<ForumPost> findKeysetFirstPage(Pageable limit);
+
+    // Seek predicate: (CREATED, CONTEXT_ID) son görülen kayıttan küçük olanlar
+    @Query("SELECT p FROM ForumPost p JOIN FETCH p.user " +
+            "WHERE p.created < :created OR (p.created = :created AND p.id < :id) " +
+            "ORDER BY p.created DESC, p.id DESC")
+    List<ForumPost> findKeysetPageAfter(@Param("created") LocalDateTime created, @Param("id") String id, Pageable limit);
+
+    // Başlığı entity yüklemeden tek ifadeyle siler; yorumları önce BulkDeleteRepository ile silinmelidir.
+    @Modifying
+    @Query("DELETE FROM ForumPost p WHERE p.id = :id")
+    int deleteByPostId(@Param("id") String id);
+}
@@ -0,0 +1,36 @@
+package com.example.moodmovies.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC batch operations for MOODMOVIES_RESPONSE, used by the bulk test submission path.
+ * Each method sends its rows to the database in a single batch instead of one statement per entity.
+ */
+public interface ResponseBatchOperations {
+
+    /**
+     * Inserts new responses with pre-allocated IDs.
+     *
+     * @param userId The ID of the user who submitted the answers.
+     * @param rows Response ID -> [questionId, answerId]
+     * @param responseDate The submission time written to every row.
+     */
+    void insertResponses(String userId, Map<String, String[]> rows, LocalDateTime responseDate);
+
+    /**
+     * Changes the answer of existing responses.
+     *
+     * @param answers Response ID -> new answer ID
+     * @param responseDate The submission time written to every changed row.
+     */
+    void updateAnswers(Map<String, String> answers, LocalDateTime responseDate);
+
+    /**
+     * Deletes responses by ID.
+     *
+     * @param responseIds The IDs of the responses to delete.
+     */
+    void deleteResponses(List<String> responseIds);
+}
@@ -3,15 +3,28 @@ package com.example.moodmovies.repository;
 import com.example.moodmovies.model.MoodmoviesResponse;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 /**
  * Repository for managing MoodmoviesResponse entities in the database.
  */
 @Repository
-public interface ResponseRepository extends JpaRepository<MoodmoviesResponse, String> {
-    
+public interface ResponseRepository extends JpaRepository<MoodmoviesResponse, String>, ResponseBatchOperations {
+
+    /**
+     * Returns the stored answers of a user without loading the entities.
+     *
+     * @param userId The ID of the user.
+     * @return [responseId, questionId, answerId] rows.
+     */
+    @Query("SELECT r.responseId, r.questionId, r.answerId FROM MoodmoviesResponse r WHERE r.user.id = :userId")
+    List<Object[]> findAnswerRowsByUserId(@Param("userId") String userId);
+
     /**
      * Deletes all responses for a given user ID.
      *
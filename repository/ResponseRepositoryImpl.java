@@ -0,0 +1,61 @@
+package com.example.moodmovies.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JdbcTemplate-based implementation of {@link ResponseBatchOperations}.
+ * Spring Data picks it up as a fragment of {@link ResponseRepository} through the "Impl" naming convention.
+ * The statements run on the connection of the surrounding transaction.
+ */
+@RequiredArgsConstructor
+public class ResponseRepositoryImpl implements ResponseBatchOperations {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO MOODMOVIES_RESPONSE (RESPONSE_ID, USER_ID, QUESTION_ID, ANSWER_ID, RESPONSE_DATE) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE MOODMOVIES_RESPONSE SET ANSWER_ID = ?, RESPONSE_DATE = ? WHERE RESPONSE_ID = ?";
+    private static final String DELETE_SQL = "DELETE FROM MOODMOVIES_RESPONSE WHERE RESPONSE_ID = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertResponses(String userId, Map<String, String[]> rows, LocalDateTime responseDate) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.valueOf(responseDate);
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        rows.forEach((responseId, row) -> batch.add(new Object[]{responseId, userId, row[0], row[1], timestamp}));
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+
+    @Override
+    public void updateAnswers(Map<String, String> answers, LocalDateTime responseDate) {
+        if (answers.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.valueOf(responseDate);
+        List<Object[]> batch = new ArrayList<>(answers.size());
+        answers.forEach((responseId, answerId) -> batch.add(new Object[]{answerId, timestamp, responseId}));
+        jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+    }
+
+    @Override
+    public void deleteResponses(List<String> responseIds) {
+        if (responseIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(responseIds.size());
+        for (String responseId : responseIds) {
+            batch.add(new Object[]{responseId});
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, batch);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.moodmovies.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * USER_PURGE_JOB işlerinin node'lar arasında paylaştırılması.
+ *
+ * Bir iş sadece onu sahiplenen node tarafından işlenir. Sahiplik süreli bir kiralamadır (CLAIMED_AT); node çökerse
+ * kiralama süresi dolan iş başka bir node tarafından devralınır.
+ */
+public interface UserPurgeJobClaimOperations {
+
+    /**
+     * Tamamlanmamış ve sahipsiz (ya da kiralaması dolmuş) işleri en eskiden başlayarak tek ifadeyle sahiplenir.
+     * Başka bir node'un o an sahiplendiği satırlar beklenmeden atlanır.
+     * @param owner Sahiplenen node'un kimliği
+     * @param limit En fazla iş sayısı
+     * @param expiredBefore Bu zamandan önce sahiplenilmiş işler sahipsiz sayılır
+     * @param now Sahiplenme zamanı
+     * @return Sahiplenilen işlerin kullanıcı ID'leri
+     */
+    List<String> claimPending(String owner, int limit, LocalDateTime expiredBefore, LocalDateTime now);
+}
@@ -0,0 +1,25 @@
+package com.example.moodmovies.repository;
+
+import com.example.moodmovies.model.UserPurgeJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * UserPurgeJob entity'si için veritabanı erişim katmanı.
+ */
+@Repository
+public interface UserPurgeJobRepository extends JpaRepository<UserPurgeJob, String>, UserPurgeJobClaimOperations {
+
+    /**
+     * İşin kiralamasını uzatır. Satır çağıranın işlemi sonuna kadar kilitli kalır.
+     * @return İş hâlâ bu node'a aitse 1, başka bir node devraldıysa 0
+     */
+    @Modifying
+    @Query("UPDATE UserPurgeJob j SET j.claimedAt = :now WHERE j.userId = :userId AND j.owner = :owner")
+    int renewClaim(@Param("userId") String userId, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,31 @@
+package com.example.moodmovies.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * {@link UserPurgeJobClaimOperations} için JdbcTemplate tabanlı uygulama.
+ * Spring Data, "Impl" isimlendirme kuralıyla bunu {@link UserPurgeJobRepository}'nin parçası olarak kullanır.
+ */
+@RequiredArgsConstructor
+public class UserPurgeJobRepositoryImpl implements UserPurgeJobClaimOperations {
+
+    // READPAST: başka bir node'un kilitlediği satırlar atlanır; UPDLOCK: seçilen satırı aynı anda iki node alamaz
+    private static final String CLAIM_SQL =
+            "WITH candidates AS (" +
+            "SELECT TOP (?) USER_ID, OWNER, CLAIMED_AT FROM USER_PURGE_JOB WITH (UPDLOCK, READPAST, ROWLOCK) " +
+            "WHERE STEP <> 'DONE' AND (OWNER IS NULL OR CLAIMED_AT < ?) ORDER BY REQUESTED) " +
+            "UPDATE candidates SET OWNER = ?, CLAIMED_AT = ? OUTPUT inserted.USER_ID;";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<String> claimPending(String owner, int limit, LocalDateTime expiredBefore, LocalDateTime now) {
+        return jdbcTemplate.queryForList(CLAIM_SQL, String.class,
+                limit, Timestamp.valueOf(expiredBefore), owner, Timestamp.valueOf(now));
+    }
+}
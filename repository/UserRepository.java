@@ -1,11 +1,12 @@
 package com.example.moodmovies.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.moodmovies.model.User;
@@ -35,10 +36,13 @@ public interface UserRepository extends JpaRepository<User, String> {
     List<User> findByNameContainingIgnoreCase(String partialName);
 
     /**
-     * En çok puanlama yapan kullanıcıları getiren sorgu
+     * Özet gösterimi için kullanıcıların sadece ID, isim ve avatar bilgisini tek sorguda getirir
+     * (Authentication ilişkisi yüklenmez).
+     * @param userIds Kullanıcı ID'leri
+     * @return [USER_ID, USER_NAME, AVATAR_ID] satırları
      */
-    @Query("SELECT u, COUNT(p.pointId) as interactionCount FROM User u JOIN FilmPoint p ON u.id = p.user.id GROUP BY u ORDER BY interactionCount DESC")
-    List<Object[]> findTopReviewers(Pageable pageable);
+    @Query("SELECT u.id, u.name, u.avatarId FROM User u WHERE u.id IN :userIds")
+    List<Object[]> findSummariesByIds(@Param("userIds") Collection<String> userIds);
 
     // YENİ METOT: Avatar'ı olmayan kullanıcıları döndürür
     List<User> findByAvatarIdIsNull();
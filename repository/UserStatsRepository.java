@@ -0,0 +1,72 @@
+package com.example.moodmovies.repository;
+
+import com.example.moodmovies.model.UserStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * UserStats entity'si için veritabanı erişim katmanı.
+ */
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, String> {
+
+    /**
+     * Kullanıcının sayaçlarına delta ekler; satır yoksa deltalarla oluşturur. Tek ifadede çalıştığı için
+     * aynı kullanıcının eşzamanlı ilk etkileşimleri çakışmaz.
+     */
+    @Modifying
+    @Query(value = "MERGE USER_STATS WITH (HOLDLOCK) AS t " +
+            "USING (SELECT :userId AS USER_ID) AS s ON t.USER_ID = s.USER_ID " +
+            "WHEN MATCHED THEN UPDATE SET RATING_COUNT = t.RATING_COUNT + :ratingDelta, " +
+            "FAVORITE_COUNT = t.FAVORITE_COUNT + :favoriteDelta, LIST_COUNT = t.LIST_COUNT + :listDelta, " +
+            "INTERACTION_COUNT = t.INTERACTION_COUNT + :interactionDelta, LAST_UPD = SYSDATETIME() " +
+            "WHEN NOT MATCHED THEN INSERT (USER_ID, RATING_COUNT, FAVORITE_COUNT, LIST_COUNT, INTERACTION_COUNT, LAST_UPD) " +
+            "VALUES (s.USER_ID, :ratingDelta, :favoriteDelta, :listDelta, :interactionDelta, SYSDATETIME());",
+            nativeQuery = true)
+    int adjust(@Param("userId") String userId, @Param("ratingDelta") long ratingDelta,
+               @Param("favoriteDelta") long favoriteDelta, @Param("listDelta") long listDelta,
+               @Param("interactionDelta") long interactionDelta);
+
+    /**
+     * USER_STATS satırı olmayan kullanıcıların sayaçlarını mevcut verilerden hesaplayıp ekler.
+     * Sadece eksik kullanıcılar için çalıştığından her açılışta güvenle çağrılabilir.
+     * @return Eklenen satır sayısı
+     */
+    @Modifying
+    @Query(value = "INSERT INTO USER_STATS (USER_ID, RATING_COUNT, FAVORITE_COUNT, LIST_COUNT, INTERACTION_COUNT, LAST_UPD) " +
+            "SELECT u.USER_ID, " +
+            "(SELECT COUNT(*) FROM MOODMOVIES_FILMS_POINT p WHERE p.USER_ID = u.USER_ID AND p.FILM_POINT IS NOT NULL), " +
+            "(SELECT COUNT(*) FROM MOODMOVIES_FILMS_POINT p WHERE p.USER_ID = u.USER_ID AND p.FILM_FAV = 1), " +
+            "(SELECT COUNT(*) FROM MOODMOVIES_FILMS_LIST l WHERE l.USER_ID = u.USER_ID AND l.STATUS = 1), " +
+            "(SELECT COUNT(*) FROM MOODMOVIES_FILMS_POINT p WHERE p.USER_ID = u.USER_ID), " +
+            "SYSDATETIME() " +
+            "FROM MOODMOVIES_USERS u WHERE NOT EXISTS (SELECT 1 FROM USER_STATS s WHERE s.USER_ID = u.USER_ID)",
+            nativeQuery = true)
+    int backfillMissing();
+
+    /**
+     * Kullanıcının satırını hemen (işlemin sonundaki flush'ı beklemeden) siler.
+     */
+    @Modifying
+    @Query("DELETE FROM UserStats s WHERE s.userId = :userId")
+    int deleteByUserId(@Param("userId") String userId);
+
+    /**
+     * Yorumcu sıralamasını kurmak için etkileşimi olan kullanıcıları döndürür.
+     * @return [userId, interactionCount] satırları
+     */
+    @Query("SELECT s.userId, s.interactionCount FROM UserStats s WHERE s.interactionCount > 0")
+    List<Object[]> findInteractionCounts();
+
+    /**
+     * Bellek içi sıralama henüz kurulmamışken kullanılır; sadece USER_STATS okunur.
+     */
+    @Query("SELECT s.userId FROM UserStats s WHERE s.interactionCount > 0 ORDER BY s.interactionCount DESC, s.userId")
+    List<String> findTopUserIdsByInteractionCount(Pageable pageable);
+}
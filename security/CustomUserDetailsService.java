@@ -1,6 +1,7 @@
 package com.example.moodmovies.security;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,12 +12,15 @@ import com.example.moodmovies.repository.UserRepository;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@Slf4j
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Override
     @Transactional
@@ -28,12 +32,39 @@ public class CustomUserDetailsService implements UserDetailsService {
         return UserPrincipal.create(user);
     }
 
+    /**
+     * JWT ile doğrulanan kullanıcının principal'ını döndürür. Önbellekte varsa veritabanına gidilmez.
+     * Dönen principal şifre içermez.
+     */
     @Transactional
     public UserDetails loadUserById(String id) {
+        UserPrincipal cached = userPrincipalCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+
         User user = userRepository.findById(id)
                 .orElseThrow(() -> 
                     new UserNotFoundException("Kullanıcı bulunamadı: ID = " + id));
 
+        return userPrincipalCache.put(UserPrincipal.create(user));
+    }
+
+    /**
+     * Başarılı girişte şifre hash'i güncel BCrypt maliyetinden düşükse DaoAuthenticationProvider tarafından çağrılır
+     * ve yeni hash'i kaydeder.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() ->
+                    new UsernameNotFoundException("Kullanıcı bulunamadı: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        userPrincipalCache.evict(user.getId());
+        log.info("Şifre hash'i güncel maliyete yükseltildi - User: {}", user.getId());
+
         return UserPrincipal.create(user);
     }
 }
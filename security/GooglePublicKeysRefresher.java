@@ -0,0 +1,58 @@
+package com.example.moodmovies.security;
+
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Google imza sertifikalarını süreleri dolmadan arka planda yeniler.
+ *
+ * GooglePublicKeysManager sertifikaları, Cache-Control max-age süresinin bitmesine 5 dakika kalınca
+ * doğrulama isteğinin içinde (senkron) yeniler. Bu bileşen yenilemeyi o pencereden önce yapar; böylece
+ * giriş istekleri normal durumda hiç dışarıya çağrı yapmaz. Açılışta sertifikalar önceden yüklenir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GooglePublicKeysRefresher {
+
+    private final GooglePublicKeysManager googlePublicKeysManager;
+
+    @Value("${app.google.certs-refresh-ahead-ms:600000}")
+    private long refreshAheadMs;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    /**
+     * Sertifikaların süresi refresh-ahead penceresine girdiyse yeniler. Hata durumunda mevcut sertifikalar korunur;
+     * süreleri dolarsa verifier ilk istekte kendisi yeniler.
+     */
+    @Scheduled(initialDelayString = "${app.google.certs-check-interval-ms:60000}",
+            fixedDelayString = "${app.google.certs-check-interval-ms:60000}")
+    public void refreshIfExpiring() {
+        if (System.currentTimeMillis() + refreshAheadMs >= googlePublicKeysManager.getExpirationTimeMilliseconds()) {
+            refresh();
+        }
+    }
+
+    private void refresh() {
+        long startTime = System.currentTimeMillis();
+        try {
+            googlePublicKeysManager.refresh();
+            log.info("Google imza sertifikaları yenilendi - Keys: {}, ExpiresInMs: {}, Duration: {}ms",
+                    googlePublicKeysManager.getPublicKeys().size(),
+                    googlePublicKeysManager.getExpirationTimeMilliseconds() - System.currentTimeMillis(),
+                    System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("❌ Google imza sertifikaları yenilenemedi - Error: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -46,8 +46,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
 
             // Token geçerli ise kullanıcıyı doğrula
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String userId = tokenProvider.getUserIdFromJWT(jwt);
+            String userId = StringUtils.hasText(jwt) ? tokenProvider.resolveUserId(jwt).orElse(null) : null;
+            if (userId != null) {
                 log.debug("JWT token doğrulandı, kullanıcı ID: {}", userId);
 
                 UserDetails userDetails = userDetailsService.loadUserById(userId);
@@ -2,6 +2,7 @@ package com.example.moodmovies.security;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
@@ -9,17 +10,24 @@ import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
+    private final VerifiedTokenCache verifiedTokenCache;
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
@@ -29,6 +37,16 @@ public class JwtTokenProvider {
     @Value("${app.jwt.refresh-expiration-ms}")
     private Long refreshTokenExpirationMs;
 
+    // Anahtar ve parser bir kez kurulur; ikisi de thread-safe ve değişmezdir
+    private Key key;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+    }
+
     /**
      * Kullanıcıdan gelen Authentication nesnesine dayanarak JWT token oluşturur
      * @param authentication Spring Security Authentication nesnesi
@@ -40,8 +58,6 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
         
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        
         return Jwts.builder()
                 .setSubject(userPrincipal.getId().toString())
                 .setIssuedAt(now)
@@ -59,8 +75,6 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
         
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        
         return Jwts.builder()
                 .setSubject(userId)
                 .setIssuedAt(now)
@@ -78,8 +92,6 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + refreshTokenExpirationMs);
         
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        
         return Jwts.builder()
                 .setSubject(userId)
                 .setIssuedAt(now)
@@ -89,36 +101,30 @@ public class JwtTokenProvider {
     }
 
     /**
-     * JWT token'dan kullanıcı ID'sini çıkarır
+     * Erişim token'ını doğrular ve kullanıcı ID'sini döndürür. Aynı token daha önce doğrulandıysa
+     * sonuç önbellekten gelir ve imza tekrar hesaplanmaz.
      * @param token JWT token string
-     * @return token'dan çıkarılan user ID'si
+     * @return Token geçerliyse kullanıcı ID'si
      */
-    public String getUserIdFromJWT(String token) {
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject();
+    public Optional<String> resolveUserId(String token) {
+        String cachedUserId = verifiedTokenCache.get(token);
+        if (cachedUserId != null) {
+            return Optional.of(cachedUserId);
+        }
+        Optional<Claims> claims = parseClaims(token);
+        claims.filter(body -> body.getExpiration() != null)
+                .ifPresent(body -> verifiedTokenCache.put(token, body.getSubject(), body.getExpiration().getTime()));
+        return claims.map(Claims::getSubject);
     }
 
     /**
-     * Token'ın geçerliliğini kontrol eder
-     * @param authToken kontrol edilecek JWT token
-     * @return token geçerli ise true, değilse false
+     * Token'ı tek seferde doğrulayıp claim'lerini döndürür. Önbellek kullanılmaz (ör. refresh token için).
+     * @param token JWT token string
+     * @return Token geçerliyse claim'ler, değilse boş
      */
-    public boolean validateToken(String authToken) {
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        
+    public Optional<Claims> parseClaims(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
+            return Optional.of(parser.parseClaimsJws(token).getBody());
         } catch (MalformedJwtException ex) {
             log.error("Geçersiz JWT token");
         } catch (ExpiredJwtException ex) {
@@ -127,8 +133,10 @@ public class JwtTokenProvider {
             log.error("Desteklenmeyen JWT token");
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string boş");
+        } catch (JwtException ex) {
+            log.error("JWT token doğrulanamadı: {}", ex.getMessage());
         }
-        return false;
+        return Optional.empty();
     }
 
     public Long getJwtExpirationMs() {
@@ -31,6 +31,7 @@ public class OAuth2UserServiceImpl extends DefaultOAuth2UserService {
 
     private final UserRepository userRepository;
     private final AuthenticationRepository authenticationRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Override
     @Transactional
@@ -95,6 +96,7 @@ public class OAuth2UserServiceImpl extends DefaultOAuth2UserService {
                     // Mevcut Google kullanıcısını güncelle
                     updateExistingUser(existingUser, oAuth2UserInfo);
                     log.info("Updated existing user: {}", existingUser.getEmail());
+                    userPrincipalCache.evict(existingUser.getId());
                     return userRepository.save(existingUser);
                 })
                 .orElseGet(() -> {
@@ -0,0 +1,33 @@
+package com.example.moodmovies.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Hash'leme ve doğrulamayı {@link PasswordHashingExecutor} havuzunda çalıştıran PasswordEncoder sarmalayıcısı.
+ * upgradeEncoding hesaplama gerektirmediği için doğrudan çağrılır.
+ */
+public class OffloadedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+
+    public OffloadedPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.moodmovies.security;
+
+import com.example.moodmovies.exception.PasswordHashingBusyException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt hash'leme ve doğrulamasını istek thread'lerinden ayıran sınırlı thread havuzu.
+ *
+ * Havuz çekirdek sayısı kadar thread ile çalışır ve kuyruğu sınırlıdır. Kuyruk doluyken gelen iş beklemeden
+ * {@link PasswordHashingBusyException} ile reddedilir (HTTP 503 + Retry-After); böylece bir giriş dalgası
+ * Tomcat thread'lerini BCrypt'e bağlayıp diğer endpoint'leri aç bırakmaz.
+ * Hash süresi ve kuyrukta bekleme süresi periyodik olarak loglanır.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+
+    public PasswordHashingExecutor(@Value("${app.security.bcrypt-threads:0}") int threads,
+                                   @Value("${app.security.bcrypt-queue-capacity:0}") int queueCapacity,
+                                   @Value("${app.security.bcrypt-retry-after-seconds:2}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int capacity = queueCapacity > 0 ? queueCapacity : poolSize * 16;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity), runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = retryAfterSeconds;
+        log.info("Şifre hash'leme havuzu oluşturuldu - Threads: {}, QueueCapacity: {}", poolSize, capacity);
+    }
+
+    /**
+     * İşi hash'leme havuzunda çalıştırır ve sonucunu bekler.
+     * @param task BCrypt işlemi
+     * @return İşin sonucu
+     * @throws PasswordHashingBusyException Kuyruk doluysa
+     */
+    public <T> T execute(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                long waited = startedAt - submittedAt;
+                waitNanos.add(waited);
+                maxWaitNanos.accumulate(waited);
+                try {
+                    return task.get();
+                } finally {
+                    hashNanos.add(System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("⚠ Şifre hash'leme kuyruğu dolu, istek reddedildi - Queue: {}", executor.getQueue().size());
+            throw new PasswordHashingBusyException("Sunucu şu anda yoğun. Lütfen biraz sonra tekrar deneyin.", retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Şifre hash'leme beklenirken thread kesildi", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.security.bcrypt-stats-interval-ms:60000}",
+            fixedDelayString = "${app.security.bcrypt-stats-interval-ms:60000}")
+    public void logStats() {
+        long count = completed.sumThenReset();
+        long rejectedCount = rejected.sumThenReset();
+        long totalHashNanos = hashNanos.sumThenReset();
+        long totalWaitNanos = waitNanos.sumThenReset();
+        long maxWait = maxWaitNanos.getThenReset();
+        if (count == 0 && rejectedCount == 0) {
+            return;
+        }
+        log.info("Şifre hash'leme istatistikleri - Completed: {}, Rejected: {}, AvgHash: {}ms, AvgWait: {}ms, MaxWait: {}ms, Queue: {}",
+                count, rejectedCount,
+                count > 0 ? TimeUnit.NANOSECONDS.toMillis(totalHashNanos / count) : 0,
+                count > 0 ? TimeUnit.NANOSECONDS.toMillis(totalWaitNanos / count) : 0,
+                TimeUnit.NANOSECONDS.toMillis(maxWait), executor.getQueue().size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
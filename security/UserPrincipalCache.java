@@ -0,0 +1,108 @@
+package com.example.moodmovies.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JWT ile gelen isteklerde kullanılan UserPrincipal nesnelerini kullanıcı ID'sine göre tutan önbellek.
+ *
+ * Böylece kimliği doğrulanmış her istekte kullanıcı veritabanından tekrar okunmaz. Önbellekte değiştirilemez bir
+ * özet tutulur ve her istek kendi UserPrincipal kopyasını alır; bir istekte principal üzerinde yapılan değişiklik
+ * diğer isteklere yansımaz. Özet şifre hash'ini taşımaz; JWT doğrulamasında buna ihtiyaç yoktur. Kayıtlar sınırlı
+ * bir süre (TTL) sonra yeniden yüklenir. Bu süre, başka bir uygulama düğümünde yapılan değişikliklerin en geç ne
+ * zaman görüneceğini belirler. Okumalar kilitsizdir; kapasite aşılınca önce süresi dolmuş, sonra rastgele kayıtlar
+ * atılır. Profil, avatar veya kimlik bilgisi değiştiğinde {@link #evict(String)} çağrılmalıdır.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<String, CachedPrincipal> entries = new ConcurrentHashMap<>();
+
+    public UserPrincipalCache(@Value("${app.security.principal-cache-size:10000}") int maxEntries,
+                              @Value("${app.security.principal-cache-ttl-ms:300000}") long ttlMillis) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * @param userId Kullanıcı ID'si
+     * @return Önbellekte ve süresi dolmamışsa kullanıcının principal'ının yeni bir kopyası, değilse null
+     */
+    public UserPrincipal get(String userId) {
+        CachedPrincipal cached = entries.get(userId);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(userId, cached);
+            return null;
+        }
+        return cached.toPrincipal();
+    }
+
+    /**
+     * Principal'ın şifresiz özetini önbelleğe alır.
+     * @param principal Veritabanından oluşturulmuş principal
+     * @return Özetten oluşturulan, çağırana ait kopya
+     */
+    public UserPrincipal put(UserPrincipal principal) {
+        CachedPrincipal cached = new CachedPrincipal(principal.getId(), principal.getName(), principal.getEmail(),
+                List.copyOf(principal.getAuthorities()), System.currentTimeMillis() + ttlMillis);
+        entries.put(cached.id(), cached);
+        if (entries.size() > maxEntries) {
+            trim();
+        }
+        return cached.toPrincipal();
+    }
+
+    /**
+     * Kullanıcının kaydını önbellekten siler. Aktif bir işlem varsa commit sonrasında bir kez daha silinir;
+     * böylece işlem sürerken eski veriyle yeniden doldurulan kayıt da atılır.
+     * @param userId Kullanıcı ID'si
+     */
+    public void evict(String userId) {
+        entries.remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.remove(userId);
+                }
+            });
+        }
+    }
+
+    private void trim() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(cached -> cached.expiresAtMillis() <= now);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record CachedPrincipal(String id, String name, String email,
+                                   Collection<? extends GrantedAuthority> authorities, long expiresAtMillis) {
+
+        private UserPrincipal toPrincipal() {
+            return UserPrincipal.builder()
+                    .id(id)
+                    .name(name)
+                    .email(email)
+                    .authorities(authorities)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.moodmovies.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * İmzası doğrulanmış JWT'lerin sonuçlarını tutan sınırlı boyutlu önbellek.
+ *
+ * Anahtar ham token'ın kendisidir; eşitlik imza dahil tüm token üzerinden kontrol edildiği için imzası farklı
+ * (sahte) bir token aynı kayda denk gelemez. Her kayıt token'ın exp zamanını taşır ve bu zamandan sonra
+ * kullanılmaz. Okumalar kilitsizdir; kapasite aşılınca önce süresi dolmuş, sonra rastgele kayıtlar atılır.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+
+    public VerifiedTokenCache(@Value("${app.jwt.verified-cache-size:10000}") int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * @param token Ham JWT
+     * @return Daha önce doğrulanmış ve süresi dolmamışsa token'ın kullanıcı ID'si, değilse null
+     */
+    public String get(String token) {
+        VerifiedToken verified = entries.get(token);
+        if (verified == null) {
+            return null;
+        }
+        if (verified.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(token, verified);
+            return null;
+        }
+        return verified.userId();
+    }
+
+    /**
+     * @param token Ham JWT (imzası doğrulanmış olmalı)
+     * @param userId Token'ın subject'i
+     * @param expiresAtMillis Token'ın exp zamanı
+     */
+    public void put(String token, String userId, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        entries.put(token, new VerifiedToken(userId, expiresAtMillis));
+        if (entries.size() > maxEntries) {
+            trim();
+        }
+    }
+
+    private void trim() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(verified -> verified.expiresAtMillis() <= now);
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() > maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record VerifiedToken(String userId, long expiresAtMillis) {
+    }
+}
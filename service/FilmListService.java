@@ -1,7 +1,12 @@
 package com.example.moodmovies.service;
 
+import com.example.moodmovies.dto.CursorPageDTO;
+import com.example.moodmovies.dto.FilmListDeltaDTO;
 import com.example.moodmovies.dto.FilmListDetailDTO;
+import com.example.moodmovies.dto.FilmListHeaderDTO;
+import com.example.moodmovies.dto.FilmListOperationDTO;
 import com.example.moodmovies.dto.FilmListSummaryDTO;
+import com.example.moodmovies.dto.FilmSummaryDTO;
 import com.example.moodmovies.dto.FilmToListRequestDTO;
 import com.example.moodmovies.dto.ListCreateRequestDTO;
 import com.example.moodmovies.dto.ListUpdateRequestDTO;
@@ -17,6 +22,17 @@ public interface FilmListService {
 
     FilmListDetailDTO getListDetails(String listId, String currentUserId);
 
+    /**
+     * Liste detayının filmler hariç üst bilgisi (film sayısı dahil).
+     */
+    FilmListHeaderDTO getListHeader(String listId, String currentUserId);
+
+    /**
+     * Listedeki filmleri liste sırasıyla cursor (keyset) ile sayfalar. Sayfa başına bellek kullanımı
+     * listenin boyutundan bağımsızdır.
+     */
+    CursorPageDTO<FilmSummaryDTO> getListFilmsByCursor(String listId, String currentUserId, String cursor, int size);
+
     FilmListDetailDTO updateList(String userId, String listId, ListUpdateRequestDTO updateRequestDTO);
 
     void deleteList(String userId, String listId);
@@ -25,6 +41,13 @@ public interface FilmListService {
 
     void removeFilmFromList(String userId, String listId, String filmId);
 
+    /**
+     * Listeye ekleme/çıkarma/taşıma işlemlerini verilen sırayla tek işlemde uygular.
+     * İşlemlerden biri geçersizse hiçbiri uygulanmaz.
+     * @return Değişen filmler ve listenin yeni sırası
+     */
+    FilmListDeltaDTO applyFilmOperations(String userId, String listId, List<FilmListOperationDTO> operations);
+
     // YENİ EKLENEN METOT
     List<FilmListSummaryDTO> getLatestPublicLists(int limit);
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.example.moodmovies.service;
 
+import com.example.moodmovies.dto.CursorPageDTO;
 import com.example.moodmovies.dto.FilmDetailDTO;
+import com.example.moodmovies.dto.FilmRatingDistributionDTO;
+import com.example.moodmovies.dto.FilmSearchResponseDTO;
 import com.example.moodmovies.dto.FilmSummaryDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -20,6 +23,15 @@ public interface FilmService {
      */
     Page<FilmSummaryDTO> getFilmSummaries(Pageable pageable);
     
+    /**
+     * Filmlerin özet bilgilerini cursor (keyset) sayfalamasıyla, ID sırasına göre getirir.
+     * Toplam sayı hesaplanmaz; derin sayfalarda da maliyet sabittir.
+     * @param cursor Önceki yanıttaki nextCursor, ilk sayfa için boş
+     * @param size Sayfa boyutu
+     * @return Film özetleri ve sonraki sayfanın cursor'ı
+     */
+    CursorPageDTO<FilmSummaryDTO> getFilmSummariesByCursor(String cursor, int size);
+
     /**
      * ID'ye göre bir filmin detay bilgilerini getirir
      * @param filmId Film ID'si
@@ -27,13 +39,6 @@ public interface FilmService {
      */
     FilmDetailDTO getFilmDetailById(String filmId);
     
-    /**
-     * Belirtilen film ID'sine ait resim verisini getirir
-     * @param filmId Film ID'si
-     * @return Resim byte dizisi, resim bulunamazsa FilmNotFoundException fırlatır
-     */
-    byte[] getFilmImage(String filmId);
-    
     /**
      * Verilen sorguyla eşleşen film önerilerini (en fazla 5) getirir.
      * @param query Aranacak film adı parçası
@@ -41,7 +46,44 @@ public interface FilmService {
      */
     List<FilmSummaryDTO> getFilmSuggestions(String query);
 
+    /**
+     * Film adı, konusu, ülkesi ve türleri üzerinde tam metin arama yapar.
+     * @param query Arama metni
+     * @param genre Tür filtresi (opsiyonel)
+     * @param country Ülke filtresi (opsiyonel)
+     * @param decade On yıl filtresi, ör. 1990 (opsiyonel)
+     * @param page Sayfa numarası (0'dan başlar)
+     * @param size Sayfa boyutu
+     * @return Alaka sırasına göre sonuçlar ve tür/ülke/on yıl facet sayımları
+     */
+    FilmSearchResponseDTO searchFilms(String query, String genre, String country, Integer decade, int page, int size);
+
+    /**
+     * Filmleri tür/ülke filtresiyle, önceden hesaplanmış sıralamalardan sayfalayarak getirir.
+     * @param genres Filmin sahip olması gereken türler (opsiyonel)
+     * @param country Ülke filtresi (opsiyonel)
+     * @param sort Sıralama anahtarı: releaseDate, rating, name, averageRating
+     * @param ascending Artan sıralama ise true
+     * @param page Sayfa numarası (0'dan başlar)
+     * @param size Sayfa boyutu
+     * @return Film özetlerini içeren sayfa
+     */
+    Page<FilmSummaryDTO> browseFilms(List<String> genres, String country, String sort, boolean ascending, int page, int size);
+
     BigDecimal getAverageRatingForFilm(String filmId);
 
-    List<FilmSummaryDTO> getTopFavoritedFilms(int limit);
+    /**
+     * Bir filme verilen kullanıcı puanlarının 1-10 dağılımını, ortalamasını ve sayısını getirir.
+     * @param filmId Film ID'si
+     * @return Puan dağılımı, film bulunamazsa FilmNotFoundException fırlatır
+     */
+    FilmRatingDistributionDTO getRatingDistribution(String filmId);
+
+    /**
+     * En çok favorilenen filmleri, favori sayısına göre azalan sırada sayfalayarak getirir.
+     * @param page Sayfa numarası (0'dan başlar)
+     * @param limit Sayfa boyutu
+     * @return Film özetleri
+     */
+    List<FilmSummaryDTO> getTopFavoritedFilms(int page, int limit);
 }
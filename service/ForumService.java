@@ -7,6 +7,7 @@ import org.springframework.data.domain.Pageable;
 public interface ForumService {
     ForumPostDetailDTO createPost(String userId, ForumPostCreateDTO createDTO);
     Page<ForumPostSummaryDTO> getAllPosts(Pageable pageable);
+    CursorPageDTO<ForumPostSummaryDTO> getPostsByCursor(String cursor, int size);
     ForumPostDetailDTO getPostById(String postId);
     ForumCommentDTO addComment(String postId, String userId, ForumCommentCreateDTO commentDTO);
     void deletePost(String postId, String userId);
@@ -1,5 +1,6 @@
 package com.example.moodmovies.service;
 
+import com.example.moodmovies.dto.CursorPageDTO;
 import com.example.moodmovies.dto.FilmReviewDTO;
 import com.example.moodmovies.dto.FilmSummaryDTO;
 import com.example.moodmovies.dto.RatedFilmDTO;
@@ -20,6 +21,14 @@ public interface UserInteractionService {
      */
     UserFilmInteractionDTO rateFilm(String userId, String filmId, int rating, String comment);
 
+    /**
+     * Bir kullanıcının bir filme verdiği puanı kaldırır. Favori ve yorum bilgisi korunur.
+     * @param userId Kullanıcı ID'si
+     * @param filmId Film ID'si
+     * @return Filmin güncel kullanıcı etkileşim durumu
+     */
+    UserFilmInteractionDTO removeRating(String userId, String filmId);
+
     /**
      * Bir kullanıcının bir film için favori durumunu değiştirir (ekler/kaldırır).
      * @param userId Kullanıcı ID'si
@@ -46,6 +55,15 @@ public interface UserInteractionService {
      */
     UserFilmInteractionDTO getUserFilmInteractionStatus(String userId, String filmId);
 
+    /**
+     * Bir kullanıcının birden fazla filmle etkileşim durumunu tek seferde getirir (film grid'leri için).
+     * Kullanıcının etkileşimleri tek sorguyla, film ortalamaları bellekteki istatistiklerden okunur.
+     * @param userId Kullanıcı ID'si
+     * @param filmIds Film ID'leri; tekrar edenler bir kez, katalogda olmayanlar hiç dönmez
+     * @return İstek sırasıyla Kullanıcı-Film etkileşim DTO'ları
+     */
+    List<UserFilmInteractionDTO> getUserFilmInteractionStatuses(String userId, List<String> filmIds);
+
     /**
      * Bir kullanıcının favorilediği tüm filmleri listeler.
      * @param userId Kullanıcı ID'si
@@ -67,4 +85,13 @@ public interface UserInteractionService {
      * @return Film yorumlarının DTO listesi
      */
     List<FilmReviewDTO> getFilmReviews(String filmId);
+
+    /**
+     * Belirli bir filme yapılan yorumları cursor (keyset) sayfalamasıyla, en yeniden eskiye getirir.
+     * @param filmId Film ID'si
+     * @param cursor Önceki yanıttaki nextCursor, ilk sayfa için boş
+     * @param size Sayfa boyutu
+     * @return Yorumlar ve sonraki sayfanın cursor'ı
+     */
+    CursorPageDTO<FilmReviewDTO> getFilmReviewsByCursor(String filmId, String cursor, int size);
 }
\ No newline at end of file
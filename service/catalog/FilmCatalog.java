@@ -0,0 +1,209 @@
+package com.example.moodmovies.service.catalog;
+
+import com.example.moodmovies.model.FilmInfo;
+import com.example.moodmovies.repository.FilmInfoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * MOODMOVIES_ALL_FILMS_INFO görünümünü bellekte tutan film kataloğu.
+ *
+ * Görünüm uygulama açılışında tek sorguyla okunur ve {@link FilmCatalogSnapshot} olarak yayınlanır.
+ * Okuyucular her zaman tutarlı bir snapshot görür; yenileme yeni snapshot'ı kurup referansı atomik olarak değiştirir.
+ * Snapshot'ta bulunmayan bir ID sorulursa (ör. son yenilemeden sonra eklenen film) veritabanına düşülür.
+ * Veritabanında da bulunamayan ID'ler kısa bir süre (miss TTL) hatırlanır; var olmayan ID'lerle gelen
+ * tekrarlı istekler her seferinde veritabanına gitmez. Bu kayıtlar her yenilemede temizlenir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FilmCatalog {
+
+    private final FilmInfoRepository filmInfoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<FilmCatalogSnapshot> snapshot = new AtomicReference<>(FilmCatalogSnapshot.empty());
+    private final Map<String, Long> absent = new ConcurrentHashMap<>(); // filmId -> geçerlilik sonu
+    private final Object refreshLock = new Object();
+
+    @Value("${app.film-catalog.miss-ttl-ms:60000}")
+    private long missTtlMillis;
+
+    @Value("${app.film-catalog.miss-cache-size:10000}")
+    private int maxMisses;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    /**
+     * Görünümü yeniden okuyup yeni snapshot'ı yayınlar. Zamanlanmış olarak veya film verisi
+     * değiştiğinde elle tetiklenebilir. Hata durumunda mevcut snapshot kullanılmaya devam eder.
+     */
+    @Scheduled(initialDelayString = "${app.film-catalog.refresh-interval-ms:600000}",
+            fixedDelayString = "${app.film-catalog.refresh-interval-ms:600000}")
+    public void refresh() {
+        synchronized (refreshLock) {
+            long startTime = System.currentTimeMillis();
+            try {
+                FilmCatalogSnapshot next = FilmCatalogSnapshot.build(filmInfoRepository.findAll());
+                FilmCatalogSnapshot previous = snapshot.getAndSet(next);
+                absent.clear();
+                log.info("Film kataloğu yenilendi - Films: {}, Genres: {}, Countries: {}, Heap: ~{} KB, Duration: {}ms",
+                        next.size(), next.genreDictionary().size(), next.countryDictionary().size(),
+                        next.heapBytes() / 1024, System.currentTimeMillis() - startTime);
+                eventPublisher.publishEvent(new FilmCatalogRefreshedEvent(previous, next));
+            } catch (Exception e) {
+                log.error("❌ Film kataloğu yenileme hatası, mevcut snapshot korunuyor - Error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * @return O anki snapshot; indeksler ordinal bazlı çalışırken tek bir snapshot üzerinden okumalıdır
+     */
+    public FilmCatalogSnapshot snapshot() {
+        return snapshot.get();
+    }
+
+    public boolean existsById(String filmId) {
+        if (snapshot.get().contains(filmId)) {
+            return true;
+        }
+        if (filmId == null || isKnownAbsent(filmId)) {
+            return false;
+        }
+        boolean exists = filmInfoRepository.existsById(filmId);
+        if (!exists) {
+            rememberAbsent(filmId);
+        }
+        return exists;
+    }
+
+    public Optional<FilmInfo> findById(String filmId) {
+        FilmCatalogSnapshot current = snapshot.get();
+        int ordinal = current.ordinalOf(filmId);
+        if (ordinal >= 0) {
+            return Optional.of(current.toFilmInfo(ordinal));
+        }
+        if (filmId == null || isKnownAbsent(filmId)) {
+            return Optional.empty();
+        }
+        Optional<FilmInfo> film = filmInfoRepository.findById(filmId);
+        if (film.isEmpty()) {
+            rememberAbsent(filmId);
+        }
+        return film;
+    }
+
+    /**
+     * Verilen ID'lere karşılık gelen filmleri, ID listesindeki sırayla döndürür. Bulunamayan ID'ler atlanır.
+     * Snapshot'ta olmayan ID'ler tek bir sorguyla veritabanından okunur ve listedeki yerlerine yerleştirilir.
+     * @param filmIds Film ID'leri
+     * @return Bulunan filmler
+     */
+    public List<FilmInfo> findAllById(Collection<String> filmIds) {
+        FilmCatalogSnapshot current = snapshot.get();
+        Map<String, FilmInfo> loaded = loadMissing(current, filmIds);
+        List<FilmInfo> result = new ArrayList<>(filmIds.size());
+        for (String filmId : filmIds) {
+            int ordinal = current.ordinalOf(filmId);
+            if (ordinal >= 0) {
+                result.add(current.toFilmInfo(ordinal));
+            } else if (filmId != null && loaded.containsKey(filmId)) {
+                result.add(loaded.get(filmId));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Verilen ID'lerden katalogda bulunanları döndürür. Snapshot'ta olmayan ID'ler tek bir sorguyla kontrol edilir.
+     * @param filmIds Film ID'leri
+     * @return Var olan film ID'leri
+     */
+    public Set<String> findExistingIds(Collection<String> filmIds) {
+        FilmCatalogSnapshot current = snapshot.get();
+        Map<String, FilmInfo> loaded = loadMissing(current, filmIds);
+        Set<String> existing = new HashSet<>();
+        for (String filmId : filmIds) {
+            if (current.contains(filmId) || (filmId != null && loaded.containsKey(filmId))) {
+                existing.add(filmId);
+            }
+        }
+        return existing;
+    }
+
+    // --- Helper Metotlar ---
+
+    /**
+     * Snapshot'ta olmayan ve yakın zamanda bulunamadığı bilinmeyen ID'leri tek sorguyla okur.
+     * Veritabanında da olmayan ID'ler hatırlanır.
+     */
+    private Map<String, FilmInfo> loadMissing(FilmCatalogSnapshot current, Collection<String> filmIds) {
+        Set<String> missing = new LinkedHashSet<>();
+        for (String filmId : filmIds) {
+            if (filmId != null && current.ordinalOf(filmId) < 0 && !isKnownAbsent(filmId)) {
+                missing.add(filmId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, FilmInfo> loaded = new HashMap<>();
+        for (FilmInfo film : filmInfoRepository.findAllById(missing)) {
+            loaded.put(film.getId(), film);
+        }
+        for (String filmId : missing) {
+            if (!loaded.containsKey(filmId)) {
+                rememberAbsent(filmId);
+            }
+        }
+        return loaded;
+    }
+
+    private boolean isKnownAbsent(String filmId) {
+        Long expiresAt = absent.get(filmId);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt <= System.currentTimeMillis()) {
+            absent.remove(filmId, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    private void rememberAbsent(String filmId) {
+        absent.put(filmId, System.currentTimeMillis() + missTtlMillis);
+        if (absent.size() > maxMisses) {
+            long now = System.currentTimeMillis();
+            absent.values().removeIf(expiresAt -> expiresAt <= now);
+            Iterator<String> keys = absent.keySet().iterator();
+            while (absent.size() > Math.max(1, maxMisses) && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+    }
+}
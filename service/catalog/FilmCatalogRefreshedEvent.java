@@ -0,0 +1,10 @@
+package com.example.moodmovies.service.catalog;
+
+/**
+ * Film kataloğunun yeni bir snapshot'a geçtiğini bildiren uygulama olayı.
+ * Katalog üzerine kurulan indeksler (arama, öneri vb.) bu olayı dinleyerek kendilerini günceller.
+ * @param previous Bir önceki snapshot (ilk yüklemede boş snapshot)
+ * @param current Yeni yayınlanan snapshot
+ */
+public record FilmCatalogRefreshedEvent(FilmCatalogSnapshot previous, FilmCatalogSnapshot current) {
+}
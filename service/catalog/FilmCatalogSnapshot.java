@@ -0,0 +1,389 @@
+package com.example.moodmovies.service.catalog;
+
+import com.example.moodmovies.model.FilmInfo;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * MOODMOVIES_ALL_FILMS_INFO görünümünün değişmez, kolon bazlı (columnar) bellek kopyası.
+ *
+ * Her film bir sıra numarasıyla (ordinal) temsil edilir; alanlar ordinal ile indekslenen dizilerde tutulur.
+ * Türler (TUR_1..TUR_4) ve ülkeler sözlükle kodlanır, süre / çıkış tarihi / puan primitive dizilerdedir.
+ * Tür, ülke ve on yıl (decade) başına film kümeleri ordinal bitmap'leri (BitSet) olarak önceden hesaplanır;
+ * filtre ve facet sayımları bu bitmap'lerin kesişimiyle yapılır.
+ * Snapshot oluşturulduktan sonra değişmez; güncelleme yeni bir snapshot kurulup atomik olarak değiştirilerek yapılır.
+ */
+public final class FilmCatalogSnapshot {
+
+    /** Primitive kolonlarda null değeri temsil eder. */
+    public static final int NULL_INT = Integer.MIN_VALUE;
+
+    /** Sözlük kolonlarında null değeri temsil eder. */
+    public static final short NULL_CODE = -1;
+
+    public static final int GENRE_SLOTS = 4;
+
+    private static final FilmCatalogSnapshot EMPTY = build(Collections.emptyList());
+
+    private final String[] ids;
+    private final String[] names;
+    private final String[] plots;
+    private final short[][] genreCodes; // [slot][ordinal]
+    private final String[] genreDictionary;
+    private final short[] countryCodes;
+    private final String[] countryDictionary;
+    private final int[] runtimes;
+    private final int[] releaseEpochDays;
+    private final int[] ratings; // ratingScale ölçeğinde unscaled değer
+    private final int ratingScale;
+    private final Map<String, Integer> ordinals;
+    private final Map<String, BitSet> genreBitmaps = new LinkedHashMap<>(); // boş olmayan tür -> ordinal'ler
+    private final Map<String, BitSet> countryBitmaps = new LinkedHashMap<>();
+    private final NavigableMap<Integer, BitSet> decadeBitmaps = new TreeMap<>();
+    private final long heapBytes;
+    private final Instant loadedAt;
+
+    private FilmCatalogSnapshot(String[] ids, String[] names, String[] plots,
+                                short[][] genreCodes, String[] genreDictionary,
+                                short[] countryCodes, String[] countryDictionary,
+                                int[] runtimes, int[] releaseEpochDays, int[] ratings, int ratingScale,
+                                Map<String, Integer> ordinals) {
+        this.ids = ids;
+        this.names = names;
+        this.plots = plots;
+        this.genreCodes = genreCodes;
+        this.genreDictionary = genreDictionary;
+        this.countryCodes = countryCodes;
+        this.countryDictionary = countryDictionary;
+        this.runtimes = runtimes;
+        this.releaseEpochDays = releaseEpochDays;
+        this.ratings = ratings;
+        this.ratingScale = ratingScale;
+        this.ordinals = ordinals;
+        this.loadedAt = Instant.now();
+        buildFacetBitmaps();
+        this.heapBytes = estimateHeapBytes();
+    }
+
+    public static FilmCatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Görünümden okunan satırlardan yeni bir snapshot kurar.
+     * @param films Görünümdeki tüm filmler
+     * @return Kolon bazlı snapshot
+     */
+    public static FilmCatalogSnapshot build(List<FilmInfo> films) {
+        int size = films.size();
+        String[] ids = new String[size];
+        String[] names = new String[size];
+        String[] plots = new String[size];
+        short[][] genreCodes = new short[GENRE_SLOTS][size];
+        short[] countryCodes = new short[size];
+        int[] runtimes = new int[size];
+        int[] releaseEpochDays = new int[size];
+        int[] ratings = new int[size];
+        Map<String, Integer> ordinals = new HashMap<>(Math.max(16, (int) (size / 0.75f) + 1));
+        Map<String, Short> genreDictionary = new LinkedHashMap<>();
+        Map<String, Short> countryDictionary = new LinkedHashMap<>();
+
+        // Puan kolonu DECIMAL olduğu için tek bir ölçek yeterli; en büyük ölçek kayıpsız saklama sağlar
+        int ratingScale = 0;
+        for (FilmInfo film : films) {
+            if (film.getRating() != null) {
+                ratingScale = Math.max(ratingScale, film.getRating().scale());
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            FilmInfo film = films.get(i);
+            ids[i] = film.getId();
+            names[i] = film.getName();
+            plots[i] = film.getPlot();
+            String[] genres = {film.getTur1(), film.getTur2(), film.getTur3(), film.getTur4()};
+            for (int slot = 0; slot < GENRE_SLOTS; slot++) {
+                genreCodes[slot][i] = encode(genreDictionary, genres[slot]);
+            }
+            countryCodes[i] = encode(countryDictionary, film.getCountry());
+            runtimes[i] = film.getRuntime() != null ? film.getRuntime() : NULL_INT;
+            releaseEpochDays[i] = film.getReleaseDate() != null ? (int) film.getReleaseDate().toEpochDay() : NULL_INT;
+            ratings[i] = film.getRating() != null
+                    ? film.getRating().setScale(ratingScale).unscaledValue().intValueExact()
+                    : NULL_INT;
+            ordinals.put(film.getId(), i);
+        }
+
+        return new FilmCatalogSnapshot(ids, names, plots,
+                genreCodes, genreDictionary.keySet().toArray(new String[0]),
+                countryCodes, countryDictionary.keySet().toArray(new String[0]),
+                runtimes, releaseEpochDays, ratings, ratingScale,
+                Collections.unmodifiableMap(ordinals));
+    }
+
+    // --- Erişim Metotları ---
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * @return Filmin ordinal'i, snapshot'ta yoksa -1
+     */
+    public int ordinalOf(String filmId) {
+        if (filmId == null) {
+            return -1;
+        }
+        Integer ordinal = ordinals.get(filmId);
+        return ordinal != null ? ordinal : -1;
+    }
+
+    public boolean contains(String filmId) {
+        return ordinalOf(filmId) >= 0;
+    }
+
+    public String id(int ordinal) {
+        return ids[ordinal];
+    }
+
+    public String name(int ordinal) {
+        return names[ordinal];
+    }
+
+    public String plot(int ordinal) {
+        return plots[ordinal];
+    }
+
+    public String country(int ordinal) {
+        short code = countryCodes[ordinal];
+        return code == NULL_CODE ? null : countryDictionary[code];
+    }
+
+    public short countryCode(int ordinal) {
+        return countryCodes[ordinal];
+    }
+
+    public short genreCode(int slot, int ordinal) {
+        return genreCodes[slot][ordinal];
+    }
+
+    /**
+     * @return Filmin boş olmayan türleri, TUR_1..TUR_4 sırasıyla
+     */
+    public List<String> genres(int ordinal) {
+        List<String> result = new ArrayList<>(GENRE_SLOTS);
+        for (int slot = 0; slot < GENRE_SLOTS; slot++) {
+            String genre = genre(slot, ordinal);
+            if (genre != null && !genre.trim().isEmpty()) {
+                result.add(genre);
+            }
+        }
+        return result;
+    }
+
+    public List<String> genreDictionary() {
+        return List.of(genreDictionary);
+    }
+
+    public List<String> countryDictionary() {
+        return List.of(countryDictionary);
+    }
+
+    public Integer runtime(int ordinal) {
+        return runtimes[ordinal] == NULL_INT ? null : runtimes[ordinal];
+    }
+
+    public LocalDate releaseDate(int ordinal) {
+        return releaseEpochDays[ordinal] == NULL_INT ? null : LocalDate.ofEpochDay(releaseEpochDays[ordinal]);
+    }
+
+    public Integer releaseYear(int ordinal) {
+        LocalDate releaseDate = releaseDate(ordinal);
+        return releaseDate != null ? releaseDate.getYear() : null;
+    }
+
+    /**
+     * @return Çıkış tarihi (epoch day) veya {@link #NULL_INT}; sıralama gibi sıcak döngülerde kutulamadan okumak için
+     */
+    public int releaseEpochDay(int ordinal) {
+        return releaseEpochDays[ordinal];
+    }
+
+    public BigDecimal rating(int ordinal) {
+        return ratings[ordinal] == NULL_INT ? null : BigDecimal.valueOf(ratings[ordinal], ratingScale);
+    }
+
+    /**
+     * @return Puanın unscaled değeri ({@link #ratingScale()} ölçeğinde) veya {@link #NULL_INT}
+     */
+    public int ratingUnscaled(int ordinal) {
+        return ratings[ordinal];
+    }
+
+    public int ratingScale() {
+        return ratingScale;
+    }
+
+    /**
+     * Ordinal'deki filmi, mevcut servis kodunun kullandığı FilmInfo nesnesine dönüştürür.
+     * Dönen nesne persistence context'e bağlı değildir.
+     */
+    public FilmInfo toFilmInfo(int ordinal) {
+        return new FilmInfo(ids[ordinal], names[ordinal], rating(ordinal), releaseDate(ordinal), country(ordinal),
+                runtime(ordinal), plots[ordinal],
+                genre(0, ordinal), genre(1, ordinal), genre(2, ordinal), genre(3, ordinal));
+    }
+
+    // --- Facet Bitmap'leri ---
+    // Bitmap erişimcileri kopya döndürür; çağıran and()/or() ile serbestçe değiştirebilir.
+
+    /**
+     * @return En az bir filmde geçen türler (sözlük sırasıyla, boşluklar kırpılmış)
+     */
+    public List<String> facetGenres() {
+        return List.copyOf(genreBitmaps.keySet());
+    }
+
+    /**
+     * @return Türe sahip filmlerin ordinal kümesi; tür yoksa boş küme
+     */
+    public BitSet genreBitmap(String genre) {
+        return copyOf(genreBitmaps.get(genre));
+    }
+
+    public List<String> facetCountries() {
+        return List.copyOf(countryBitmaps.keySet());
+    }
+
+    public BitSet countryBitmap(String country) {
+        return copyOf(countryBitmaps.get(country));
+    }
+
+    /**
+     * @return Çıkış yılı bilinen filmlerin on yılları (ör. 1990, 2000), artan sırada
+     */
+    public List<Integer> decades() {
+        return List.copyOf(decadeBitmaps.keySet());
+    }
+
+    public BitSet decadeBitmap(int decade) {
+        return copyOf(decadeBitmaps.get(decade));
+    }
+
+    /**
+     * @return Tüm filmleri içeren ordinal kümesi
+     */
+    public BitSet allFilms() {
+        BitSet all = new BitSet(size());
+        all.set(0, size());
+        return all;
+    }
+
+    /**
+     * @return Snapshot'ın heap'te kapladığı yaklaşık byte miktarı
+     */
+    public long heapBytes() {
+        return heapBytes;
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    // --- Helper Metotlar ---
+
+    private String genre(int slot, int ordinal) {
+        short code = genreCodes[slot][ordinal];
+        return code == NULL_CODE ? null : genreDictionary[code];
+    }
+
+    private void buildFacetBitmaps() {
+        for (int ordinal = 0; ordinal < size(); ordinal++) {
+            for (int slot = 0; slot < GENRE_SLOTS; slot++) {
+                addToBitmap(genreBitmaps, genre(slot, ordinal), ordinal);
+            }
+            addToBitmap(countryBitmaps, country(ordinal), ordinal);
+            Integer year = releaseYear(ordinal);
+            if (year != null) {
+                decadeBitmaps.computeIfAbsent(Math.floorDiv(year, 10) * 10, key -> new BitSet(size())).set(ordinal);
+            }
+        }
+    }
+
+    private void addToBitmap(Map<String, BitSet> bitmaps, String value, int ordinal) {
+        if (value == null || value.trim().isEmpty()) {
+            return;
+        }
+        bitmaps.computeIfAbsent(value.trim(), key -> new BitSet(size())).set(ordinal);
+    }
+
+    private BitSet copyOf(BitSet bitmap) {
+        return bitmap != null ? (BitSet) bitmap.clone() : new BitSet(size());
+    }
+
+    private static short encode(Map<String, Short> dictionary, String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Short code = dictionary.get(value);
+        if (code == null) {
+            if (dictionary.size() >= Short.MAX_VALUE) {
+                throw new IllegalStateException("Sözlük kapasitesi aşıldı: " + dictionary.size());
+            }
+            code = (short) dictionary.size();
+            dictionary.put(value, code);
+        }
+        return code;
+    }
+
+    /**
+     * 64-bit JVM, compressed oops varsayımıyla kaba bir tahmin yapar:
+     * dizi başlığı 16, String nesnesi 24 + içerik dizisi, HashMap girdisi ~48 byte (kutulanmış Integer dahil).
+     */
+    private long estimateHeapBytes() {
+        long bytes = 0;
+        bytes += stringArrayBytes(ids) + stringArrayBytes(names) + stringArrayBytes(plots);
+        bytes += stringArrayBytes(genreDictionary) + stringArrayBytes(countryDictionary);
+        bytes += 16 + 4L * GENRE_SLOTS + GENRE_SLOTS * (16 + 2L * size());
+        bytes += 16 + 2L * countryCodes.length;
+        bytes += 3 * (16 + 4L * size());
+        bytes += 16 + 4L * Integer.highestOneBit(Math.max(1, ordinals.size()) * 2) + 48L * ordinals.size();
+        long bitmapBytes = 40 + 8L * ((size() + 63) / 64);
+        bytes += (genreBitmaps.size() + countryBitmaps.size() + decadeBitmaps.size()) * (bitmapBytes + 48);
+        return bytes;
+    }
+
+    private static long stringArrayBytes(String[] values) {
+        long bytes = 16 + 4L * values.length;
+        for (String value : values) {
+            if (value != null) {
+                // Compact strings: Latin-1 karakterler 1, diğerleri 2 byte
+                boolean latin1 = value.chars().allMatch(c -> c < 256);
+                bytes += 24 + 16 + (long) value.length() * (latin1 ? 1 : 2);
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "FilmCatalogSnapshot{" +
+                "size=" + size() +
+                ", genres=" + genreDictionary.length +
+                ", countries=" + countryDictionary.length +
+                ", heapBytes=" + heapBytes +
+                ", loadedAt=" + loadedAt +
+                '}';
+    }
+}
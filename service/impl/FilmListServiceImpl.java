@@ -2,27 +2,44 @@ package com.example.moodmovies.service.impl;
 
 import com.example.moodmovies.dto.*;
 import com.example.moodmovies.exception.FilmNotFoundException;
+import com.example.moodmovies.exception.InvalidCursorException;
+import com.example.moodmovies.exception.InvalidListOperationException;
 import com.example.moodmovies.exception.ResourceNotFoundException;
 import com.example.moodmovies.exception.UnauthorizedOperationException;
 import com.example.moodmovies.exception.UserNotFoundException;
 import com.example.moodmovies.model.*;
-import com.example.moodmovies.repository.FilmInfoRepository;
+import com.example.moodmovies.repository.BulkDeleteRepository;
 import com.example.moodmovies.repository.FilmListInfoRepository;
 import com.example.moodmovies.repository.FilmListRepository;
 import com.example.moodmovies.repository.UserRepository;
 import com.example.moodmovies.service.FilmListService;
+import com.example.moodmovies.service.catalog.FilmCatalog;
+import com.example.moodmovies.service.interaction.UserFilmBadgeCache;
+import com.example.moodmovies.service.mapper.FilmListSummaryAssembler;
+import com.example.moodmovies.service.pagination.KeysetCursor;
+import com.example.moodmovies.service.stats.UserStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable; // DOĞRU IMPORT BU
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,7 +51,11 @@ public class FilmListServiceImpl implements FilmListService {
     private final UserRepository userRepository;
     private final FilmListRepository filmListRepository;
     private final FilmListInfoRepository filmListInfoRepository;
-    private final FilmInfoRepository filmInfoRepository;
+    private final FilmCatalog filmCatalog;
+    private final UserStatsService userStatsService;
+    private final FilmListSummaryAssembler filmListSummaryAssembler;
+    private final BulkDeleteRepository bulkDeleteRepository;
+    private final UserFilmBadgeCache userFilmBadgeCache;
 
     // Veritabanındaki VISIBLE INT değerlerine karşılık gelen sabitler
     // Not: Bunları bir Enum sınıfında tanımlayıp JPA AttributeConverter ile map etmek daha iyi bir pratiktir.
@@ -43,6 +64,29 @@ public class FilmListServiceImpl implements FilmListService {
 
     private static final Integer STATUS_ACTIVE = 1; // Yeni listeler için varsayılan aktif durumu
 
+    private static final String LIST_FILMS_CURSOR = "list-films";
+
+    // FilmList.filmListInfos ile aynı sıra: NULL pozisyonlar (eski kayıtlar) başta, sonra pozisyon, eklenme zamanı
+    private static final Comparator<FilmListInfo> LIST_ORDER = Comparator
+            .comparing(FilmListInfo::getPosition, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(FilmListInfo::getCreated, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(info -> info.getId().getFilmId());
+
+    /**
+     * Pozisyonu olmayan eski liste kayıtlarını numaralandırır; keyset sorguları ham POSITION kolonuna göre sıralar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillPositionsOnStartup() {
+        try {
+            int backfilled = filmListInfoRepository.backfillPositions();
+            if (backfilled > 0) {
+                log.info("Liste kayıtlarının pozisyonları dolduruldu - Rows: {}", backfilled);
+            }
+        } catch (Exception e) {
+            log.error("❌ Liste kayıtlarının pozisyonları doldurulamadı - Error: {}", e.getMessage(), e);
+        }
+    }
+
     @Override
     public FilmListDetailDTO createList(String userId, ListCreateRequestDTO createRequestDTO) {
         log.debug("Liste oluşturma işlemi başlatıldı - UserId: {}, ListName: {}", userId, createRequestDTO.getName());
@@ -67,6 +111,7 @@ public class FilmListServiceImpl implements FilmListService {
                     .build();
 
             FilmList savedList = filmListRepository.save(filmList);
+            userStatsService.adjust(userId, 0, 0, 1, 0);
             long duration = System.currentTimeMillis() - startTime;
             
             log.info("✅ Liste başarıyla oluşturuldu - UserId: {}, ListId: {}, ListName: '{}', Tag: '{}', Visibility: {}, Duration: {}ms", 
@@ -106,9 +151,7 @@ public class FilmListServiceImpl implements FilmListService {
                 log.debug("Kullanıcının public listeleri getirildi - UserId: {}, Count: {}", userId, lists.size());
             }
             
-            List<FilmListSummaryDTO> result = lists.stream()
-                    .map(this::mapToFilmListSummaryDTO)
-                    .collect(Collectors.toList());
+            List<FilmListSummaryDTO> result = filmListSummaryAssembler.toSummaries(lists);
                     
             long duration = System.currentTimeMillis() - startTime;
             log.info("✅ Kullanıcı listeleri başarıyla getirildi - UserId: {}, Count: {}, IncludePrivate: {}, Duration: {}ms", 
@@ -133,23 +176,7 @@ public class FilmListServiceImpl implements FilmListService {
         long startTime = System.currentTimeMillis();
         
         try {
-            FilmList filmList = filmListRepository.findById(listId)
-                    .orElseThrow(() -> {
-                        log.warn("❌ Liste detayları getirme başarısız - Liste bulunamadı: {}", listId);
-                        return new ResourceNotFoundException("Liste bulunamadı: " + listId);
-                    });
-
-            log.debug("Liste bulundu - ListId: {}, Name: '{}', Owner: {}, Visibility: {}", 
-                    listId, filmList.getName(), filmList.getUser().getId(), filmList.getVisible());
-
-            // Eğer liste özel ise (private) ve bakan kişi (currentUserId) listenin sahibi değilse, yetki hatası ver.
-            // currentUserId null ise (anonim kullanıcı), özel listeleri göremez.
-            if (filmList.getVisible().equals(VISIBILITY_PRIVATE) &&
-                (currentUserId == null || !filmList.getUser().getId().equals(currentUserId))) {
-                log.warn("❌ Yetkisiz liste erişimi - ListId: {}, Owner: {}, CurrentUser: {}, Visibility: Private", 
-                        listId, filmList.getUser().getId(), currentUserId);
-                throw new UnauthorizedOperationException("Bu özel listeyi görüntüleme yetkiniz yok.");
-            }
+            FilmList filmList = findReadableList(listId, currentUserId);
             
             FilmListDetailDTO result = mapToFilmListDetailDTO(filmList);
             long duration = System.currentTimeMillis() - startTime;
@@ -169,6 +196,91 @@ public class FilmListServiceImpl implements FilmListService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public FilmListHeaderDTO getListHeader(String listId, String currentUserId) {
+        FilmList filmList = findReadableList(listId, currentUserId);
+        return FilmListHeaderDTO.builder()
+                .listId(filmList.getListId())
+                .name(filmList.getName())
+                .description(filmList.getDescription())
+                .tag(filmList.getTag())
+                .visibility(filmList.getVisible())
+                .status(filmList.getStatus())
+                .owner(convertToUserDTO(filmList.getUser()))
+                .created(filmList.getCreated())
+                .lastUpd(filmList.getLastUpd())
+                .filmCount(filmListInfoRepository.countByFilmList(filmList))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<FilmSummaryDTO> getListFilmsByCursor(String listId, String currentUserId, String cursor, int size) {
+        findReadableList(listId, currentUserId);
+
+        Pageable limit = PageRequest.of(0, size + 1); // Bir fazlası sonraki sayfanın varlığını gösterir
+        List<Object[]> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = filmListInfoRepository.findFilmsKeysetFirstPage(listId, limit);
+        } else {
+            // Cursor liste ID'sini de taşır; başka bir listenin cursor'ı bu listede kullanılamaz
+            KeysetCursor keyset = KeysetCursor.decode(cursor, LIST_FILMS_CURSOR, 4);
+            if (!listId.equals(keyset.key(0))) {
+                throw new InvalidCursorException("Cursor bu listeye ait değil");
+            }
+            rows = filmListInfoRepository.findFilmsKeysetPageAfter(listId, keyset.intKey(1),
+                    keyset.timeKey(2), keyset.key(3), limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<Object[]> page = hasNext ? rows.subList(0, size) : rows;
+        List<String> filmIds = page.stream().map(row -> (String) row[0]).collect(Collectors.toList());
+        Map<String, FilmInfo> films = filmCatalog.findAllById(filmIds).stream()
+                .collect(Collectors.toMap(FilmInfo::getId, fi -> fi, (first, second) -> first));
+
+        String nextCursor = null;
+        if (hasNext) {
+            Object[] last = page.get(page.size() - 1);
+            // NULL pozisyon yalnızca açılıştaki numaralandırma tamamlanmadan görülebilir; en küçük değer gibi ele alınır
+            int lastPosition = last[1] != null ? ((Number) last[1]).intValue() : Integer.MIN_VALUE;
+            nextCursor = KeysetCursor.of(LIST_FILMS_CURSOR, listId, String.valueOf(lastPosition),
+                    last[2].toString(), (String) last[0]).encode();
+        }
+        return CursorPageDTO.<FilmSummaryDTO>builder()
+                .items(filmIds.stream()
+                        .map(films::get)
+                        .filter(Objects::nonNull) // Katalogda olmayan film (veri tutarsızlığı) atlanır
+                        .map(this::convertToFilmSummaryDTO)
+                        .collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * Listeyi getirir ve görüntüleme yetkisini kontrol eder. Özel listeleri sadece sahibi görebilir;
+     * currentUserId null ise (anonim kullanıcı) özel listeler görüntülenemez.
+     */
+    private FilmList findReadableList(String listId, String currentUserId) {
+        FilmList filmList = filmListRepository.findById(listId)
+                .orElseThrow(() -> {
+                    log.warn("❌ Liste getirme başarısız - Liste bulunamadı: {}", listId);
+                    return new ResourceNotFoundException("Liste bulunamadı: " + listId);
+                });
+
+        log.debug("Liste bulundu - ListId: {}, Name: '{}', Owner: {}, Visibility: {}", 
+                listId, filmList.getName(), filmList.getUser().getId(), filmList.getVisible());
+
+        if (filmList.getVisible().equals(VISIBILITY_PRIVATE) &&
+            (currentUserId == null || !filmList.getUser().getId().equals(currentUserId))) {
+            log.warn("❌ Yetkisiz liste erişimi - ListId: {}, Owner: {}, CurrentUser: {}, Visibility: Private", 
+                    listId, filmList.getUser().getId(), currentUserId);
+            throw new UnauthorizedOperationException("Bu özel listeyi görüntüleme yetkiniz yok.");
+        }
+        return filmList;
+    }
+
     @Override
     public FilmListDetailDTO updateList(String userId, String listId, ListUpdateRequestDTO updateRequestDTO) {
         log.debug("Liste güncelleme işlemi başlatıldı - UserId: {}, ListId: {}", userId, listId);
@@ -254,13 +366,15 @@ public class FilmListServiceImpl implements FilmListService {
                     });
 
             String listName = filmList.getName();
-            int filmCount = filmList.getFilmListInfos().size();
-            
-            log.debug("Silinecek liste bulundu - ListId: {}, Name: '{}', FilmCount: {}", listId, listName, filmCount);
-
-            // FilmList entity'sindeki @OneToMany ilişkisinde cascade = CascadeType.ALL ve orphanRemoval = true
-            // ayarlandığı için, FilmList silindiğinde ilişkili FilmListInfo kayıtları da otomatik silinir.
-            filmListRepository.delete(filmList);
+            log.debug("Silinecek liste bulundu - ListId: {}, Name: '{}'", listId, listName);
+
+            // Elemanlar entity olarak yüklenip tek tek silinmez; parçalı DELETE ile silinir, ardından liste silinir
+            int filmCount = bulkDeleteRepository.deleteInChunks("MOODMOVIES_FILMS_LIST_INFO", "LIST_ID = ?", listId);
+            filmListRepository.deleteByListId(listId);
+            userFilmBadgeCache.evict(userId);
+            if (STATUS_ACTIVE.equals(filmList.getStatus())) {
+                userStatsService.adjust(userId, 0, 0, -1, 0);
+            }
             long duration = System.currentTimeMillis() - startTime;
             
             log.info("✅ Liste başarıyla silindi - UserId: {}, ListId: {}, ListName: '{}', DeletedFilmCount: {}, Duration: {}ms", 
@@ -289,14 +403,15 @@ public class FilmListServiceImpl implements FilmListService {
                         return new UserNotFoundException("Kullanıcı bulunamadı: " + userId);
                     });
                     
-            // Kullanıcının sadece kendi listesine film ekleyebilmesini sağla
-            FilmList filmList = filmListRepository.findByListIdAndUser(listId, user)
+            // Kullanıcının sadece kendi listesine film ekleyebilmesini sağla; liste satırı kilitlenir ki
+            // eşzamanlı eklemeler aynı pozisyonu almasın
+            FilmList filmList = filmListRepository.findForUpdateByListIdAndUser(listId, user)
                     .orElseThrow(() -> {
                         log.warn("❌ Film ekleme başarısız - Liste bulunamadı veya yetki yok: ListId: {}, UserId: {}", listId, userId);
                         return new ResourceNotFoundException("Film eklenecek liste bulunamadı veya bu listeye erişim yetkiniz yok: " + listId);
                     });
 
-            if (!filmInfoRepository.existsById(filmId)) {
+            if (!filmCatalog.existsById(filmId)) {
                 log.warn("❌ Film ekleme başarısız - Film bulunamadı: FilmId: {}, ListId: {}", filmId, listId);
                 throw new FilmNotFoundException("Listeye eklenecek film bulunamadı: " + filmId);
             }
@@ -315,9 +430,11 @@ public class FilmListServiceImpl implements FilmListService {
                     .id(filmListInfoId)
                     .filmList(filmList) // FilmList ile ilişkiyi kur
                     .user(user) // FilmListInfo'daki USER_ID'yi set et (DB script'ine göre listenin sahibi)
+                    .position(nextPosition(listId))
                     .build();
             
             filmListInfoRepository.save(filmListInfo);
+            userFilmBadgeCache.recordListed(userId, filmId);
             
             // Listenin en güncel halini (içindeki filmlerle birlikte) döndür
             FilmList reloadedList = filmListRepository.findById(listId)
@@ -334,6 +451,10 @@ public class FilmListServiceImpl implements FilmListService {
             
         } catch (UserNotFoundException | ResourceNotFoundException | FilmNotFoundException e) {
             throw e; // Zaten loglandı
+        } catch (DataIntegrityViolationException e) {
+            log.warn("⚠ Film listeye eklenemedi, veri bütünlüğü ihlali - UserId: {}, ListId: {}, FilmId: {}, Error: {}",
+                    userId, listId, filmId, e.getMessage());
+            throw e; // GlobalExceptionHandler 409/400 olarak döner
         } catch (Exception e) {
             long duration = System.currentTimeMillis() - startTime;
             log.error("❌ Film listeye ekleme hatası - UserId: {}, ListId: {}, FilmId: {}, Error: {}, Duration: {}ms", 
@@ -371,6 +492,7 @@ public class FilmListServiceImpl implements FilmListService {
             log.debug("Film listeden çıkarılabilir - FilmId: {}, ListId: {}, ListName: '{}'", filmId, listId, filmList.getName());
             
             filmListInfoRepository.deleteById(filmListInfoId);
+            userFilmBadgeCache.evict(userId); // Film kullanıcının başka bir listesinde de olabilir
             long duration = System.currentTimeMillis() - startTime;
             
             log.info("✅ Film başarıyla listeden çıkarıldı - UserId: {}, FilmId: {}, ListId: {}, ListName: '{}', Duration: {}ms", 
@@ -386,6 +508,143 @@ public class FilmListServiceImpl implements FilmListService {
         }
     }
 
+    @Override
+    public FilmListDeltaDTO applyFilmOperations(String userId, String listId, List<FilmListOperationDTO> operations) {
+        log.debug("Toplu liste düzenleme başlatıldı - UserId: {}, ListId: {}, Operations: {}", userId, listId, operations.size());
+        long startTime = System.currentTimeMillis();
+
+        try {
+            // Kullanıcının sadece kendi listesini düzenleyebilmesini sağla (referans sorgu çalıştırmaz).
+            // Liste satırı işlem sonuna kadar kilitlenir; eşzamanlı toplu düzenlemeler birbirinin sırasını ezmez.
+            filmListRepository.findForUpdateByListIdAndUser(listId, userRepository.getReferenceById(userId))
+                    .orElseThrow(() -> {
+                        log.warn("❌ Toplu liste düzenleme başarısız - Liste bulunamadı veya yetki yok: ListId: {}, UserId: {}", listId, userId);
+                        return new ResourceNotFoundException("Düzenlenecek liste bulunamadı veya bu listeyi düzenleme yetkiniz yok: " + listId);
+                    });
+
+            validateOperations(operations);
+
+            List<FilmListInfo> current = new ArrayList<>(filmListInfoRepository.findAllByFilmList_ListId(listId));
+            current.sort(LIST_ORDER);
+            List<String> originalOrder = new ArrayList<>(current.size());
+            Map<String, Integer> storedPositions = new HashMap<>();
+            for (FilmListInfo info : current) {
+                originalOrder.add(info.getId().getFilmId());
+                storedPositions.put(info.getId().getFilmId(), info.getPosition());
+            }
+
+            List<String> order = new ArrayList<>(originalOrder);
+            for (FilmListOperationDTO operation : operations) {
+                String filmId = operation.getFilmId();
+                switch (operation.getOp()) {
+                    case ADD -> {
+                        if (!order.contains(filmId)) { // Zaten listedeyse tekli eklemedeki gibi atlanır
+                            order.add(clampPosition(operation.getPosition(), order.size()), filmId);
+                        }
+                    }
+                    case REMOVE -> order.remove(filmId);
+                    case MOVE -> {
+                        if (!order.remove(filmId)) {
+                            throw new InvalidListOperationException("Taşınacak film listede bulunamadı: " + filmId);
+                        }
+                        order.add(clampPosition(operation.getPosition(), order.size()), filmId);
+                    }
+                }
+            }
+
+            Set<String> finalIds = new HashSet<>(order);
+            List<String> removed = originalOrder.stream()
+                    .filter(filmId -> !finalIds.contains(filmId))
+                    .collect(Collectors.toList());
+            Map<String, Integer> inserted = new LinkedHashMap<>();
+            Map<String, Integer> moved = new LinkedHashMap<>();
+            if (!order.equals(originalOrder)) {
+                // Değişiklik varsa listenin tamamı 0..n-1 olarak numaralandırılır (eski NULL pozisyonlar dahil)
+                for (int i = 0; i < order.size(); i++) {
+                    String filmId = order.get(i);
+                    if (!storedPositions.containsKey(filmId)) {
+                        inserted.put(filmId, i);
+                    } else if (!Integer.valueOf(i).equals(storedPositions.get(filmId))) {
+                        moved.put(filmId, i);
+                    }
+                }
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            filmListInfoRepository.deleteFilms(listId, removed);
+            filmListInfoRepository.updatePositions(listId, moved, now);
+            filmListInfoRepository.insertFilms(listId, userId, inserted, now);
+            if (!removed.isEmpty()) {
+                userFilmBadgeCache.evict(userId); // Çıkarılan film kullanıcının başka bir listesinde de olabilir
+            } else {
+                inserted.keySet().forEach(filmId -> userFilmBadgeCache.recordListed(userId, filmId));
+            }
+
+            List<FilmSummaryDTO> added = filmCatalog.findAllById(inserted.keySet()).stream()
+                    .map(this::convertToFilmSummaryDTO)
+                    .collect(Collectors.toList());
+
+            long duration = System.currentTimeMillis() - startTime;
+            log.info("✅ Toplu liste düzenleme tamamlandı - UserId: {}, ListId: {}, Operations: {}, Added: {}, Removed: {}, Moved: {}, FilmCount: {}, Duration: {}ms",
+                    userId, listId, operations.size(), inserted.size(), removed.size(), moved.size(), order.size(), duration);
+
+            return FilmListDeltaDTO.builder()
+                    .listId(listId)
+                    .filmCount(order.size())
+                    .added(added)
+                    .removed(removed)
+                    .order(order)
+                    .build();
+
+        } catch (ResourceNotFoundException | InvalidListOperationException e) {
+            throw e; // Zaten loglandı veya istemci hatası
+        } catch (DataIntegrityViolationException e) {
+            log.warn("⚠ Toplu liste düzenleme veri bütünlüğü ihlali - UserId: {}, ListId: {}, Error: {}",
+                    userId, listId, e.getMessage());
+            throw e; // GlobalExceptionHandler 409/400 olarak döner
+        } catch (Exception e) {
+            long duration = System.currentTimeMillis() - startTime;
+            log.error("❌ Toplu liste düzenleme hatası - UserId: {}, ListId: {}, Error: {}, Duration: {}ms",
+                    userId, listId, e.getMessage(), duration, e);
+            throw new RuntimeException("Liste düzenlenirken beklenmeyen bir hata oluştu", e);
+        }
+    }
+
+    /**
+     * İşlemleri veritabanına gitmeden doğrular: eklenecek filmler bellekteki katalogda olmalı, taşıma pozisyon içermeli.
+     */
+    private void validateOperations(List<FilmListOperationDTO> operations) {
+        List<String> unknownFilms = new ArrayList<>();
+        for (FilmListOperationDTO operation : operations) {
+            if (operation.getOp() == FilmListOperationDTO.Type.ADD && !filmCatalog.existsById(operation.getFilmId())) {
+                unknownFilms.add(operation.getFilmId());
+            }
+            if (operation.getOp() == FilmListOperationDTO.Type.MOVE && operation.getPosition() == null) {
+                throw new InvalidListOperationException("Taşıma işlemi için pozisyon belirtilmelidir: " + operation.getFilmId());
+            }
+        }
+        if (!unknownFilms.isEmpty()) {
+            log.warn("❌ Toplu liste düzenleme başarısız - Katalogda bulunmayan filmler: {}", unknownFilms);
+            throw new InvalidListOperationException("Listeye eklenecek filmler bulunamadı: " + unknownFilms);
+        }
+    }
+
+    private static int clampPosition(Integer position, int size) {
+        if (position == null) {
+            return size;
+        }
+        return Math.max(0, Math.min(position, size));
+    }
+
+    /**
+     * Tekli eklemede yeni filmin pozisyonu; boş listede 0. Eski kayıtlar açılışta -n..-1 olarak
+     * numaralandırıldığı için yeni film her zaman sona düşer.
+     */
+    private int nextPosition(String listId) {
+        Integer maxPosition = filmListInfoRepository.findMaxPosition(listId);
+        return maxPosition != null ? maxPosition + 1 : 0;
+    }
+
     // --- Helper Dönüşüm Metotları (Private) ---
 
     private FilmListDetailDTO mapToFilmListDetailDTO(FilmList filmList) {
@@ -409,7 +668,7 @@ public class FilmListServiceImpl implements FilmListService {
                 log.debug("Liste boş, film summary'leri boş liste olarak ayarlandı - ListId: {}", filmList.getListId());
             } else {
                 // FilmInfo'ları topluca çekmek, her biri için ayrı sorgu atmaktan daha verimlidir.
-                Map<String, FilmInfo> filmInfoMap = filmInfoRepository.findAllById(filmIds).stream()
+                Map<String, FilmInfo> filmInfoMap = filmCatalog.findAllById(filmIds).stream()
                         .collect(Collectors.toMap(FilmInfo::getId, fi -> fi));
                 
                 int foundFilms = filmInfoMap.size();
@@ -455,44 +714,6 @@ public class FilmListServiceImpl implements FilmListService {
         }
     }
 
-    private FilmListSummaryDTO mapToFilmListSummaryDTO(FilmList filmList) {
-        try {
-            int filmCount = filmList.getFilmListInfos().size();
-            UserSummaryDTO ownerDTO = mapToUserSummary(filmList.getUser());
-
-            // ------------------ Yeni Mantık ------------------
-            List<FilmSummaryDTO> filmPreviews = Collections.emptyList();
-            if (filmCount > 0) {
-                List<String> filmIdsForPreview = filmList.getFilmListInfos().stream()
-                        .map(info -> info.getId().getFilmId())
-                        .limit(3)
-                        .collect(Collectors.toList());
-
-                if (!filmIdsForPreview.isEmpty()) {
-                    filmPreviews = filmInfoRepository.findAllById(filmIdsForPreview).stream()
-                            .map(this::convertToFilmSummaryDTO)
-                            .collect(Collectors.toList());
-                }
-            }
-            // --------------------------------------------------
-    
-            return FilmListSummaryDTO.builder()
-                    .listId(filmList.getListId())
-                    .name(filmList.getName())
-                    .tag(filmList.getTag())
-                    .filmCount(filmCount)
-                    .visibility(filmList.getVisible())
-                    .owner(ownerDTO) // owner bilgisi eklendi
-                    .films(filmPreviews)
-                    .build();
-                    
-        } catch (Exception e) {
-            log.error("❌ FilmListSummaryDTO dönüşüm hatası - ListId: {}, Error: {}", 
-                    filmList.getListId(), e.getMessage(), e);
-            throw new RuntimeException("Liste özet dönüşümü sırasında hata oluştu", e);
-        }
-    }
-
     // Bu metotlar UserInteractionServiceImpl'de de vardı.
     // Ortak bir Mapper utility sınıfına taşımak iyi bir pratik olabilir.
     private UserDTO convertToUserDTO(User user) {
@@ -551,28 +772,12 @@ public class FilmListServiceImpl implements FilmListService {
         return getBaseUrl() + "/api/v1/films/image/" + filmId;
     }
     
-    private String generateAvatarUrl(String avatarId) {
-        if (avatarId == null) return null;
-        return getBaseUrl() + "/api/v1/avatars/" + avatarId + "/image";
-    }
-
     @Override
     @Transactional(readOnly = true)
     public List<FilmListSummaryDTO> getLatestPublicLists(int limit) {
     Pageable pageable = PageRequest.of(0, limit);
     List<FilmList> publicLists = filmListRepository.findByVisibleAndStatusOrderByCreatedDesc(VISIBILITY_PUBLIC, STATUS_ACTIVE, pageable);
 
-    return publicLists.stream()
-            .map(this::mapToFilmListSummaryDTO)
-            .collect(Collectors.toList());
-    }
-
-    private UserSummaryDTO mapToUserSummary(User user) {
-        if (user == null) return null;
-        return UserSummaryDTO.builder()
-                .id(user.getId())
-                .name(user.getName())
-                .avatarImageUrl(generateAvatarUrl(user.getAvatarId()))
-                .build();
+    return filmListSummaryAssembler.toSummaries(publicLists);
     }
 }
\ No newline at end of file
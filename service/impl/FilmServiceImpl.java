@@ -1,12 +1,24 @@
 package com.example.moodmovies.service.impl;
 
+import com.example.moodmovies.dto.CursorPageDTO;
+import com.example.moodmovies.dto.FacetCountDTO;
 import com.example.moodmovies.dto.FilmDetailDTO;
+import com.example.moodmovies.dto.FilmRatingDistributionDTO;
+import com.example.moodmovies.dto.FilmSearchResponseDTO;
 import com.example.moodmovies.dto.FilmSummaryDTO;
 import com.example.moodmovies.exception.FilmNotFoundException;
 import com.example.moodmovies.model.FilmInfo;
 import com.example.moodmovies.repository.FilmInfoRepository;
 import com.example.moodmovies.repository.FilmPointRepository;
 import com.example.moodmovies.service.FilmService;
+import com.example.moodmovies.service.catalog.FilmCatalog;
+import com.example.moodmovies.service.pagination.KeysetCursor;
+import com.example.moodmovies.service.search.FilmBrowseIndex;
+import com.example.moodmovies.service.search.FilmBrowseSort;
+import com.example.moodmovies.service.search.FilmSearchIndex;
+import com.example.moodmovies.service.search.FilmSuggestIndex;
+import com.example.moodmovies.service.stats.FavoriteLeaderboard;
+import com.example.moodmovies.service.stats.FilmStatsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +27,7 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -22,6 +35,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
@@ -33,8 +47,17 @@ import org.springframework.data.domain.Pageable;
 @RequiredArgsConstructor
 public class FilmServiceImpl implements FilmService {
 
+    private static final int SUGGESTION_LIMIT = 5;
+    private static final String FILM_CURSOR = "film";
+
     private final FilmInfoRepository filmInfoRepository;
+    private final FilmCatalog filmCatalog;
+    private final FilmSuggestIndex filmSuggestIndex;
+    private final FilmSearchIndex filmSearchIndex;
+    private final FilmBrowseIndex filmBrowseIndex;
     private final FilmPointRepository filmPointRepository;
+    private final FilmStatsService filmStatsService;
+    private final FavoriteLeaderboard favoriteLeaderboard;
 
     @Override
     @Transactional(readOnly = true) // Veritabanından sadece okuma
@@ -49,34 +72,83 @@ public class FilmServiceImpl implements FilmService {
 
     @Override
     @Transactional(readOnly = true)
-    public FilmDetailDTO getFilmDetailById(String filmId) {
-        FilmInfo filmInfo = filmInfoRepository.findById(filmId)
-                .orElseThrow(() -> new FilmNotFoundException("Film not found with id: " + filmId));
-        return convertToDetailDTO(filmInfo);
+    public CursorPageDTO<FilmSummaryDTO> getFilmSummariesByCursor(String cursor, int size) {
+        Pageable limit = PageRequest.of(0, size + 1); // Bir fazlası sonraki sayfanın varlığını gösterir
+        List<FilmInfo> films = (cursor == null || cursor.isBlank())
+                ? filmInfoRepository.findKeysetFirstPage(limit)
+                : filmInfoRepository.findKeysetPageAfter(KeysetCursor.decode(cursor, FILM_CURSOR, 1).key(0), limit);
+
+        boolean hasNext = films.size() > size;
+        List<FilmInfo> page = hasNext ? films.subList(0, size) : films;
+        String nextCursor = hasNext ? KeysetCursor.of(FILM_CURSOR, page.get(page.size() - 1).getId()).encode() : null;
+        return CursorPageDTO.<FilmSummaryDTO>builder()
+                .items(page.stream().map(this::convertToSummaryDTO).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public byte[] getFilmImage(String filmId) {
-        FilmInfo filmInfo = filmInfoRepository.findById(filmId)
-                .orElseThrow(() -> new FilmNotFoundException("Film image not found for id: " + filmId));
-        return filmInfo.getImageByte();
+    public FilmDetailDTO getFilmDetailById(String filmId) {
+        FilmInfo filmInfo = filmCatalog.findById(filmId)
+                .orElseThrow(() -> new FilmNotFoundException("Film not found with id: " + filmId));
+        return convertToDetailDTO(filmInfo);
     }
-    
+
     @Override
-    @Transactional(readOnly = true)
     public List<FilmSummaryDTO> getFilmSuggestions(String query) {
-        // Repository'deki yeni metodu çağır (en fazla 5 sonuç dönecek)
-        List<FilmInfo> filmInfoList = filmInfoRepository.findTop5ByNameContainingIgnoreCaseOrderById(query);
-
-        // Sonuçları DTO listesine map et
-        return filmInfoList.stream()
+        // İndeks henüz kurulmadıysa (açılışın ilk saniyeleri) eski LIKE sorgusuna düş
+        if (!filmSuggestIndex.isReady()) {
+            return filmInfoRepository.findTop5ByNameContainingIgnoreCaseOrderById(query).stream()
+                    .map(this::convertToSummaryDTO)
+                    .collect(Collectors.toList());
+        }
+        // Bellek içi indeksten en fazla 5 sonuç; transaction açılmaz, veritabanına gidilmez
+        List<String> filmIds = filmSuggestIndex.suggest(query, SUGGESTION_LIMIT);
+        return filmCatalog.findAllById(filmIds).stream()
                          .map(this::convertToSummaryDTO) // Mevcut DTO dönüştürme metodunu kullan
                          .collect(Collectors.toList());
     }
 
+    @Override
+    public FilmSearchResponseDTO searchFilms(String query, String genre, String country, Integer decade, int page, int size) {
+        FilmSearchIndex.SearchResult result = filmSearchIndex.search(query, genre, country, decade, page, size);
+        List<FilmSummaryDTO> films = filmCatalog.findAllById(result.filmIds()).stream()
+                .map(this::convertToSummaryDTO)
+                .collect(Collectors.toList());
+        return FilmSearchResponseDTO.builder()
+                .results(films)
+                .totalHits(result.totalHits())
+                .page(page)
+                .size(size)
+                .genres(toFacetCounts(result.genreFacets()))
+                .countries(toFacetCounts(result.countryFacets()))
+                .decades(toFacetCounts(result.decadeFacets()))
+                .build();
+    }
+
+    @Override
+    public Page<FilmSummaryDTO> browseFilms(List<String> genres, String country, String sort, boolean ascending, int page, int size) {
+        FilmBrowseIndex.BrowseResult result = filmBrowseIndex.browse(genres, country,
+                FilmBrowseSort.fromParameter(sort), ascending, page, size);
+        List<FilmSummaryDTO> films = filmCatalog.findAllById(result.filmIds()).stream()
+                .map(this::convertToSummaryDTO)
+                .collect(Collectors.toList());
+        return new PageImpl<>(films, PageRequest.of(page, size), result.total());
+    }
+
     // --- Helper Metotlar ---
 
+    private <K> List<FacetCountDTO> toFacetCounts(Map<K, Integer> facets) {
+        return facets.entrySet().stream()
+                .map(entry -> FacetCountDTO.builder()
+                        .value(String.valueOf(entry.getKey()))
+                        .count(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
     private FilmSummaryDTO convertToSummaryDTO(FilmInfo filmInfo) {
         return FilmSummaryDTO.builder()
                 .id(filmInfo.getId())
@@ -86,7 +158,7 @@ public class FilmServiceImpl implements FilmService {
     }
 
     private FilmDetailDTO convertToDetailDTO(FilmInfo filmInfo) {
-        BigDecimal averageRating = getAverageRatingForFilm(filmInfo.getId());
+        BigDecimal averageRating = averageRating(filmInfo.getId()); // Film zaten bulundu, varlık kontrolü gerekmez
         return FilmDetailDTO.builder()
                 .id(filmInfo.getId())
                 .title(filmInfo.getName())
@@ -104,9 +176,54 @@ public class FilmServiceImpl implements FilmService {
     @Transactional(readOnly = true)
     public BigDecimal getAverageRatingForFilm(String filmId) {
         // Film var mı diye kontrol (isteğe bağlı ama önerilir)
-        if (!filmInfoRepository.existsById(filmId)) {
+        if (!filmCatalog.existsById(filmId)) {
+            throw new FilmNotFoundException("Film bulunamadı: " + filmId);
+        }
+        return averageRating(filmId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FilmRatingDistributionDTO getRatingDistribution(String filmId) {
+        if (!filmCatalog.existsById(filmId)) {
             throw new FilmNotFoundException("Film bulunamadı: " + filmId);
         }
+        long[] histogram;
+        if (filmStatsService.isReady()) {
+            histogram = filmStatsService.get(filmId).histogram();
+        } else {
+            // İstatistikler henüz yüklenmediyse tek filmin puanları veritabanından sayılır
+            histogram = new long[FilmStatsService.MAX_RATING];
+            for (Integer rating : filmPointRepository.findRatingsByFilmId(filmId)) {
+                if (rating >= FilmStatsService.MIN_RATING && rating <= FilmStatsService.MAX_RATING) {
+                    histogram[rating - 1]++;
+                }
+            }
+        }
+        long sum = 0;
+        long count = 0;
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        for (int rating = FilmStatsService.MIN_RATING; rating <= FilmStatsService.MAX_RATING; rating++) {
+            long ratingCount = histogram[rating - 1];
+            distribution.put(rating, ratingCount);
+            sum += ratingCount * rating;
+            count += ratingCount;
+        }
+        return FilmRatingDistributionDTO.builder()
+                .filmId(filmId)
+                .averageRating(new FilmStatsService.FilmRatingStats(sum, count, histogram).average())
+                .totalRatings(count)
+                .distribution(distribution)
+                .build();
+    }
+
+    /**
+     * Ortalama puanı bellekteki film istatistiklerinden okur; istatistikler henüz yüklenmediyse sorguya düşer.
+     */
+    private BigDecimal averageRating(String filmId) {
+        if (filmStatsService.isReady()) {
+            return filmStatsService.get(filmId).average();
+        }
         Double avgRatingRaw = filmPointRepository.findAverageRatingByFilmId(filmId).orElse(0.0);
         return BigDecimal.valueOf(avgRatingRaw).setScale(1, RoundingMode.HALF_UP);
     }
@@ -143,19 +260,22 @@ public class FilmServiceImpl implements FilmService {
 
     @Override
 @Transactional(readOnly = true)
-public List<FilmSummaryDTO> getTopFavoritedFilms(int limit) {
-    Pageable pageable = PageRequest.of(0, limit);
-    List<Object[]> favoritedResults = filmPointRepository.findTopFavoritedFilmIds(pageable);
+public List<FilmSummaryDTO> getTopFavoritedFilms(int page, int limit) {
+    List<String> filmIds;
+    if (favoriteLeaderboard.isReady()) {
+        // Sıralama bellekte tutulur; GROUP BY sorgusu çalışmaz
+        filmIds = favoriteLeaderboard.top((int) Math.min((long) page * limit, Integer.MAX_VALUE), limit);
+    } else {
+        filmIds = filmPointRepository.findTopFavoritedFilmIds(PageRequest.of(page, limit)).stream()
+                .map(result -> (String) result[0])
+                .collect(Collectors.toList());
+    }
 
-    if (favoritedResults.isEmpty()) {
+    if (filmIds.isEmpty()) {
         return Collections.emptyList();
     }
 
-    List<String> filmIds = favoritedResults.stream()
-            .map(result -> (String) result[0])
-            .collect(Collectors.toList());
-
-    List<FilmInfo> filmInfos = filmInfoRepository.findAllById(filmIds);
+    List<FilmInfo> filmInfos = filmCatalog.findAllById(filmIds);
 
     // Orijinal favori sırasını korumak için bir Map kullanalım
     Map<String, FilmInfo> filmInfoMap = filmInfos.stream()
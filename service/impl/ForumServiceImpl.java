@@ -7,13 +7,16 @@ import com.example.moodmovies.exception.UserNotFoundException;
 import com.example.moodmovies.model.ForumComment;
 import com.example.moodmovies.model.ForumPost;
 import com.example.moodmovies.model.User;
+import com.example.moodmovies.repository.BulkDeleteRepository;
 import com.example.moodmovies.repository.ForumCommentRepository;
 import com.example.moodmovies.repository.ForumPostRepository;
 import com.example.moodmovies.repository.UserRepository;
 import com.example.moodmovies.service.ForumService;
 import com.example.moodmovies.service.mapper.UserMapper;
+import com.example.moodmovies.service.pagination.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,10 +30,13 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ForumServiceImpl implements ForumService {
 
+    private static final String POST_CURSOR = "forum-post";
+
     private final ForumPostRepository forumPostRepository;
     private final ForumCommentRepository forumCommentRepository;
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final BulkDeleteRepository bulkDeleteRepository;
 
     @Override
     @Transactional
@@ -54,19 +60,37 @@ public class ForumServiceImpl implements ForumService {
     public Page<ForumPostSummaryDTO> getAllPosts(Pageable pageable) {
         Page<ForumPost> postPage = forumPostRepository.findAll(pageable);
         List<String> postIds = postPage.getContent().stream().map(ForumPost::getId).collect(Collectors.toList());
+        Map<String, Long> commentCounts = loadCommentCounts(postIds);
+        return postPage.map(post -> mapToSummaryDTO(post, commentCounts.getOrDefault(post.getId(), 0L)));
+    }
 
-        // N+1 problemini çözmek için tüm yorum sayılarını tek bir sorguyla al
-        Map<String, Long> commentCounts = Collections.emptyMap();
-        if (!postIds.isEmpty()) {
-            commentCounts = forumPostRepository.countCommentsByPostIds(postIds).stream()
-                    .collect(Collectors.toMap(
-                            row -> (String) row[0],
-                            row -> (Long) row[1]
-                    ));
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ForumPostSummaryDTO> getPostsByCursor(String cursor, int size) {
+        Pageable limit = PageRequest.of(0, size + 1); // Bir fazlası sonraki sayfanın varlığını gösterir
+        List<ForumPost> posts;
+        if (cursor == null || cursor.isBlank()) {
+            posts = forumPostRepository.findKeysetFirstPage(limit);
+        } else {
+            KeysetCursor keyset = KeysetCursor.decode(cursor, POST_CURSOR, 2);
+            posts = forumPostRepository.findKeysetPageAfter(keyset.timeKey(0), keyset.key(1), limit);
         }
 
-        final Map<String, Long> finalCommentCounts = commentCounts;
-        return postPage.map(post -> mapToSummaryDTO(post, finalCommentCounts.getOrDefault(post.getId(), 0L)));
+        boolean hasNext = posts.size() > size;
+        List<ForumPost> page = hasNext ? posts.subList(0, size) : posts;
+        Map<String, Long> commentCounts = loadCommentCounts(page.stream().map(ForumPost::getId).collect(Collectors.toList()));
+        String nextCursor = null;
+        if (hasNext) {
+            ForumPost last = page.get(page.size() - 1);
+            nextCursor = KeysetCursor.of(POST_CURSOR, last.getCreated().toString(), last.getId()).encode();
+        }
+        return CursorPageDTO.<ForumPostSummaryDTO>builder()
+                .items(page.stream()
+                        .map(post -> mapToSummaryDTO(post, commentCounts.getOrDefault(post.getId(), 0L)))
+                        .collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
     }
 
     @Override
@@ -103,7 +127,9 @@ public class ForumServiceImpl implements ForumService {
         if (!post.getUser().getId().equals(userId)) {
             throw new UnauthorizedOperationException("Bu başlığı silme yetkiniz yok.");
         }
-        forumPostRepository.delete(post);
+        // Yorumlar entity olarak yüklenmeden parçalı DELETE ile silinir, ardından başlık silinir
+        bulkDeleteRepository.deleteInChunks("MOODMOVIES_COMMENT", "CONTEXT_ID = ?", postId);
+        forumPostRepository.deleteByPostId(postId);
     }
 
     @Override
@@ -117,6 +143,18 @@ public class ForumServiceImpl implements ForumService {
         forumCommentRepository.delete(comment);
     }
     
+    // N+1 problemini çözmek için tüm yorum sayılarını tek bir sorguyla al
+    private Map<String, Long> loadCommentCounts(List<String> postIds) {
+        if (postIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return forumPostRepository.countCommentsByPostIds(postIds).stream()
+                .collect(Collectors.toMap(
+                        row -> (String) row[0],
+                        row -> (Long) row[1]
+                ));
+    }
+
     // --- MAPPING HELPERS ---
 
     private ForumPostSummaryDTO mapToSummaryDTO(ForumPost post, long commentCount) {
@@ -2,9 +2,9 @@ package com.example.moodmovies.service.impl;
 
 import com.example.moodmovies.dto.FilmSummaryDTO;
 import com.example.moodmovies.model.FilmInfo;
-import com.example.moodmovies.repository.FilmInfoRepository;
 import com.example.moodmovies.repository.SuggestionRepository;
 import com.example.moodmovies.service.MovieRecommendationService;
+import com.example.moodmovies.service.catalog.FilmCatalog;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,7 +21,7 @@ import java.util.List;
 public class MovieRecommendationServiceImpl implements MovieRecommendationService {
 
     private final SuggestionRepository suggestionRepository;
-    private final FilmInfoRepository filmInfoRepository;
+    private final FilmCatalog filmCatalog;
 
     /**
      * {@inheritDoc}
@@ -39,7 +39,7 @@ public class MovieRecommendationServiceImpl implements MovieRecommendationServic
         }
 
         // 2. Film ID'leri ile film detaylarını (FilmInfo) çek
-        List<FilmInfo> recommendedFilmsInfo = filmInfoRepository.findAllById(recommendedFilmIds);
+        List<FilmInfo> recommendedFilmsInfo = filmCatalog.findAllById(recommendedFilmIds);
 
         if (recommendedFilmsInfo.isEmpty()) {
             log.warn("Found recommendation IDs for user {} but no matching films in FilmInfo.", userId);
@@ -1,19 +1,27 @@
 package com.example.moodmovies.service.impl;
 
+import com.example.moodmovies.config.PooledIdGenerator;
+import com.example.moodmovies.config.ResponseIdGenerator;
 import com.example.moodmovies.dto.AnswerSubmissionDto;
 import com.example.moodmovies.exception.UserNotFoundException;
-import com.example.moodmovies.model.MoodmoviesResponse;
-import com.example.moodmovies.model.User;
 import com.example.moodmovies.repository.ResponseRepository;
 import com.example.moodmovies.repository.UserRepository;
 import com.example.moodmovies.service.TestSubmissionService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of TestSubmissionService for handling personality test submissions.
@@ -25,44 +33,65 @@ public class TestSubmissionServiceImpl implements TestSubmissionService {
 
     private final ResponseRepository responseRepository;
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
 
     /**
      * {@inheritDoc}
+     * <p>
+     * The submission is diffed against the stored answers: unchanged answers are left alone, changed answers are
+     * updated, new questions are inserted with pre-allocated IDs and questions missing from the submission are
+     * deleted. Each group goes to the database as one JDBC batch, so a full resubmission costs a handful of round
+     * trips regardless of the number of questions. If a question appears more than once, the last answer wins.
      */
     @Override
     @Transactional
     public void saveUserResponses(String userId, List<AnswerSubmissionDto> submittedAnswers) throws UserNotFoundException {
-        // Find the user by ID
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
-
-        log.info("Processing test responses for user: {}", userId);
-        
-        // 1. YENİ ADIM: Kullanıcının mevcut eski cevaplarını sil
-        long deletedResponsesCount = responseRepository.deleteByUser_Id(userId);
-        if (deletedResponsesCount > 0) {
-            log.info("Deleted {} old test responses for user: {}", deletedResponsesCount, userId);
-        } else {
-            log.info("No old test responses found to delete for user: {}", userId);
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("User not found with ID: " + userId);
         }
-        
-        // 2. Yeni cevapları oluştur ve kaydet
-        log.info("Saving {} new test responses for user: {}", submittedAnswers.size(), userId);
-        List<MoodmoviesResponse> newResponses = new ArrayList<>();
+        long startTime = System.currentTimeMillis();
+
+        Map<String, String> submitted = new LinkedHashMap<>(); // questionId -> answerId
         for (AnswerSubmissionDto answerDto : submittedAnswers) {
-            MoodmoviesResponse response = MoodmoviesResponse.builder()
-                    // responseId Hibernate tarafından atanacak
-                    .user(user)
-                    .questionId(answerDto.questionId())
-                    .answerId(answerDto.answerId())
-                    // responseDate @CreationTimestamp ile atanacak
-                    .build();
-            
-            newResponses.add(response);
+            submitted.put(answerDto.questionId(), answerDto.answerId());
+        }
+
+        // 1. Diff the submission against the stored answers
+        Map<String, String> changedAnswers = new LinkedHashMap<>(); // responseId -> new answerId
+        List<String> removedResponses = new ArrayList<>();
+        Set<String> storedQuestions = new HashSet<>();
+        for (Object[] row : responseRepository.findAnswerRowsByUserId(userId)) {
+            String responseId = (String) row[0];
+            String questionId = (String) row[1];
+            String answerId = (String) row[2];
+            String newAnswerId = submitted.get(questionId);
+            if (newAnswerId == null || !storedQuestions.add(questionId)) {
+                removedResponses.add(responseId); // Question no longer answered, or a duplicate stored row
+            } else if (!newAnswerId.equals(answerId)) {
+                changedAnswers.put(responseId, newAnswerId);
+            }
         }
-        
-        // Save all responses to the database
-        responseRepository.saveAll(newResponses);
-        log.info("Successfully saved {} new test responses for user: {}", newResponses.size(), userId);
+
+        List<String> newQuestions = submitted.keySet().stream()
+                .filter(questionId -> !storedQuestions.contains(questionId))
+                .collect(Collectors.toList());
+        Map<String, String[]> newRows = new LinkedHashMap<>(); // responseId -> [questionId, answerId]
+        if (!newQuestions.isEmpty()) {
+            List<String> responseIds = PooledIdGenerator.allocate(ResponseIdGenerator.PREFIX, newQuestions.size(),
+                    entityManager.unwrap(SessionImplementor.class));
+            for (int i = 0; i < newQuestions.size(); i++) {
+                newRows.put(responseIds.get(i), new String[]{newQuestions.get(i), submitted.get(newQuestions.get(i))});
+            }
+        }
+
+        // 2. Apply the diff in batches
+        LocalDateTime now = LocalDateTime.now();
+        responseRepository.deleteResponses(removedResponses);
+        responseRepository.updateAnswers(changedAnswers, now);
+        responseRepository.insertResponses(userId, newRows, now);
+
+        log.info("Saved test responses for user: {} - Inserted: {}, Updated: {}, Deleted: {}, Unchanged: {}, Duration: {}ms",
+                userId, newRows.size(), changedAnswers.size(), removedResponses.size(),
+                submitted.size() - newRows.size() - changedAnswers.size(), System.currentTimeMillis() - startTime);
     }
 }
@@ -1,23 +1,33 @@
 package com.example.moodmovies.service.impl;
 
+import com.example.moodmovies.dto.CursorPageDTO;
 import com.example.moodmovies.dto.FilmReviewDTO;
 import com.example.moodmovies.dto.FilmSummaryDTO;
 import com.example.moodmovies.dto.RatedFilmDTO;
 import com.example.moodmovies.dto.UserFilmInteractionDTO;
 import com.example.moodmovies.dto.UserSummaryDTO;
 import com.example.moodmovies.exception.FilmNotFoundException;
+import com.example.moodmovies.exception.InvalidCursorException;
 import com.example.moodmovies.exception.UserNotFoundException;
 import com.example.moodmovies.model.FilmInfo;
 import com.example.moodmovies.model.FilmPoint;
 import com.example.moodmovies.model.User;
-import com.example.moodmovies.repository.FilmInfoRepository;
 import com.example.moodmovies.repository.FilmPointRepository;
+import com.example.moodmovies.repository.FilmPointUpsertOperations.InteractionRow;
 import com.example.moodmovies.repository.UserRepository;
-import com.example.moodmovies.service.FilmService;
 import com.example.moodmovies.service.UserInteractionService;
+import com.example.moodmovies.service.catalog.FilmCatalog;
+import com.example.moodmovies.service.interaction.BufferedInteraction;
+import com.example.moodmovies.service.interaction.InteractionWriteBuffer;
+import com.example.moodmovies.service.interaction.UserFilmBadgeCache;
 import com.example.moodmovies.service.mapper.UserMapper;
+import com.example.moodmovies.service.pagination.KeysetCursor;
+import com.example.moodmovies.service.stats.FavoriteLeaderboard;
+import com.example.moodmovies.service.stats.FilmStatsService;
+import com.example.moodmovies.service.stats.UserStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -26,10 +36,18 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,32 +58,36 @@ public class UserInteractionServiceImpl implements UserInteractionService {
 
     private final UserRepository userRepository;
     private final FilmPointRepository filmPointRepository;
-    private final FilmInfoRepository filmInfoRepository;
-    private final FilmService filmService; // Ortalama puanı almak için
+    private final FilmCatalog filmCatalog;
+    private final FilmStatsService filmStatsService; // Ortalama ve toplam puan sayısı için
+    private final FavoriteLeaderboard favoriteLeaderboard;
+    private final UserStatsService userStatsService;
     private final UserMapper userMapper;
+    private final InteractionWriteBuffer interactionWriteBuffer;
+    private final UserFilmBadgeCache userFilmBadgeCache;
 
     private static final int MIN_RATING = 1;
     private static final int MAX_RATING = 10;
+    private static final String REVIEW_CURSOR = "film-review";
+    private static final int MAX_COMMENT_LENGTH = 255; // MOODMOVIES_FILMS_POINT.COMMENT
+    private static final int SQL_SERVER_CONSTRAINT_VIOLATION = 547;
 
     @Override
     public UserFilmInteractionDTO rateFilm(String userId, String filmId, int rating, String comment) {
         if (rating < MIN_RATING || rating > MAX_RATING) {
             throw new IllegalArgumentException("Puan " + MIN_RATING + " ile " + MAX_RATING + " arasında olmalıdır.");
         }
-
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("Kullanıcı bulunamadı: " + userId));
-
-        if (!filmInfoRepository.existsById(filmId)) {
-            throw new FilmNotFoundException("Film bulunamadı: " + filmId);
+        requireCommentLength(comment);
+        requireFilm(filmId);
+        Optional<UserFilmInteractionDTO> buffered = applyBuffered(userId, filmId, current -> current.withRating(rating, comment));
+        if (buffered.isPresent()) {
+            return buffered.get();
         }
 
-        FilmPoint filmPoint = filmPointRepository.findByUserAndFilmId(user, filmId)
-                .orElseGet(() -> FilmPoint.builder().user(user).filmId(filmId).build());
-
-        filmPoint.setFilmPoint(rating);
-        filmPoint.setComment(comment);
-        filmPointRepository.save(filmPoint);
+        InteractionRow row = upsert(userId, () -> filmPointRepository.upsertRating(userId, filmId, rating, comment));
+        filmStatsService.recordRatingChange(filmId, row.previousRating(), rating);
+        userFilmBadgeCache.recordRating(userId, filmId, true);
+        userStatsService.adjust(userId, row.previousRating() == null ? 1 : 0, 0, 0, row.inserted() ? 1 : 0);
         
         if (comment != null && !comment.trim().isEmpty()) {
             log.info("Kullanıcı {} filme {} puan verdi: {} ve yorum: '{}'", userId, filmId, rating, comment.substring(0, Math.min(comment.length(), 50)) + "...");
@@ -73,77 +95,236 @@ public class UserInteractionServiceImpl implements UserInteractionService {
             log.info("Kullanıcı {} filme {} puan verdi: {}", userId, filmId, rating);
         }
 
-        return getUserFilmInteractionStatus(userId, filmId);
+        return toInteractionDTO(filmId, row);
     }
 
     @Override
-    public UserFilmInteractionDTO toggleFavorite(String userId, String filmId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("Kullanıcı bulunamadı: " + userId));
+    public UserFilmInteractionDTO removeRating(String userId, String filmId) {
+        requireFilm(filmId);
+        Optional<UserFilmInteractionDTO> buffered = applyBuffered(userId, filmId, BufferedInteraction::withoutRating);
+        if (buffered.isPresent()) {
+            return buffered.get();
+        }
 
-        if (!filmInfoRepository.existsById(filmId)) {
-            throw new FilmNotFoundException("Film bulunamadı: " + filmId);
+        Optional<InteractionRow> cleared = filmPointRepository.clearRating(userId, filmId); // Favori ve yorum korunur
+        if (cleared.isPresent()) {
+            filmStatsService.recordRatingChange(filmId, cleared.get().previousRating(), null);
+            userFilmBadgeCache.recordRating(userId, filmId, false);
+            userStatsService.adjust(userId, -1, 0, 0, 0);
+            log.info("Kullanıcı {} filmden {} puanını kaldırdı", userId, filmId);
+            return toInteractionDTO(filmId, cleared.get());
         }
+        return toInteractionDTO(filmId, filmPointRepository.findInteraction(userId, filmId).orElse(null));
+    }
 
-        FilmPoint filmPoint = filmPointRepository.findByUserAndFilmId(user, filmId)
-                .orElseGet(() -> FilmPoint.builder().user(user).filmId(filmId).build());
+    @Override
+    public UserFilmInteractionDTO toggleFavorite(String userId, String filmId) {
+        requireFilm(filmId);
+        Optional<UserFilmInteractionDTO> buffered = applyBuffered(userId, filmId, BufferedInteraction::withFavoriteToggled);
+        if (buffered.isPresent()) {
+            return buffered.get();
+        }
 
-        filmPoint.setFilmFav(filmPoint.getFilmFav() == null || filmPoint.getFilmFav() == 0 ? 1 : 0);
-        filmPointRepository.save(filmPoint);
-        log.info("Kullanıcı {} film {} favori durumu: {}", userId, filmId, (filmPoint.getFilmFav() != null && filmPoint.getFilmFav() == 1));
+        InteractionRow row = upsert(userId, () -> filmPointRepository.toggleFavorite(userId, filmId));
+        favoriteLeaderboard.recordFavoriteChange(filmId, row.favorite());
+        userFilmBadgeCache.recordFavorite(userId, filmId, row.favorite());
+        userStatsService.adjust(userId, 0, row.favorite() ? 1 : -1, 0, row.inserted() ? 1 : 0);
+        log.info("Kullanıcı {} film {} favori durumu: {}", userId, filmId, row.favorite());
 
-        return getUserFilmInteractionStatus(userId, filmId);
+        return toInteractionDTO(filmId, row);
     }
 
     @Override
     public UserFilmInteractionDTO addComment(String userId, String filmId, String comment) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("Kullanıcı bulunamadı: " + userId));
-
-        if (!filmInfoRepository.existsById(filmId)) {
-            throw new FilmNotFoundException("Film bulunamadı: " + filmId);
+        requireCommentLength(comment);
+        requireFilm(filmId);
+        Optional<UserFilmInteractionDTO> buffered = applyBuffered(userId, filmId, current -> current.withComment(comment));
+        if (buffered.isPresent()) {
+            return buffered.get();
         }
 
-        FilmPoint filmPoint = filmPointRepository.findByUserAndFilmId(user, filmId)
-                .orElseGet(() -> FilmPoint.builder().user(user).filmId(filmId).build());
-
-        filmPoint.setComment(comment);
-        filmPointRepository.save(filmPoint);
+        InteractionRow row = upsert(userId, () -> filmPointRepository.upsertComment(userId, filmId, comment));
+        if (row.inserted()) {
+            userStatsService.adjust(userId, 0, 0, 0, 1);
+        }
         log.info("Kullanıcı {} filme {} yorum ekledi: '{}'", userId, filmId, 
                 comment != null ? comment.substring(0, Math.min(comment.length(), 50)) + "..." : "null");
 
-        return getUserFilmInteractionStatus(userId, filmId);
+        return toInteractionDTO(filmId, row);
+    }
+
+    /**
+     * Write-behind modu açıksa değişikliği tampona alır. Tampon kapalı veya doluysa boş döner ve
+     * çağıran senkron upsert yoluna devam eder.
+     */
+    private Optional<UserFilmInteractionDTO> applyBuffered(String userId, String filmId,
+                                                           UnaryOperator<BufferedInteraction> mutation) {
+        if (!interactionWriteBuffer.isEnabled()) {
+            return Optional.empty();
+        }
+        return interactionWriteBuffer.apply(userId, filmId, mutation)
+                .map(state -> {
+                    userFilmBadgeCache.recordRating(userId, filmId, state.rating() != null);
+                    userFilmBadgeCache.recordFavorite(userId, filmId, state.favorite());
+                    return toInteractionDTO(filmId, state.rating(), state.comment(), state.favorite());
+                });
+    }
+
+    /**
+     * Upsert'ü çalıştırır. Satır tek ifadede eklendiği için kullanıcının varlığı önceden sorgulanmaz;
+     * kullanıcı yoksa yabancı anahtar ihlali UserNotFoundException'a çevrilir. Diğer bütünlük hataları
+     * (uzun metin, başka kısıtlar) olduğu gibi fırlatılır.
+     */
+    private InteractionRow upsert(String userId, Supplier<InteractionRow> statement) {
+        try {
+            return statement.get();
+        } catch (DataIntegrityViolationException e) {
+            if (!isForeignKeyViolation(e)) {
+                throw e;
+            }
+            log.warn("⚠ Etkileşim kaydedilemedi, kullanıcı bulunamadı - UserId: {}, Error: {}", userId, e.getMessage());
+            throw new UserNotFoundException("Kullanıcı bulunamadı: " + userId);
+        }
+    }
+
+    // SQL Server 547 hem yabancı anahtar hem CHECK ihlalinde döner; mesajdaki kısıt türüne bakılır
+    private static boolean isForeignKeyViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql) {
+                return sql.getErrorCode() == SQL_SERVER_CONSTRAINT_VIOLATION
+                        && sql.getMessage() != null && sql.getMessage().contains("FOREIGN KEY");
+            }
+        }
+        return false;
+    }
+
+    private static void requireCommentLength(String comment) {
+        if (comment != null && comment.length() > MAX_COMMENT_LENGTH) {
+            throw new IllegalArgumentException("Yorum en fazla " + MAX_COMMENT_LENGTH + " karakter olabilir.");
+        }
+    }
+
+    private void requireFilm(String filmId) {
+        if (!filmCatalog.existsById(filmId)) {
+            throw new FilmNotFoundException("Film bulunamadı: " + filmId);
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
     public UserFilmInteractionDTO getUserFilmInteractionStatus(String userId, String filmId) {
+        if (interactionWriteBuffer.isEnabled()) {
+            // Henüz yazılmamış değişiklikler tampondan okunur (read-your-writes)
+            Optional<BufferedInteraction> buffered = interactionWriteBuffer.find(userId, filmId);
+            if (buffered.isPresent()) {
+                requireFilm(filmId);
+                BufferedInteraction state = buffered.get();
+                return toInteractionDTO(filmId, state.rating(), state.comment(), state.favorite());
+            }
+        }
+
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("Kullanıcı bulunamadı: " + userId));
 
-        // Film var mı kontrolü. Eğer film yoksa, filmService.getAverageRatingForFilm zaten hata fırlatacaktır.
-        // Bu yüzden filmInfoRepository.existsById(filmId) kontrolü burada loglama veya özel bir DTO yanıtı için yapılabilir.
-        // Eğer film bulunamazsa, FilmNotFoundException fırlatılması daha tutarlı olabilir.
-        if (!filmInfoRepository.existsById(filmId)) {
+        if (!filmCatalog.existsById(filmId)) {
              log.warn("Etkileşim durumu sorgulanan film ({}) bulunamadı.", filmId);
              throw new FilmNotFoundException("Film bulunamadı: " + filmId); // Film yoksa hata fırlatmak daha doğru.
         }
 
         FilmPoint filmPoint = filmPointRepository.findByUserAndFilmId(user, filmId).orElse(null);
-        BigDecimal averageRating = filmService.getAverageRatingForFilm(filmId); // Bu metot film yoksa hata fırlatır.
-        Long totalRatings = filmPointRepository.countRatingsByFilmId(filmId); // Toplam puan sayısını al
+        return toInteractionDTO(filmId,
+                filmPoint != null ? filmPoint.getFilmPoint() : null,
+                filmPoint != null ? filmPoint.getComment() : null,
+                filmPoint != null && filmPoint.getFilmFav() != null && filmPoint.getFilmFav() == 1);
+    }
+
+    private UserFilmInteractionDTO toInteractionDTO(String filmId, InteractionRow row) {
+        return toInteractionDTO(filmId,
+                row != null ? row.rating() : null,
+                row != null ? row.comment() : null,
+                row != null && row.favorite());
+    }
 
+    // Kullanıcının etkileşimini filmin toplam istatistikleriyle birleştirir
+    private UserFilmInteractionDTO toInteractionDTO(String filmId, Integer userRating, String userComment, boolean favorite) {
+        BigDecimal averageRating;
+        Long totalRatings;
+        if (filmStatsService.isReady()) {
+            // Ortalama ve sayı bellekteki film istatistiklerinden okunur, aggregate sorgusu çalışmaz
+            FilmStatsService.FilmRatingStats stats = filmStatsService.get(filmId);
+            averageRating = stats.average();
+            totalRatings = stats.count();
+        } else {
+            averageRating = BigDecimal.valueOf(filmPointRepository.findAverageRatingByFilmId(filmId).orElse(0.0))
+                    .setScale(1, RoundingMode.HALF_UP);
+            totalRatings = filmPointRepository.countRatingsByFilmId(filmId); // Toplam puan sayısını al
+        }
+        return toInteractionDTO(filmId, userRating, userComment, favorite, averageRating, totalRatings);
+    }
+
+    private UserFilmInteractionDTO toInteractionDTO(String filmId, Integer userRating, String userComment, boolean favorite,
+                                                    BigDecimal averageRating, Long totalRatings) {
         return UserFilmInteractionDTO.builder()
                 .filmId(filmId)
-                .userRating(filmPoint != null ? filmPoint.getFilmPoint() : null)
-                .userComment(filmPoint != null ? filmPoint.getComment() : null)
-                .isFavorite(filmPoint != null && filmPoint.getFilmFav() != null && filmPoint.getFilmFav() == 1)
+                .userRating(userRating)
+                .userComment(userComment)
+                .isFavorite(favorite)
                 .averageRating(averageRating)
                 .totalRatings(totalRatings) // Toplam puan sayısını ekle
                 // .isInWatchlist(false) // Bu alan "izleme listesi" özelliğiyle gelecek
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserFilmInteractionDTO> getUserFilmInteractionStatuses(String userId, List<String> filmIds) {
+        // Snapshot'ta olmayan ID'ler tek sorguyla kontrol edilir
+        Set<String> existingFilmIds = filmCatalog.findExistingIds(filmIds);
+        List<String> knownFilmIds = filmIds.stream()
+                .distinct()
+                .filter(existingFilmIds::contains)
+                .collect(Collectors.toList());
+        if (knownFilmIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Kullanıcının etkileşimleri tek sorguda; henüz yazılmamış değişiklikler tampondan üzerine yazılır
+        Map<String, BufferedInteraction> interactions = new HashMap<>();
+        for (Object[] row : filmPointRepository.findInteractionsByUserIdAndFilmIds(userId, knownFilmIds)) {
+            interactions.put((String) row[0],
+                    new BufferedInteraction((Integer) row[1], Integer.valueOf(1).equals(row[2]), (String) row[3]));
+        }
+        if (interactionWriteBuffer.isEnabled()) {
+            for (String filmId : knownFilmIds) {
+                interactionWriteBuffer.find(userId, filmId).ifPresent(state -> interactions.put(filmId, state));
+            }
+        }
+
+        // İstatistikler yüklenmemişse ortalamalar film başına değil tek bir gruplu sorguyla alınır
+        Map<String, Object[]> ratingSummaries = filmStatsService.isReady() ? Collections.emptyMap()
+                : filmPointRepository.findRatingSummariesByFilmIds(knownFilmIds).stream()
+                        .collect(Collectors.toMap(row -> (String) row[0], row -> row));
+
+        List<UserFilmInteractionDTO> statuses = new ArrayList<>(knownFilmIds.size());
+        for (String filmId : knownFilmIds) {
+            BufferedInteraction state = interactions.getOrDefault(filmId, BufferedInteraction.EMPTY);
+            BigDecimal averageRating;
+            Long totalRatings;
+            if (filmStatsService.isReady()) {
+                FilmStatsService.FilmRatingStats stats = filmStatsService.get(filmId);
+                averageRating = stats.average();
+                totalRatings = stats.count();
+            } else {
+                Object[] summary = ratingSummaries.get(filmId);
+                averageRating = BigDecimal.valueOf(summary != null ? ((Number) summary[1]).doubleValue() : 0.0)
+                        .setScale(1, RoundingMode.HALF_UP);
+                totalRatings = summary != null ? ((Number) summary[2]).longValue() : 0L;
+            }
+            statuses.add(toInteractionDTO(filmId, state.rating(), state.comment(), state.favorite(), averageRating, totalRatings));
+        }
+        return statuses;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<FilmSummaryDTO> getUserFavoriteFilms(String userId) {
@@ -161,7 +342,7 @@ public class UserInteractionServiceImpl implements UserInteractionService {
                 .distinct()
                 .collect(Collectors.toList());
 
-        List<FilmInfo> filmInfos = filmInfoRepository.findAllById(filmIds);
+        List<FilmInfo> filmInfos = filmCatalog.findAllById(filmIds);
 
         return filmInfos.stream()
                 .map(filmInfo -> FilmSummaryDTO.builder()
@@ -195,7 +376,7 @@ public class UserInteractionServiceImpl implements UserInteractionService {
                 .distinct()
                 .collect(Collectors.toList());
 
-        Map<String, FilmInfo> filmInfoMap = filmInfoRepository.findAllById(filmIds).stream()
+        Map<String, FilmInfo> filmInfoMap = filmCatalog.findAllById(filmIds).stream()
                 .collect(Collectors.toMap(FilmInfo::getId, fi -> fi));
 
         return ratedFilmPoints.stream()
@@ -225,7 +406,7 @@ public class UserInteractionServiceImpl implements UserInteractionService {
     @Override
     @Transactional(readOnly = true)
     public List<FilmReviewDTO> getFilmReviews(String filmId) {
-        if (!filmInfoRepository.existsById(filmId)) {
+        if (!filmCatalog.existsById(filmId)) {
             throw new FilmNotFoundException("Film bulunamadı: " + filmId);
         }
 
@@ -234,18 +415,55 @@ public class UserInteractionServiceImpl implements UserInteractionService {
 
         return filmPoints.stream()
                 .filter(fp -> fp.getComment() != null || fp.getFilmPoint() != null)
-                .map(fp -> FilmReviewDTO.builder()
-                        .id(fp.getPointId())
-                        .user(userMapper.toUserSummaryDTO(fp.getUser()))
-                        .rating(fp.getFilmPoint())
-                        .text(fp.getComment())
-                        .created(fp.getCreated())
-                        .likes(0) // İleride beğeni sistemi için
-                        .build())
+                .map(this::convertToReviewDTO)
                 .sorted((r1, r2) -> r2.getCreated().compareTo(r1.getCreated())) // En yeni önce
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<FilmReviewDTO> getFilmReviewsByCursor(String filmId, String cursor, int size) {
+        if (!filmCatalog.existsById(filmId)) {
+            throw new FilmNotFoundException("Film bulunamadı: " + filmId);
+        }
+        Pageable limit = PageRequest.of(0, size + 1); // Bir fazlası sonraki sayfanın varlığını gösterir
+        List<FilmPoint> filmPoints;
+        if (cursor == null || cursor.isBlank()) {
+            filmPoints = filmPointRepository.findReviewsKeysetFirstPage(filmId, limit);
+        } else {
+            // Cursor film ID'sini de taşır; başka bir filmin cursor'ı bu filmde kullanılamaz
+            KeysetCursor keyset = KeysetCursor.decode(cursor, REVIEW_CURSOR, 3);
+            if (!filmId.equals(keyset.key(0))) {
+                throw new InvalidCursorException("Cursor bu filme ait değil");
+            }
+            filmPoints = filmPointRepository.findReviewsKeysetPageAfter(filmId, keyset.timeKey(1), keyset.key(2), limit);
+        }
+
+        boolean hasNext = filmPoints.size() > size;
+        List<FilmPoint> page = hasNext ? filmPoints.subList(0, size) : filmPoints;
+        String nextCursor = null;
+        if (hasNext) {
+            FilmPoint last = page.get(page.size() - 1);
+            nextCursor = KeysetCursor.of(REVIEW_CURSOR, filmId, last.getCreated().toString(), last.getPointId()).encode();
+        }
+        return CursorPageDTO.<FilmReviewDTO>builder()
+                .items(page.stream().map(this::convertToReviewDTO).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    private FilmReviewDTO convertToReviewDTO(FilmPoint fp) {
+        return FilmReviewDTO.builder()
+                .id(fp.getPointId())
+                .user(userMapper.toUserSummaryDTO(fp.getUser()))
+                .rating(fp.getFilmPoint())
+                .text(fp.getComment())
+                .created(fp.getCreated())
+                .likes(0) // İleride beğeni sistemi için
+                .build();
+    }
+
     private String generateImageUrl(String filmId) {
         try {
             String baseUrl = ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString();
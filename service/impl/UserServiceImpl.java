@@ -5,24 +5,26 @@ import com.example.moodmovies.exception.UserNotFoundException;
 import com.example.moodmovies.model.Authentication;
 import com.example.moodmovies.model.AuthProvider;
 import com.example.moodmovies.model.User;
+import com.example.moodmovies.model.UserStats;
 import com.example.moodmovies.repository.AuthenticationRepository;
 import com.example.moodmovies.repository.FilmListRepository;
-import com.example.moodmovies.repository.FilmPointRepository;
 import com.example.moodmovies.repository.UserRepository;
+import com.example.moodmovies.security.UserPrincipalCache;
 import com.example.moodmovies.service.AvatarService;
 import com.example.moodmovies.service.OAuth2UserInfo;
 import com.example.moodmovies.service.UserInteractionService;
 import com.example.moodmovies.service.UserService;
+import com.example.moodmovies.service.mapper.FilmListSummaryAssembler;
 import com.example.moodmovies.service.mapper.UserMapper;
+import com.example.moodmovies.service.stats.UserStatsService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -32,11 +34,13 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final AuthenticationRepository authenticationRepository;
-    private final FilmPointRepository filmPointRepository;
     private final FilmListRepository filmListRepository;
     private final AvatarService avatarService;
     private final UserMapper userMapper;
+    private final FilmListSummaryAssembler filmListSummaryAssembler;
     private final UserInteractionService userInteractionService; // Profil verilerini toplamak için eklendi
+    private final UserStatsService userStatsService;
+    private final UserPrincipalCache userPrincipalCache;
 
     @Override
     @Transactional(readOnly = true)
@@ -56,17 +60,11 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
 
-        List<String> userIds = Collections.singletonList(id);
-        Long ratingCnt = filmPointRepository.countRatingsByUserIds(userIds).stream()
-                .findFirst().map(row -> ((Number) row[1]).longValue()).orElse(0L);
-        Long favoriteCnt = filmPointRepository.countFavoritesByUserIds(userIds).stream()
-                .findFirst().map(row -> ((Number) row[1]).longValue()).orElse(0L);
-        Long listCnt = filmListRepository.countListsByUserIds(userIds).stream()
-                .findFirst().map(row -> ((Number) row[1]).longValue()).orElse(0L);
-
-        user.setRatingCount(ratingCnt);
-        user.setFavoriteCount(favoriteCnt);
-        user.setListCount(listCnt);
+        // Sayaçlar USER_STATS'tan birincil anahtarla okunur; FILMS_POINT üzerinde aggregate çalışmaz
+        UserStats stats = userStatsService.get(id);
+        user.setRatingCount(stats.getRatingCount());
+        user.setFavoriteCount(stats.getFavoriteCount());
+        user.setListCount(stats.getListCount());
 
         return userMapper.toUserDTO(user);
     }
@@ -133,30 +131,9 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("Kullanıcı bulunamadı: " + userId));
 
-        List<FilmListSummaryDTO> lists = filmListRepository.findAllByUserAndStatus(user, 1) // 1 = Aktif
-                .stream()
-                .map(filmList -> {
-                    // Listedeki ilk filmin posterini kapak resmi olarak kullan
-                    List<FilmSummaryDTO> filmPreviews = filmList.getFilmListInfos().stream()
-                            .limit(4) // Kolaj için ilk 4 resmi al
-                            .map(info -> FilmSummaryDTO.builder()
-                                    .id(info.getId().getFilmId())
-                                    .title("") // Gerekli değil
-                                    .imageUrl("http://10.0.2.2:8080/api/v1/films/image/" + info.getId().getFilmId())
-                                    .build())
-                            .collect(Collectors.toList());
-
-                    return FilmListSummaryDTO.builder()
-                            .listId(filmList.getListId())
-                            .name(filmList.getName())
-                            .tag(filmList.getTag())
-                            .filmCount(filmList.getFilmListInfos().size())
-                            .visibility(filmList.getVisible())
-                            .owner(userMapper.toUserSummaryDTO(filmList.getUser()))
-                            .films(filmPreviews) // Android tarafında kapak resmi oluşturmak için
-                            .build();
-                })
-                .collect(Collectors.toList());
+        // Kolaj için liste başına ilk 4 film; sayılar ve önizlemeler tüm listeler için toplu sorgularla gelir
+        List<FilmListSummaryDTO> lists = filmListSummaryAssembler.toSummaries(
+                filmListRepository.findAllByUserAndStatus(user, 1), 4); // 1 = Aktif
 
         // 4. Son puanlamaları al (örneğin son 10)
         List<RatedFilmDTO> ratings = userInteractionService.getLatestRatedFilms(userId, 10);
@@ -173,32 +150,29 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public List<UserDTO> getTopReviewers(int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
+        List<String> userIds = userStatsService.topReviewers(limit);
 
-        List<User> topUsers = userRepository.findTopReviewers(pageable).stream()
-                .map(result -> (User) result[0])
-                .collect(Collectors.toList());
-
-        if (topUsers.isEmpty()) {
+        if (userIds.isEmpty()) {
             return Collections.emptyList();
         }
 
-        List<String> userIds = topUsers.stream().map(User::getId).collect(Collectors.toList());
-
-        Map<String, Long> ratingCounts = filmPointRepository.countRatingsByUserIds(userIds).stream()
-                .collect(Collectors.toMap(row -> (String) row[0], row -> (Long) row[1]));
-        Map<String, Long> favoriteCounts = filmPointRepository.countFavoritesByUserIds(userIds).stream()
-                .collect(Collectors.toMap(row -> (String) row[0], row -> (Long) row[1]));
-        Map<String, Long> listCounts = filmListRepository.countListsByUserIds(userIds).stream()
-                .collect(Collectors.toMap(row -> (String) row[0], row -> (Long) row[1]));
-
-        return topUsers.stream().map(user -> {
-            UserDTO dto = userMapper.toUserDTO(user);
-            dto.setRatingCount(ratingCounts.getOrDefault(user.getId(), 0L));
-            dto.setFavoriteCount(favoriteCounts.getOrDefault(user.getId(), 0L));
-            dto.setListCount(listCounts.getOrDefault(user.getId(), 0L));
-            return dto;
-        }).collect(Collectors.toList());
+        Map<String, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        Map<String, UserStats> stats = userStatsService.getAll(userIds);
+
+        // Sıralamadaki sırayı koru
+        return userIds.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(user -> {
+                    UserDTO dto = userMapper.toUserDTO(user);
+                    UserStats userStats = stats.get(user.getId());
+                    dto.setRatingCount(userStats.getRatingCount());
+                    dto.setFavoriteCount(userStats.getFavoriteCount());
+                    dto.setListCount(userStats.getListCount());
+                    return dto;
+                })
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -208,6 +182,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
         user.setName(updateRequest.getName());
         User updatedUser = userRepository.save(user);
+        userPrincipalCache.evict(userId);
         return findUserById(updatedUser.getId()); // İstatistiklerle birlikte döndür
     }
 
@@ -223,6 +198,7 @@ public class UserServiceImpl implements UserService {
 
         user.setAvatarId(avatarId);
         User updatedUser = userRepository.save(user);
+        userPrincipalCache.evict(userId);
         return findUserById(updatedUser.getId()); // İstatistiklerle birlikte döndür
     }
 
@@ -0,0 +1,35 @@
+package com.example.moodmovies.service.interaction;
+
+/**
+ * Bir kullanıcının bir filmle etkileşiminin (puan, favori, yorum) bellekteki hali.
+ * @param rating Puan (yoksa null)
+ * @param favorite Favori durumu
+ * @param comment Yorum (yoksa null)
+ */
+public record BufferedInteraction(Integer rating, boolean favorite, String comment) {
+
+    public static final BufferedInteraction EMPTY = new BufferedInteraction(null, false, null);
+
+    public BufferedInteraction withRating(Integer newRating, String newComment) {
+        return new BufferedInteraction(newRating, favorite, newComment);
+    }
+
+    public BufferedInteraction withoutRating() {
+        return new BufferedInteraction(null, favorite, comment);
+    }
+
+    public BufferedInteraction withFavoriteToggled() {
+        return new BufferedInteraction(rating, !favorite, comment);
+    }
+
+    public BufferedInteraction withComment(String newComment) {
+        return new BufferedInteraction(rating, favorite, newComment);
+    }
+
+    /**
+     * @return Puan, favori ve yorum yoksa true; böyle bir satırın oluşturulmasına gerek yoktur
+     */
+    public boolean isEmpty() {
+        return rating == null && !favorite && comment == null;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.moodmovies.service.interaction;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Tampondaki etkileşimler için yerel, sadece sona eklenen günlük (journal).
+ *
+ * Her değişiklik, (kullanıcı, film) satırının değişiklik sonrası halini tek satır olarak aktif segmente yazar.
+ * Tampon boşaltılmaya başlarken aktif segment mühürlenir ve yenisi açılır; boşaltma commit olunca mühürlü
+ * segmentler silinir. Uygulama çökerse açılışta kalan segmentler okunur ve her anahtarın son hali yeniden
+ * tampona alınır. Satırlar mutlak hal taşıdığı için aynı kaydın iki kez uygulanması sonucu değiştirmez.
+ *
+ * Thread-safe değildir; {@link InteractionWriteBuffer} kilidi altında kullanılır.
+ */
+@Slf4j
+final class InteractionJournal {
+
+    private static final String PREFIX = "interactions-";
+    private static final String SUFFIX = ".journal";
+    private static final String NONE = "-";
+
+    private final Path directory;
+    private final boolean sync;
+    private final List<Path> sealed = new ArrayList<>();
+
+    private long nextSequence;
+    private Path activePath;
+    private FileChannel active;
+    private boolean activeDirty;
+
+    InteractionJournal(Path directory, boolean sync) throws IOException {
+        this.directory = directory;
+        this.sync = sync;
+        Files.createDirectories(directory);
+        for (Path segment : segments()) {
+            nextSequence = Math.max(nextSequence, sequenceOf(segment) + 1);
+        }
+    }
+
+    /**
+     * Önceki çalışmadan kalan segmentleri okur. Okunan segmentler mühürlü sayılır ve bir sonraki başarılı
+     * boşaltmadan sonra silinir.
+     * @return Anahtar -> son hal, yazılma sırasıyla
+     */
+    Map<JournalKey, BufferedInteraction> recover() throws IOException {
+        Map<JournalKey, BufferedInteraction> states = new LinkedHashMap<>();
+        for (Path segment : segments()) {
+            try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] fields = line.split("\t", -1);
+                    if (fields.length != 5) {
+                        log.warn("⚠ Etkileşim günlüğünde eksik satır atlandı - Segment: {}", segment.getFileName());
+                        continue; // Çökme anında yarım kalmış son satır
+                    }
+                    states.remove(new JournalKey(fields[0], fields[1])); // Sıra son yazılışa göre olsun
+                    states.put(new JournalKey(fields[0], fields[1]), new BufferedInteraction(
+                            fields[2].equals(NONE) ? null : Integer.valueOf(fields[2]),
+                            fields[3].equals("1"),
+                            fields[4].equals(NONE) ? null
+                                    : new String(Base64.getDecoder().decode(fields[4]), StandardCharsets.UTF_8)));
+                }
+            }
+            sealed.add(segment);
+        }
+        return states;
+    }
+
+    void append(String userId, String filmId, BufferedInteraction state) throws IOException {
+        if (active == null) {
+            open();
+        }
+        String comment = state.comment() == null ? NONE
+                : Base64.getEncoder().encodeToString(state.comment().getBytes(StandardCharsets.UTF_8));
+        String line = userId + '\t' + filmId + '\t' + (state.rating() == null ? NONE : state.rating()) + '\t'
+                + (state.favorite() ? '1' : '0') + '\t' + comment + '\n';
+        ByteBuffer bytes = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            active.write(bytes);
+        }
+        if (sync) {
+            active.force(false);
+        }
+        activeDirty = true;
+    }
+
+    /**
+     * Aktif segmenti mühürler; sonraki yazmalar yeni segmente gider.
+     */
+    void rotate() throws IOException {
+        if (active == null || !activeDirty) {
+            return;
+        }
+        active.close();
+        sealed.add(activePath);
+        active = null;
+        activeDirty = false;
+    }
+
+    /**
+     * Mühürlü segmentlerdeki tüm değişiklikler veritabanına yazıldıktan sonra segmentleri siler.
+     */
+    void releaseSealed() {
+        for (Path segment : sealed) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                log.warn("⚠ Etkileşim günlüğü segmenti silinemedi - Segment: {}, Error: {}", segment.getFileName(), e.getMessage());
+            }
+        }
+        sealed.clear();
+    }
+
+    void close() throws IOException {
+        if (active != null) {
+            active.close();
+            active = null;
+        }
+    }
+
+    private void open() throws IOException {
+        activePath = directory.resolve(String.format("%s%019d%s", PREFIX, nextSequence++, SUFFIX));
+        active = FileChannel.open(activePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX) && !path.equals(activePath);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    record JournalKey(String userId, String filmId) {
+    }
+}
@@ -0,0 +1,465 @@
+package com.example.moodmovies.service.interaction;
+
+import com.example.moodmovies.repository.FilmPointRepository;
+import com.example.moodmovies.repository.FilmPointUpsertOperations.InteractionRow;
+import com.example.moodmovies.repository.FilmPointUpsertOperations.InteractionState;
+import com.example.moodmovies.repository.FilmPointUpsertOperations.WrittenInteraction;
+import com.example.moodmovies.service.interaction.InteractionJournal.JournalKey;
+import com.example.moodmovies.service.stats.FavoriteLeaderboard;
+import com.example.moodmovies.service.stats.FilmStatsService;
+import com.example.moodmovies.service.stats.UserStatsService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Film etkileşimleri (puan, favori, yorum) için isteğe bağlı write-behind tamponu.
+ *
+ * Açıkken değişiklikler her biri kendi işleminde yazılmaz; (kullanıcı, film) anahtarıyla sınırlı bir tampona alınır
+ * ve aynı anahtara art arda gelen değişiklikler tek kayıtta birleşir. Arka plandaki worker tamponu belirli
+ * aralıklarla veya tamponda batch boyutu kadar kayıt birikince boşaltır: son haller çok satırlı MERGE ile yazılır.
+ * Mevcut satırlarda sadece tamponda değiştirilen kolonlar yazılır; film/kullanıcı istatistikleri aynı işlemde
+ * MERGE'in döndürdüğü gerçek önceki hal ile yeni hal arasındaki farka göre güncellenir.
+ * Kullanıcının kendi etkileşim durumu bekleyen tampondan okunur; diğer okumalar (ortalama puan, favori
+ * listeleri, yorumlar) boşaltma aralığı kadar geriden gelebilir.
+ *
+ * Tampon doluyken ne tamponda ne de yazılmakta olan bir anahtara gelen değişiklik reddedilir ve çağıran senkron
+ * yola düşer. Yazılmakta olan anahtarlar kapasiteden bağımsız olarak tampona alınır; böylece aynı satır batch ile
+ * senkron MERGE tarafından aynı anda yazılmaz.
+ * Günlük dizini verilirse her değişiklik yerel bir dosyaya da yazılır ve çökme sonrası açılışta tampona geri alınır;
+ * verilmezse uygulama çökerse son boşaltmadan sonraki değişiklikler kaybolur.
+ *
+ * Tampon düğüm başınadır; aynı satır başka bir düğümden de yazılırsa tamponun değiştirmediği kolonlar korunur,
+ * aynı kolon için son yazan kazanır.
+ */
+@Component
+@Slf4j
+public class InteractionWriteBuffer {
+
+    private final FilmPointRepository filmPointRepository;
+    private final FilmStatsService filmStatsService;
+    private final FavoriteLeaderboard favoriteLeaderboard;
+    private final UserStatsService userStatsService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final String journalDirectory;
+    private final boolean journalSync;
+
+    private final Object lock = new Object();
+    private final Object flushLock = new Object();
+    private Map<JournalKey, Pending> pending = new LinkedHashMap<>();
+    private Map<JournalKey, Pending> inflight = Map.of();
+    private long flushGeneration;
+    private InteractionJournal journal;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    private final LongAdder mutations = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final LongAccumulator maxFlushNanos = new LongAccumulator(Math::max, 0);
+
+    public InteractionWriteBuffer(FilmPointRepository filmPointRepository,
+                                  FilmStatsService filmStatsService,
+                                  FavoriteLeaderboard favoriteLeaderboard,
+                                  UserStatsService userStatsService,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${app.interactions.write-behind.enabled:false}") boolean enabled,
+                                  @Value("${app.interactions.write-behind.capacity:10000}") int capacity,
+                                  @Value("${app.interactions.write-behind.batch-size:500}") int batchSize,
+                                  @Value("${app.interactions.write-behind.flush-interval-ms:50}") long flushIntervalMs,
+                                  @Value("${app.interactions.write-behind.journal-dir:}") String journalDirectory,
+                                  @Value("${app.interactions.write-behind.journal-sync:false}") boolean journalSync) {
+        this.filmPointRepository = filmPointRepository;
+        this.filmStatsService = filmStatsService;
+        this.favoriteLeaderboard = favoriteLeaderboard;
+        this.userStatsService = userStatsService;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.capacity = Math.max(1, capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.journalDirectory = journalDirectory;
+        this.journalSync = journalSync;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (!journalDirectory.isBlank()) {
+            try {
+                InteractionJournal opened = new InteractionJournal(Path.of(journalDirectory), journalSync);
+                Map<JournalKey, BufferedInteraction> recovered = opened.recover();
+                synchronized (lock) {
+                    journal = opened;
+                }
+                recovered.forEach((key, state) -> apply(key.userId(), key.filmId(), current -> state, true));
+                if (!recovered.isEmpty()) {
+                    log.info("Etkileşim günlüğünden bekleyen değişiklikler geri alındı - Keys: {}", recovered.size());
+                }
+            } catch (IOException e) {
+                log.error("❌ Etkileşim günlüğü açılamadı, günlüksüz devam ediliyor - Dir: {}, Error: {}",
+                        journalDirectory, e.getMessage(), e);
+            }
+        }
+        running = true;
+        worker = new Thread(this::runWorker, "interaction-write-behind");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Etkileşim write-behind tamponu başlatıldı - Capacity: {}, BatchSize: {}, FlushInterval: {}ms, Journal: {}",
+                capacity, batchSize, flushIntervalMs, journal != null ? journalDirectory : "-");
+    }
+
+    /**
+     * @return Write-behind modu açık ve worker çalışıyorsa true
+     */
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Değişikliği tampona alır.
+     * @param userId Kullanıcı ID'si
+     * @param filmId Film ID'si
+     * @param mutation Mevcut halden yeni hali üreten fonksiyon
+     * @return Değişiklik sonrası hal; tampon doluysa boş (çağıran senkron yola düşmelidir)
+     */
+    public Optional<BufferedInteraction> apply(String userId, String filmId, UnaryOperator<BufferedInteraction> mutation) {
+        return apply(userId, filmId, mutation, false);
+    }
+
+    /**
+     * @return Anahtar tamponda (veya yazılmakta) ise kullanıcının en güncel hali
+     */
+    public Optional<BufferedInteraction> find(String userId, String filmId) {
+        JournalKey key = new JournalKey(userId, filmId);
+        synchronized (lock) {
+            Pending entry = pending.get(key);
+            if (entry == null) {
+                entry = inflight.get(key);
+            }
+            return entry != null ? Optional.of(entry.current) : Optional.empty();
+        }
+    }
+
+    /**
+     * @return Kullanıcının tamponda (veya yazılmakta) olan tüm etkileşimleri: film ID'si -> en güncel hal
+     */
+    public Map<String, BufferedInteraction> findByUser(String userId) {
+        Map<String, BufferedInteraction> states = new HashMap<>();
+        synchronized (lock) {
+            inflight.forEach((key, entry) -> {
+                if (key.userId().equals(userId)) {
+                    states.put(key.filmId(), entry.current);
+                }
+            });
+            pending.forEach((key, entry) -> {
+                if (key.userId().equals(userId)) {
+                    states.put(key.filmId(), entry.current);
+                }
+            });
+        }
+        return states;
+    }
+
+    private Optional<BufferedInteraction> apply(String userId, String filmId, UnaryOperator<BufferedInteraction> mutation,
+                                                boolean ignoreCapacity) {
+        JournalKey key = new JournalKey(userId, filmId);
+        while (true) {
+            long generation;
+            synchronized (lock) {
+                Pending entry = pending.get(key);
+                if (entry != null) {
+                    coalesced.increment();
+                    return Optional.of(record(key, entry, mutation));
+                }
+                Pending writing = inflight.get(key);
+                if (writing != null) { // Yazılmakta olan hal commit olunca satırın hali olacak; kapasite aşılsa da tampona alınır
+                    boolean rowExists = writing.rowExists || !writing.current.isEmpty();
+                    return Optional.of(record(key, newEntry(key, writing.current, rowExists), mutation));
+                }
+                if (!ignoreCapacity && pending.size() >= capacity) {
+                    rejected.increment();
+                    return Optional.empty();
+                }
+                generation = flushGeneration;
+            }
+
+            // Anahtarın ilk değişikliği: satırın mevcut hali kilit dışında okunur
+            BufferedInteraction base = filmPointRepository.findInteraction(userId, filmId)
+                    .map(row -> new BufferedInteraction(row.rating(), row.favorite(), row.comment()))
+                    .orElse(null);
+            synchronized (lock) {
+                // Okuma sırasında bir boşaltma tamamlandıysa okunan hal eskimiş olabilir; baştan denenir
+                if (generation == flushGeneration && !pending.containsKey(key) && !inflight.containsKey(key)) {
+                    return Optional.of(record(key, newEntry(key, base, base != null), mutation));
+                }
+            }
+        }
+    }
+
+    // Kilit altında çağrılır
+    private Pending newEntry(JournalKey key, BufferedInteraction base, boolean rowExists) {
+        Pending entry = new Pending(base, rowExists);
+        pending.put(key, entry);
+        return entry;
+    }
+
+    // Kilit altında çağrılır
+    private BufferedInteraction record(JournalKey key, Pending entry, UnaryOperator<BufferedInteraction> mutation) {
+        entry.update(mutation.apply(entry.current));
+        mutations.increment();
+        if (journal != null) {
+            try {
+                journal.append(key.userId(), key.filmId(), entry.current);
+            } catch (IOException e) {
+                log.error("❌ Etkileşim günlüğüne yazılamadı - UserId: {}, FilmId: {}, Error: {}",
+                        key.userId(), key.filmId(), e.getMessage());
+            }
+        }
+        if (pending.size() >= batchSize) {
+            lock.notifyAll();
+        }
+        return entry.current;
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                synchronized (lock) {
+                    if (pending.size() < batchSize) {
+                        lock.wait(flushIntervalMs);
+                    }
+                }
+                flush();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ Etkileşim tamponu boşaltılamadı - Error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Tamponu veritabanına yazar. Yazılamayan kayıtlar tampona geri alınır ve sonraki boşaltmada tekrar denenir.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<JournalKey, Pending> batch;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                inflight = batch;
+                pending = new LinkedHashMap<>();
+                rotateJournal();
+            }
+
+            long startedAt = System.nanoTime();
+            Map<JournalKey, Pending> failed = write(batch);
+            long elapsed = System.nanoTime() - startedAt;
+            flushes.increment();
+            flushedRows.add(batch.size() - failed.size());
+            flushNanos.add(elapsed);
+            maxFlushNanos.accumulate(elapsed);
+
+            synchronized (lock) {
+                failed.forEach((key, entry) -> {
+                    Pending newer = pending.get(key);
+                    if (newer == null) {
+                        pending.put(key, entry);
+                    } else { // Yeni kayıt yazılamayan halin üzerine kuruldu; yazılamayan değişiklikleri de taşısın
+                        newer.mergeChanges(entry);
+                    }
+                });
+                inflight = Map.of();
+                flushGeneration++;
+                if (journal != null && failed.isEmpty()) {
+                    journal.releaseSealed();
+                }
+            }
+        }
+    }
+
+    // Kilit altında çağrılır
+    private void rotateJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.rotate();
+        } catch (IOException e) {
+            log.error("❌ Etkileşim günlüğü segmenti kapatılamadı - Error: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Kayıtları tek işlemde yazar. İşlem başarısız olursa kayıtlar tek tek denenir; veri bütünlüğü hatası veren
+     * kayıt (ör. silinmiş kullanıcı) atılır, diğer hatalar kaydı tampona geri döndürür.
+     * @return Tekrar denenecek kayıtlar
+     */
+    private Map<JournalKey, Pending> write(Map<JournalKey, Pending> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeInTransaction(batch));
+            return Map.of();
+        } catch (Exception e) {
+            log.warn("⚠ Etkileşim batch'i yazılamadı, kayıtlar tek tek deneniyor - Rows: {}, Error: {}", batch.size(), e.getMessage());
+        }
+        Map<JournalKey, Pending> failed = new LinkedHashMap<>();
+        batch.forEach((key, entry) -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeInTransaction(Map.of(key, entry)));
+            } catch (DataIntegrityViolationException e) {
+                log.error("❌ Etkileşim yazılamadı ve atıldı - UserId: {}, FilmId: {}, Error: {}",
+                        key.userId(), key.filmId(), e.getMessage());
+            } catch (Exception e) {
+                failed.put(key, entry);
+            }
+        });
+        return failed;
+    }
+
+    private void writeInTransaction(Map<JournalKey, Pending> batch) {
+        List<InteractionState> states = new ArrayList<>(batch.size());
+        batch.forEach((key, entry) -> {
+            if (!entry.hasChanges() || (!entry.rowExists && entry.current.isEmpty())) {
+                return;
+            }
+            BufferedInteraction after = entry.current;
+            states.add(new InteractionState(key.userId(), key.filmId(), after.rating(), after.favorite(), after.comment(),
+                    entry.ratingChanged, entry.favoriteChanged, entry.commentChanged));
+        });
+        // Farklar tampondaki ilk okunan halden değil, MERGE'in gördüğü gerçek önceki halden hesaplanır
+        Map<String, long[]> userDeltas = new HashMap<>(); // userId -> [puan, favori, etkileşim]
+        for (WrittenInteraction written : filmPointRepository.writeInteractions(states)) {
+            InteractionRow row = written.row();
+            filmStatsService.recordRatingChange(written.filmId(), row.previousRating(), row.rating());
+            if (row.previousFavorite() != row.favorite()) {
+                favoriteLeaderboard.recordFavoriteChange(written.filmId(), row.favorite());
+            }
+            long[] delta = userDeltas.computeIfAbsent(written.userId(), id -> new long[3]);
+            delta[0] += (row.rating() != null ? 1 : 0) - (row.previousRating() != null ? 1 : 0);
+            delta[1] += (row.favorite() ? 1 : 0) - (row.previousFavorite() ? 1 : 0);
+            delta[2] += row.inserted() ? 1 : 0;
+        }
+        userDeltas.forEach((userId, delta) -> userStatsService.adjust(userId, delta[0], delta[1], 0, delta[2]));
+    }
+
+    @Scheduled(initialDelayString = "${app.interactions.write-behind.stats-interval-ms:60000}",
+            fixedDelayString = "${app.interactions.write-behind.stats-interval-ms:60000}")
+    public void logStats() {
+        long mutationCount = mutations.sumThenReset();
+        long coalescedCount = coalesced.sumThenReset();
+        long rejectedCount = rejected.sumThenReset();
+        long flushCount = flushes.sumThenReset();
+        long rows = flushedRows.sumThenReset();
+        long totalFlushNanos = flushNanos.sumThenReset();
+        long maxFlush = maxFlushNanos.getThenReset();
+        if (mutationCount == 0 && rejectedCount == 0) {
+            return;
+        }
+        int queued;
+        synchronized (lock) {
+            queued = pending.size();
+        }
+        log.info("Etkileşim tamponu istatistikleri - Mutations: {}, Coalesced: {}, Rejected: {}, Flushes: {}, Rows: {}, AvgFlush: {}ms, MaxFlush: {}ms, Pending: {}",
+                mutationCount, coalescedCount, rejectedCount, flushCount, rows,
+                flushCount > 0 ? TimeUnit.NANOSECONDS.toMillis(totalFlushNanos / flushCount) : 0,
+                TimeUnit.NANOSECONDS.toMillis(maxFlush), queued);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        synchronized (lock) {
+            if (!pending.isEmpty()) {
+                log.warn("⚠ Kapanışta yazılamayan etkileşimler var - Keys: {}, Journal: {}",
+                        pending.size(), journal != null ? journalDirectory : "-");
+            }
+            if (journal != null) {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    log.warn("⚠ Etkileşim günlüğü kapatılamadı - Error: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static final class Pending {
+        private boolean rowExists; // Satır tampona alınırken vardı
+        private BufferedInteraction current;
+        // Tamponda değiştirilen kolonlar; mevcut satırda sadece bunlar yazılır
+        private boolean ratingChanged;
+        private boolean favoriteChanged;
+        private boolean commentChanged;
+
+        private Pending(BufferedInteraction base, boolean rowExists) {
+            this.rowExists = rowExists;
+            this.current = base != null ? base : BufferedInteraction.EMPTY;
+        }
+
+        private void update(BufferedInteraction next) {
+            ratingChanged |= !Objects.equals(current.rating(), next.rating());
+            favoriteChanged |= current.favorite() != next.favorite();
+            commentChanged |= !Objects.equals(current.comment(), next.comment());
+            current = next;
+        }
+
+        /**
+         * Yazılamayan eski kaydın değişikliklerini bu kayda taşır; satırın varlığı eski kayıttaki gibidir.
+         */
+        private void mergeChanges(Pending older) {
+            rowExists = older.rowExists;
+            ratingChanged |= older.ratingChanged;
+            favoriteChanged |= older.favoriteChanged;
+            commentChanged |= older.commentChanged;
+        }
+
+        private boolean hasChanges() {
+            return ratingChanged || favoriteChanged || commentChanged;
+        }
+    }
+}
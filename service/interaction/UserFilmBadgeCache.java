@@ -0,0 +1,223 @@
+package com.example.moodmovies.service.interaction;
+
+import com.example.moodmovies.dto.FilmSummaryDTO;
+import com.example.moodmovies.repository.FilmListInfoRepository;
+import com.example.moodmovies.repository.FilmPointRepository;
+import com.example.moodmovies.service.catalog.FilmCatalog;
+import com.example.moodmovies.service.catalog.FilmCatalogRefreshedEvent;
+import com.example.moodmovies.service.catalog.FilmCatalogSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Kullanıcı başına "puanladı / favoriledi / listesine ekledi" rozetlerini tutan sınırlı boyutlu önbellek.
+ *
+ * Her kullanıcı için üç bitmap (BitSet) tutulur; bitler film kataloğu snapshot'ındaki ordinal'lerdir. Bitmap'ler
+ * kullanıcı ilk kez istendiğinde iki sorguyla (puan/favoriler ve liste elemanları) kurulur, sonrasında etkileşim ve
+ * liste servisleri commit sonrasında ilgili biti günceller. Listeden çıkarma gibi tek bitle ifade edilemeyen
+ * değişiklikler kullanıcının kaydını siler; sonraki istekte yeniden kurulur. Kapasite dolunca en uzun süredir
+ * kullanılmayan kullanıcı atılır. Katalog yeni bir snapshot'a geçince ordinal'ler değiştiği için önbellek boşaltılır.
+ *
+ * Kurulum sırasında aynı kullanıcı için commit olan bir değişiklik olursa kurulan bitmap yanıt için kullanılır
+ * ama önbelleğe alınmaz; böylece değişikliği kaçırmış bir kayıt saklanmaz.
+ */
+@Component
+public class UserFilmBadgeCache {
+
+    private static final int VERSION_STRIPES = 64;
+
+    private final FilmCatalog filmCatalog;
+    private final FilmPointRepository filmPointRepository;
+    private final FilmListInfoRepository filmListInfoRepository;
+    private final InteractionWriteBuffer interactionWriteBuffer;
+    private final int maxEntries;
+    private final Map<String, Badges> entries;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public UserFilmBadgeCache(FilmCatalog filmCatalog,
+                              FilmPointRepository filmPointRepository,
+                              FilmListInfoRepository filmListInfoRepository,
+                              InteractionWriteBuffer interactionWriteBuffer,
+                              @Value("${app.user-badges.cache-size:5000}") int maxEntries) {
+        this.filmCatalog = filmCatalog;
+        this.filmPointRepository = filmPointRepository;
+        this.filmListInfoRepository = filmListInfoRepository;
+        this.interactionWriteBuffer = interactionWriteBuffer;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Badges> eldest) {
+                return size() > UserFilmBadgeCache.this.maxEntries;
+            }
+        };
+    }
+
+    @EventListener
+    public void onCatalogRefreshed(FilmCatalogRefreshedEvent event) {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Film özetlerine kullanıcının rozetlerini işler. Kullanıcı yoksa (anonim istek) özetler değiştirilmez.
+     * @param userId Giriş yapmış kullanıcının ID'si, anonim istekte null
+     * @param films İşaretlenecek film özetleri
+     */
+    public void decorate(String userId, Collection<FilmSummaryDTO> films) {
+        if (userId == null || films == null || films.isEmpty()) {
+            return;
+        }
+        Badges badges = get(userId);
+        synchronized (badges) {
+            for (FilmSummaryDTO film : films) {
+                int ordinal = badges.snapshot.ordinalOf(film.getId());
+                film.setRated(ordinal >= 0 && badges.rated.get(ordinal));
+                film.setFavorite(ordinal >= 0 && badges.favorited.get(ordinal));
+                film.setListed(ordinal >= 0 && badges.listed.get(ordinal));
+            }
+        }
+    }
+
+    /**
+     * @param rated Film puanlandıysa true, puan kaldırıldıysa false
+     */
+    public void recordRating(String userId, String filmId, boolean rated) {
+        afterCommit(userId, filmId, (badges, ordinal) -> badges.rated.set(ordinal, rated));
+    }
+
+    /**
+     * @param favorite Film favorilere eklendiyse true, çıkarıldıysa false
+     */
+    public void recordFavorite(String userId, String filmId, boolean favorite) {
+        afterCommit(userId, filmId, (badges, ordinal) -> badges.favorited.set(ordinal, favorite));
+    }
+
+    /**
+     * Filmin kullanıcının listelerinden birine eklendiğini kaydeder.
+     */
+    public void recordListed(String userId, String filmId) {
+        afterCommit(userId, filmId, (badges, ordinal) -> badges.listed.set(ordinal));
+    }
+
+    /**
+     * Kullanıcının kaydını commit sonrasında siler; sonraki istekte veritabanından yeniden kurulur.
+     */
+    public void evict(String userId) {
+        runAfterCommit(() -> {
+            versions.incrementAndGet(stripe(userId));
+            synchronized (entries) {
+                entries.remove(userId);
+            }
+        });
+    }
+
+    private Badges get(String userId) {
+        FilmCatalogSnapshot snapshot = filmCatalog.snapshot();
+        synchronized (entries) {
+            Badges cached = entries.get(userId);
+            if (cached != null && cached.snapshot == snapshot) {
+                return cached;
+            }
+        }
+        long version = versions.get(stripe(userId));
+        Badges built = build(userId, snapshot);
+        synchronized (entries) {
+            if (versions.get(stripe(userId)) == version) {
+                entries.put(userId, built);
+            }
+        }
+        return built;
+    }
+
+    private Badges build(String userId, FilmCatalogSnapshot snapshot) {
+        // Tampon veritabanından önce okunur: arada bir boşaltma commit olursa yazılan hal ya bu kopyada ya da
+        // aşağıdaki sorguda görünür. Kopyadan sonraki değişiklikler ise sürüm sayacını artırdığı için önbelleğe alınmaz.
+        Map<String, BufferedInteraction> buffered = interactionWriteBuffer.isEnabled()
+                ? interactionWriteBuffer.findByUser(userId)
+                : Map.of();
+        Badges badges = new Badges(snapshot);
+        for (Object[] row : filmPointRepository.findRatedOrFavoritedByUserId(userId)) {
+            int ordinal = snapshot.ordinalOf((String) row[0]);
+            if (ordinal >= 0) {
+                badges.rated.set(ordinal, row[1] != null);
+                badges.favorited.set(ordinal, Integer.valueOf(1).equals(row[2]));
+            }
+        }
+        for (String filmId : filmListInfoRepository.findListedFilmIdsByUserId(userId)) {
+            int ordinal = snapshot.ordinalOf(filmId);
+            if (ordinal >= 0) {
+                badges.listed.set(ordinal);
+            }
+        }
+        buffered.forEach((filmId, state) -> { // Henüz yazılmamış etkileşimler veritabanındakinin üzerine yazılır
+            int ordinal = snapshot.ordinalOf(filmId);
+            if (ordinal >= 0) {
+                badges.rated.set(ordinal, state.rating() != null);
+                badges.favorited.set(ordinal, state.favorite());
+            }
+        });
+        return badges;
+    }
+
+    private void afterCommit(String userId, String filmId, BadgeChange change) {
+        runAfterCommit(() -> {
+            versions.incrementAndGet(stripe(userId));
+            Badges cached;
+            synchronized (entries) {
+                cached = entries.get(userId);
+            }
+            if (cached == null) {
+                return; // Kullanıcı önbellekte değil; kurulurken değişiklik veritabanından okunur
+            }
+            int ordinal = cached.snapshot.ordinalOf(filmId);
+            if (ordinal >= 0) {
+                synchronized (cached) {
+                    change.apply(cached, ordinal);
+                }
+            }
+        });
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static int stripe(String userId) {
+        return (userId.hashCode() & Integer.MAX_VALUE) % VERSION_STRIPES;
+    }
+
+    @FunctionalInterface
+    private interface BadgeChange {
+        void apply(Badges badges, int ordinal);
+    }
+
+    private static final class Badges {
+        private final FilmCatalogSnapshot snapshot;
+        private final BitSet rated = new BitSet();
+        private final BitSet favorited = new BitSet();
+        private final BitSet listed = new BitSet();
+
+        private Badges(FilmCatalogSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.moodmovies.service.mapper;
+
+import com.example.moodmovies.dto.FilmListSummaryDTO;
+import com.example.moodmovies.dto.FilmSummaryDTO;
+import com.example.moodmovies.dto.UserSummaryDTO;
+import com.example.moodmovies.model.FilmInfo;
+import com.example.moodmovies.model.FilmList;
+import com.example.moodmovies.repository.FilmListInfoRepository;
+import com.example.moodmovies.repository.UserRepository;
+import com.example.moodmovies.service.catalog.FilmCatalog;
+import com.example.moodmovies.service.poster.PosterThumbnailService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * FilmList entity'lerinden FilmListSummaryDTO'ları toplu olarak oluşturur.
+ *
+ * Liste sayısından bağımsız olarak sabit sayıda sorgu çalışır: film sayıları için tek bir gruplu sayım,
+ * önizleme filmleri için tek bir pencereli (ROW_NUMBER) sorgu ve sahipler için tek bir projeksiyon sorgusu.
+ * Film bilgileri bellekteki katalogdan okunur. Listelerin filmListInfos koleksiyonları ve sahip entity'leri yüklenmez.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FilmListSummaryAssembler {
+
+    public static final int PREVIEW_SIZE = 3;
+
+    // SQL Server tek sorguda en fazla 2100 parametre kabul eder
+    private static final int MAX_IDS_PER_QUERY = 1000;
+
+    private final FilmListInfoRepository filmListInfoRepository;
+    private final UserRepository userRepository;
+    private final FilmCatalog filmCatalog;
+    private final UserMapper userMapper;
+
+    /**
+     * @param lists Özetlenecek listeler
+     * @return Listelerle aynı sırada, {@value #PREVIEW_SIZE} önizleme filmli özetler
+     */
+    public List<FilmListSummaryDTO> toSummaries(List<FilmList> lists) {
+        return toSummaries(lists, PREVIEW_SIZE);
+    }
+
+    /**
+     * @param lists Özetlenecek listeler
+     * @param previewSize Liste başına önizleme filmi sayısı
+     * @return Listelerle aynı sırada özetler
+     */
+    @Transactional(readOnly = true)
+    public List<FilmListSummaryDTO> toSummaries(List<FilmList> lists, int previewSize) {
+        if (lists.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> listIds = lists.stream().map(FilmList::getListId).collect(Collectors.toList());
+        // getUser().getId() lazy proxy'yi başlatmaz
+        Set<String> ownerIds = lists.stream()
+                .map(list -> list.getUser().getId())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<String, Integer> filmCounts = new HashMap<>();
+        Map<String, List<String>> previewFilmIds = new HashMap<>();
+        for (List<String> chunk : chunks(listIds)) {
+            for (Object[] row : filmListInfoRepository.countFilmsByListIds(chunk)) {
+                filmCounts.put((String) row[0], ((Number) row[1]).intValue());
+            }
+            for (Object[] row : filmListInfoRepository.findFirstFilmIdsByListIds(chunk, previewSize)) {
+                previewFilmIds.computeIfAbsent((String) row[0], key -> new ArrayList<>(previewSize)).add((String) row[1]);
+            }
+        }
+
+        Map<String, UserSummaryDTO> owners = new HashMap<>();
+        for (List<String> chunk : chunks(new ArrayList<>(ownerIds))) {
+            for (Object[] row : userRepository.findSummariesByIds(chunk)) {
+                String userId = (String) row[0];
+                owners.put(userId, userMapper.toUserSummaryDTO(userId, (String) row[1], (String) row[2]));
+            }
+        }
+
+        Set<String> allPreviewIds = previewFilmIds.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toSet());
+        Map<String, FilmInfo> films = filmCatalog.findAllById(allPreviewIds).stream()
+                .collect(Collectors.toMap(FilmInfo::getId, film -> film, (first, second) -> first));
+
+        String baseUrl = getBaseUrl();
+        List<FilmListSummaryDTO> summaries = new ArrayList<>(lists.size());
+        for (FilmList list : lists) {
+            List<FilmSummaryDTO> previews = previewFilmIds.getOrDefault(list.getListId(), Collections.emptyList()).stream()
+                    .map(films::get)
+                    .filter(Objects::nonNull)
+                    .map(film -> toPreviewDTO(film, baseUrl))
+                    .collect(Collectors.toList());
+
+            summaries.add(FilmListSummaryDTO.builder()
+                    .listId(list.getListId())
+                    .name(list.getName())
+                    .tag(list.getTag())
+                    .filmCount(filmCounts.getOrDefault(list.getListId(), 0))
+                    .visibility(list.getVisible())
+                    .owner(owners.get(list.getUser().getId()))
+                    .films(previews)
+                    .build());
+        }
+        return summaries;
+    }
+
+    private static FilmSummaryDTO toPreviewDTO(FilmInfo filmInfo, String baseUrl) {
+        return FilmSummaryDTO.builder()
+                .id(filmInfo.getId())
+                .title(filmInfo.getName())
+                .imageUrl(baseUrl + "/api/v1/films/image/" + filmInfo.getId() + "?w=" + PosterThumbnailService.PREVIEW_WIDTH)
+                .build();
+    }
+
+    private static List<List<String>> chunks(List<String> ids) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_QUERY) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + MAX_IDS_PER_QUERY)));
+        }
+        return chunks;
+    }
+
+    private static String getBaseUrl() {
+        try {
+            return ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString();
+        } catch (Exception e) {
+            return "http://localhost:8080";
+        }
+    }
+}
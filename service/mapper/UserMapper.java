@@ -45,12 +45,15 @@ public class UserMapper {
             return null;
         }
 
-        String avatarUrl = getAvatarFullUrl(user.getAvatarId());
+        return toUserSummaryDTO(user.getId(), user.getName(), user.getAvatarId());
+    }
 
+    // Entity yüklemeden (ör. projeksiyon sorgusundan) UserSummaryDTO oluşturma
+    public UserSummaryDTO toUserSummaryDTO(String id, String name, String avatarId) {
         return UserSummaryDTO.builder()
-                .id(user.getId())
-                .name(user.getName())
-                .avatarImageUrl(avatarUrl)
+                .id(id)
+                .name(name)
+                .avatarImageUrl(getAvatarFullUrl(avatarId))
                 .build();
     }
 
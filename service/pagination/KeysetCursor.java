@@ -0,0 +1,89 @@
+package com.example.moodmovies.service.pagination;
+
+import com.example.moodmovies.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset sayfalamasında son görülen kaydın sıralama anahtarlarını taşıyan opak cursor.
+ *
+ * Cursor, bir tür etiketi ve anahtar değerlerinden oluşur; URL-safe Base64 olarak kodlanır.
+ * Tür etiketi, bir endpoint'in cursor'ının başka bir endpoint'te kullanılmasını engeller.
+ * İstemci cursor'ı yorumlamamalı, yalnızca bir sonraki isteğe aynen geri göndermelidir.
+ */
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '\n';
+
+    private final String type;
+    private final List<String> keys;
+
+    private KeysetCursor(String type, List<String> keys) {
+        this.type = type;
+        this.keys = keys;
+    }
+
+    public static KeysetCursor of(String type, String... keys) {
+        return new KeysetCursor(type, List.of(keys));
+    }
+
+    /**
+     * @param token İstemciden gelen cursor
+     * @param type Beklenen tür etiketi
+     * @param keyCount Beklenen anahtar sayısı
+     * @return Çözümlenmiş cursor
+     * @throws InvalidCursorException Cursor bozuksa veya başka türdeyse
+     */
+    public static KeysetCursor decode(String token, String type, int keyCount) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            List<String> parts = new ArrayList<>(Arrays.asList(decoded.split(String.valueOf(SEPARATOR), -1)));
+            if (parts.size() != keyCount + 1 || !parts.get(0).equals(type)) {
+                throw new InvalidCursorException("Geçersiz sayfalama cursor'ı");
+            }
+            return new KeysetCursor(type, List.copyOf(parts.subList(1, parts.size())));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Geçersiz sayfalama cursor'ı");
+        }
+    }
+
+    public String encode() {
+        StringBuilder builder = new StringBuilder(type);
+        for (String key : keys) {
+            builder.append(SEPARATOR).append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String key(int index) {
+        return keys.get(index);
+    }
+
+    /**
+     * @throws InvalidCursorException Anahtar bir tam sayı değilse
+     */
+    public int intKey(int index) {
+        try {
+            return Integer.parseInt(keys.get(index));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Geçersiz sayfalama cursor'ı");
+        }
+    }
+
+    /**
+     * @throws InvalidCursorException Anahtar ISO-8601 bir zaman değilse
+     */
+    public LocalDateTime timeKey(int index) {
+        try {
+            return LocalDateTime.parse(keys.get(index));
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Geçersiz sayfalama cursor'ı");
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.moodmovies.service.poster;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Poster paketindeki (memory-mapped) tek bir posterin salt okunur görünümü.
+ * Byte'lar heap'e kopyalanmaz; içerik doğrudan map edilmiş dilimden okunur.
+ * Spring MVC, Resource dönen endpoint'lerde Range isteklerini bu sınıf üzerinden karşılar.
+ */
+public class PosterResource extends AbstractResource {
+
+    private final String filmId;
+    private final String etag;
+    private final ByteBuffer content;
+
+    PosterResource(String filmId, String etag, ByteBuffer content) {
+        this.filmId = filmId;
+        this.etag = etag;
+        this.content = content.asReadOnlyBuffer();
+    }
+
+    public String getFilmId() {
+        return filmId;
+    }
+
+    /**
+     * Poster içeriğinin MD5 özeti (hex). Güçlü ETag olarak kullanılır.
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Poster [" + filmId + "]";
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return content.remaining();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new ByteBufferInputStream(content.duplicate());
+    }
+
+    /**
+     * Map edilmiş dilim üzerinde çalışan, skip desteği olan InputStream.
+     * Range isteklerinde baştaki byte'lar okunmadan atlanır.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            if (n <= 0) {
+                return 0;
+            }
+            int skipped = (int) Math.min(n, buffer.remaining());
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,431 @@
+package com.example.moodmovies.service.poster;
+
+import com.example.moodmovies.model.FilmPoster;
+import com.example.moodmovies.repository.FilmPosterRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Film posterlerini tek bir append-only paket dosyasında tutan ve memory-mapped olarak sunan depo.
+ *
+ * Kayıt formatı: [idUzunluğu:short][filmId:UTF-8][md5:16 byte][sürüm:long][veriUzunluğu:int][veri].
+ * Sürüm, posterin veritabanındaki POSTER_VERSION (ROWVERSION) değeridir. Aynı film için sonradan eklenen kayıt
+ * öncekini geçersiz kılar; indeks (filmId -> offset) bellekte tutulur ve uygulama açılışında paket taranarak
+ * yeniden kurulur. Paket dosyası her node'un yerel diskindedir.
+ *
+ * Ekleme dosyayı yeniden map etmez; eşitleme sonunda bir kez, ya da map'in kapsamadığı bir kayıt okunurken
+ * yeniden map edilir. Geçersiz kalan kayıtlar paketin belirli bir oranını aştığında, ya da paket tek bir map
+ * sınırına (2GB) dayandığında, canlı kayıtlar yeni bir dosyaya yazılıp eski paketin yerine konur (compaction).
+ * Eski paketten dilim almış okuyucular eski map'i kullanmaya devam eder.
+ */
+@Component
+@Slf4j
+public class PosterStore {
+
+    private static final int DIGEST_LENGTH = 16; // MD5
+    private static final long MAX_PACK_SIZE = Integer.MAX_VALUE; // Tek MappedByteBuffer sınırı
+
+    private final FilmPosterRepository filmPosterRepository;
+    private final String packPath;
+    private final double compactGarbageRatio;
+    private final long missTtlMillis;
+    private final int maxMisses;
+
+    private final Map<String, PosterEntry> index = new ConcurrentHashMap<>();
+    private final Map<String, Long> misses = new ConcurrentHashMap<>(); // filmId -> geçerlilik sonu
+    private final Object writeLock = new Object();
+
+    private volatile Pack pack;
+
+    public PosterStore(FilmPosterRepository filmPosterRepository,
+                       @Value("${app.poster-store.path:${java.io.tmpdir}/moodmovies/posters-v2.pack}") String packPath,
+                       @Value("${app.poster-store.compact-garbage-ratio:0.5}") double compactGarbageRatio,
+                       @Value("${app.poster-store.miss-ttl-ms:300000}") long missTtlMillis,
+                       @Value("${app.poster-store.miss-cache-size:10000}") int maxMisses) {
+        this.filmPosterRepository = filmPosterRepository;
+        this.packPath = packPath;
+        this.compactGarbageRatio = compactGarbageRatio;
+        this.missTtlMillis = missTtlMillis;
+        this.maxMisses = Math.max(1, maxMisses);
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        Path path = Path.of(packPath);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.deleteIfExists(compactionPath(path)); // Yarıda kalmış compaction artığı
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Pack opened = new Pack(path, channel);
+        long validLength = scan(opened);
+        if (validLength < channel.size()) {
+            // Yarıda kalmış son kaydı (ör. çökme) kes
+            log.warn("⚠ Poster paketi sonunda eksik kayıt bulundu, {} byte kesiliyor", channel.size() - validLength);
+            channel.truncate(validLength);
+        }
+        opened.remap();
+        pack = opened;
+        log.info("Poster paketi açıldı - Path: {}, Posters: {}, Size: {} byte", path, index.size(), channel.size());
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (pack != null) {
+            pack.channel().close();
+        }
+    }
+
+    /**
+     * Filmin posterini paketten döndürür. Paket henüz posteri içermiyorsa veritabanından bir kez okunup pakete eklenir.
+     * Posteri olmayan filmler kısa bir süre (miss TTL) hatırlanır; aynı ID için tekrarlanan istekler veritabanına gitmez.
+     * @param filmId Film ID'si
+     * @return Poster kaynağı, film veya posteri yoksa boş Optional
+     */
+    public Optional<PosterResource> find(String filmId) {
+        PosterEntry entry = index.get(filmId);
+        if (entry == null) {
+            if (isKnownMiss(filmId)) {
+                return Optional.empty();
+            }
+            entry = export(filmId);
+            if (entry == null) {
+                rememberMiss(filmId);
+                return Optional.empty();
+            }
+        }
+        try {
+            return Optional.of(toResource(entry));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Poster paketi map edilemedi", e);
+        }
+    }
+
+    /**
+     * MOODMOVIES_ALL_FILMS_INFO görünümüyle paketi artımlı olarak eşitler.
+     * Sadece ID ve POSTER_VERSION değerleri sorgulanır, poster LOB'u okunmaz; sürümü değişen veya pakette olmayan
+     * posterler pakete eklenir, görünümden kalkan filmler indeksten çıkarılır. Dosya eşitleme sonunda bir kez
+     * yeniden map edilir, gerekirse paket sıkıştırılır.
+     */
+    @Scheduled(initialDelayString = "${app.poster-store.initial-delay-ms:30000}",
+            fixedDelayString = "${app.poster-store.refresh-interval-ms:900000}")
+    public void refresh() {
+        long startTime = System.currentTimeMillis();
+        try {
+            List<Object[]> versions = filmPosterRepository.findPosterVersions();
+            Set<String> live = new HashSet<>();
+            int exported = 0;
+            for (Object[] row : versions) {
+                String filmId = (String) row[0];
+                long version = ((Number) row[1]).longValue();
+                live.add(filmId);
+                PosterEntry entry = index.get(filmId);
+                if (entry == null || entry.version() != version) {
+                    if (export(filmId) != null) {
+                        exported++;
+                    }
+                }
+            }
+            int removed;
+            synchronized (writeLock) {
+                if (exported > 0) {
+                    pack.remap();
+                }
+                int before = index.size();
+                index.keySet().retainAll(live);
+                removed = before - index.size();
+                compactIfWasteful();
+            }
+            long duration = System.currentTimeMillis() - startTime;
+            log.info("Poster paketi eşitlendi - Exported: {}, Removed: {}, Total: {}, Duration: {}ms",
+                    exported, removed, index.size(), duration);
+        } catch (Exception e) {
+            log.error("❌ Poster paketi eşitleme hatası - Error: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Paketin indeksinden posterin güncel ETag'ini döndürür; veritabanına gidilmez.
+     * @param filmId Film ID'si
+     * @return Paketteki posterin ETag'i, film paketten kalktıysa boş Optional
+     */
+    public Optional<String> findEtag(String filmId) {
+        PosterEntry entry = index.get(filmId);
+        return entry != null ? Optional.of(entry.etag()) : Optional.empty();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    // --- Helper Metotlar ---
+
+    private PosterEntry export(String filmId) {
+        Optional<FilmPoster> poster = filmPosterRepository.findById(filmId);
+        if (poster.isEmpty() || poster.get().getImageByte() == null) {
+            return null;
+        }
+        try {
+            return append(filmId, poster.get().getImageByte(), poster.get().getVersionNumber());
+        } catch (IOException e) {
+            log.error("❌ Poster pakete yazılamadı - FilmId: {}, Error: {}", filmId, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private PosterEntry append(String filmId, byte[] data, long version) throws IOException {
+        byte[] idBytes = filmId.getBytes(StandardCharsets.UTF_8);
+        byte[] digest = md5(data);
+        synchronized (writeLock) {
+            if (pack.channel().size() + headerLength(idBytes) + data.length > MAX_PACK_SIZE) {
+                compact();
+                if (pack.channel().size() + headerLength(idBytes) + data.length > MAX_PACK_SIZE) {
+                    throw new IOException("Poster paketi tek bir map sınırını (2GB) aşıyor");
+                }
+            }
+            Pack current = pack;
+            long dataStart = writeRecord(current.channel(), current.channel().size(), idBytes, digest, version,
+                    ByteBuffer.wrap(data));
+            // Map burada yenilenmez; offset'i map dışında kalan kaydı okuyan ilk istek yeniden map eder.
+            PosterEntry entry = new PosterEntry(filmId, current, dataStart, data.length,
+                    HexFormat.of().formatHex(digest), version);
+            index.put(filmId, entry);
+            misses.remove(filmId);
+            return entry;
+        }
+    }
+
+    /**
+     * Geçersiz kayıtların kapladığı alan paketin compactGarbageRatio oranını aşmışsa paketi sıkıştırır.
+     * writeLock altında çağrılmalıdır.
+     */
+    private void compactIfWasteful() throws IOException {
+        long size = pack.channel().size();
+        long liveBytes = 0;
+        for (PosterEntry entry : index.values()) {
+            liveBytes += recordLength(entry);
+        }
+        if (size > 0 && size - liveBytes > size * compactGarbageRatio) {
+            compact();
+        }
+    }
+
+    /**
+     * Canlı kayıtları yeni bir dosyaya yazar ve dosyayı paketin yerine taşır. writeLock altında çağrılmalıdır.
+     * Eski paket önce tamamen map edilir; ondan dilim almış okuyucular, dosya yerinden kalksa da eski map'i
+     * kullanmaya devam eder.
+     */
+    private void compact() throws IOException {
+        long startTime = System.currentTimeMillis();
+        Pack old = pack;
+        old.remap();
+        long oldSize = old.channel().size();
+        Path target = compactionPath(old.path());
+        Map<String, Long> offsets = new HashMap<>();
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = 0;
+            for (PosterEntry entry : index.values()) {
+                if (position + recordLength(entry) > MAX_PACK_SIZE) {
+                    throw new IOException("Canlı posterler tek bir map sınırını (2GB) aşıyor");
+                }
+                ByteBuffer data = entry.pack().covering(entry.offset() + entry.length())
+                        .slice((int) entry.offset(), entry.length());
+                long dataStart = writeRecord(out, position, entry.filmId().getBytes(StandardCharsets.UTF_8),
+                        HexFormat.of().parseHex(entry.etag()), entry.version(), data);
+                offsets.put(entry.filmId(), dataStart);
+                position = dataStart + entry.length();
+            }
+            out.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+        Files.move(target, old.path(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Pack compacted = new Pack(old.path(), FileChannel.open(old.path(), StandardOpenOption.READ, StandardOpenOption.WRITE));
+        compacted.remap();
+        index.replaceAll((filmId, entry) -> new PosterEntry(filmId, compacted, offsets.get(filmId), entry.length(),
+                entry.etag(), entry.version()));
+        pack = compacted;
+        old.channel().close();
+        log.info("Poster paketi sıkıştırıldı - Before: {} byte, After: {} byte, Duration: {}ms",
+                oldSize, compacted.channel().size(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Kaydı verilen konuma yazar.
+     * @return Verinin dosyadaki başlangıç offset'i
+     */
+    private static long writeRecord(FileChannel target, long recordStart, byte[] idBytes, byte[] digest,
+                                    long version, ByteBuffer data) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(headerLength(idBytes));
+        header.putShort((short) idBytes.length).put(idBytes).put(digest).putLong(version).putInt(data.remaining()).flip();
+        target.position(recordStart);
+        while (header.hasRemaining()) {
+            target.write(header);
+        }
+        while (data.hasRemaining()) {
+            target.write(data);
+        }
+        return recordStart + headerLength(idBytes);
+    }
+
+    private long scan(Pack target) throws IOException {
+        long size = target.channel().size();
+        if (size == 0) {
+            return 0;
+        }
+        MappedByteBuffer buffer = target.channel().map(FileChannel.MapMode.READ_ONLY, 0, size);
+        int position = 0;
+        while (position + 2 <= size) {
+            int idLength = buffer.getShort(position) & 0xFFFF;
+            long versionOffset = (long) position + 2 + idLength + DIGEST_LENGTH;
+            if (versionOffset + 8 + 4 > size) {
+                break;
+            }
+            byte[] idBytes = new byte[idLength];
+            buffer.get(position + 2, idBytes);
+            byte[] digest = new byte[DIGEST_LENGTH];
+            buffer.get(position + 2 + idLength, digest);
+            long version = buffer.getLong((int) versionOffset);
+            int dataLength = buffer.getInt((int) versionOffset + 8);
+            long dataStart = versionOffset + 8 + 4;
+            if (dataLength < 0 || dataStart + dataLength > size) {
+                break;
+            }
+            String filmId = new String(idBytes, StandardCharsets.UTF_8);
+            index.put(filmId, new PosterEntry(filmId, target, dataStart, dataLength,
+                    HexFormat.of().formatHex(digest), version));
+            position = (int) (dataStart + dataLength);
+        }
+        return position;
+    }
+
+    private PosterResource toResource(PosterEntry entry) throws IOException {
+        ByteBuffer slice = entry.pack().covering(entry.offset() + entry.length())
+                .slice((int) entry.offset(), entry.length());
+        return new PosterResource(entry.filmId(), entry.etag(), slice);
+    }
+
+    private boolean isKnownMiss(String filmId) {
+        Long expiresAt = misses.get(filmId);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt <= System.currentTimeMillis()) {
+            misses.remove(filmId, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    private void rememberMiss(String filmId) {
+        misses.put(filmId, System.currentTimeMillis() + missTtlMillis);
+        if (misses.size() > maxMisses) {
+            long now = System.currentTimeMillis();
+            misses.values().removeIf(expiresAt -> expiresAt <= now);
+            Iterator<String> keys = misses.keySet().iterator();
+            while (misses.size() > maxMisses && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+    }
+
+    private static int headerLength(byte[] idBytes) {
+        return 2 + idBytes.length + DIGEST_LENGTH + 8 + 4;
+    }
+
+    private static long recordLength(PosterEntry entry) {
+        return headerLength(entry.filmId().getBytes(StandardCharsets.UTF_8)) + (long) entry.length();
+    }
+
+    private static Path compactionPath(Path path) {
+        return path.resolveSibling(path.getFileName() + ".compact");
+    }
+
+    private static byte[] md5(byte[] data) {
+        try {
+            return MessageDigest.getInstance("MD5").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 algoritması bulunamadı", e);
+        }
+    }
+
+    /**
+     * Paket dosyası ve üzerindeki güncel map. Compaction sonrası yeni bir Pack oluşturulur;
+     * eski Pack'e ait kayıtlar eski map üzerinden okunmaya devam eder.
+     */
+    private static final class Pack {
+
+        private final Path path;
+        private final FileChannel channel;
+        private volatile MappedByteBuffer mapped;
+
+        private Pack(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+
+        Path path() {
+            return path;
+        }
+
+        FileChannel channel() {
+            return channel;
+        }
+
+        void remap() throws IOException {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        /**
+         * @param end Okunacak bölgenin bittiği offset
+         * @return Bu offset'e kadar olan bölgeyi kapsayan map; gerekirse dosya yeniden map edilir
+         */
+        MappedByteBuffer covering(long end) throws IOException {
+            MappedByteBuffer current = mapped;
+            if (current != null && end <= current.capacity()) {
+                return current;
+            }
+            synchronized (this) {
+                if (mapped == null || end > mapped.capacity()) {
+                    remap();
+                }
+                return mapped;
+            }
+        }
+    }
+
+    /**
+     * Paket içindeki bir posterin konumu.
+     */
+    private record PosterEntry(String filmId, Pack pack, long offset, int length, String etag, long version) {
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.moodmovies.service.poster;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Posterlerin küçük boyutlu türevlerini (thumbnail) üreten ve diskte saklayan servis.
+ *
+ * Türevler ilk istekte üretilir ve "filmId-posterEtag-genişlik.uzantı" adıyla kalıcı olarak yazılır;
+ * poster değişirse ETag değiştiği için eski türevler kendiliğinden devre dışı kalır.
+ * Üretim sınırlı bir worker havuzunda arka planda çalışır; aynı türev için tek bir üretim kuyruğa alınır
+ * (single-flight). İstek thread'i üretimi beklemez: türev diskte yoksa çağıran orijinal postere düşer ve sonraki
+ * istekler hazır türevi alır. Paketten kalkan filmlerin ve eski poster sürümlerinin türevleri periyodik olarak silinir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PosterThumbnailService {
+
+    /**
+     * Liste önizlemeleri ve profil kolajlarında kullanılan varsayılan genişlik.
+     */
+    public static final int PREVIEW_WIDTH = 160;
+
+    private final PosterStore posterStore;
+
+    @Value("${app.poster-thumbnails.path:${java.io.tmpdir}/moodmovies/thumbnails}")
+    private String thumbnailPath;
+
+    @Value("${app.poster-thumbnails.widths:160,320,480}")
+    private int[] allowedWidths;
+
+    @Value("${app.poster-thumbnails.workers:2}")
+    private int workers;
+
+    @Value("${app.poster-thumbnails.queue-capacity:64}")
+    private int queueCapacity;
+
+    private static final Pattern FILE_NAME = Pattern.compile("(.+)-([0-9a-f]{32})-w\\d+-\\w+\\.\\w+");
+
+    private final Map<String, Boolean> inFlight = new ConcurrentHashMap<>();
+
+    private Path directory;
+    private ThreadPoolExecutor executor;
+    private boolean webpSupported;
+
+    @PostConstruct
+    void init() throws IOException {
+        directory = Files.createDirectories(Path.of(thumbnailPath));
+        Arrays.sort(allowedWidths);
+        AtomicInteger threadCounter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "poster-thumbnail-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        // JDK ImageIO WebP yazıcısı içermez; classpath'te bir WebP eklentisi varsa otomatik kullanılır.
+        webpSupported = ImageIO.getImageWritersByMIMEType("image/webp").hasNext();
+        log.info("Poster thumbnail servisi hazır - Widths: {}, Workers: {}, WebP: {}",
+                Arrays.toString(allowedWidths), workers, webpSupported);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * İstenen genişliğe en yakın desteklenen türevi döndürür. Türev henüz üretilmemişse üretim arka planda
+     * başlatılır ve beklenmeden boş döner.
+     * @param filmId Film ID'si
+     * @param requestedWidth İstenen genişlik (piksel)
+     * @param accept İstemcinin Accept header'ı (WebP/JPEG seçimi için)
+     * @return Diskte hazır türev; poster yoksa veya türev henüz hazır değilse boş Optional
+     */
+    public Optional<Thumbnail> find(String filmId, int requestedWidth, String accept) {
+        Optional<PosterResource> poster = posterStore.find(filmId);
+        if (poster.isEmpty()) {
+            return Optional.empty();
+        }
+        int width = snapWidth(requestedWidth);
+        ThumbnailFormat format = negotiate(accept);
+        String etag = poster.get().getEtag() + "-w" + width + "-" + format.extension;
+        Path file = directory.resolve(filmId + "-" + etag + "." + format.extension);
+        if (Files.exists(file)) {
+            return Optional.of(new Thumbnail(file, format.mediaType, etag, width));
+        }
+
+        inFlight.computeIfAbsent(file.toString(), key -> submit(poster.get(), width, format, file));
+        return Optional.empty(); // Üretim arka planda sürer, bu istek orijinal postere düşer
+    }
+
+    /**
+     * Poster paketinde artık olmayan filmlerin ve poster değiştiği için eskiyen sürümlerin türevlerini siler.
+     */
+    @Scheduled(initialDelayString = "${app.poster-thumbnails.cleanup-initial-delay-ms:600000}",
+            fixedDelayString = "${app.poster-thumbnails.cleanup-interval-ms:3600000}")
+    public void removeStaleVariants() {
+        int removed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (!matcher.matches() || inFlight.containsKey(file.toString())) {
+                    continue; // Geçici dosya veya henüz yazılan türev
+                }
+                String currentEtag = posterStore.findEtag(matcher.group(1)).orElse(null);
+                if (!matcher.group(2).equals(currentEtag) && Files.deleteIfExists(file)) {
+                    removed++;
+                }
+            }
+            if (removed > 0) {
+                log.info("Eski poster türevleri silindi - Removed: {}", removed);
+            }
+        } catch (IOException e) {
+            log.error("❌ Poster türevleri temizlenemedi - Error: {}", e.getMessage(), e);
+        }
+    }
+
+    // --- Helper Metotlar ---
+
+    private Boolean submit(PosterResource poster, int width, ThumbnailFormat format, Path target) {
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(poster, width, format, target);
+                } catch (Exception e) {
+                    log.error("❌ Thumbnail üretim hatası - FilmId: {}, Width: {}, Error: {}",
+                            poster.getFilmId(), width, e.getMessage());
+                } finally {
+                    inFlight.remove(target.toString());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("⚠ Thumbnail kuyruğu dolu, istek orijinal postere yönlendiriliyor - FilmId: {}", poster.getFilmId());
+            return null; // computeIfAbsent null dönüşte kayıt eklemez
+        }
+        return Boolean.TRUE;
+    }
+
+    private Path generate(PosterResource poster, int width, ThumbnailFormat format, Path target) throws IOException {
+        long startTime = System.currentTimeMillis();
+        BufferedImage source;
+        try (InputStream in = poster.getInputStream()) {
+            source = ImageIO.read(in);
+        }
+        if (source == null) {
+            throw new IOException("Poster çözümlenemedi: " + poster.getFilmId());
+        }
+        int targetWidth = Math.min(width, source.getWidth());
+        int targetHeight = Math.max(1, Math.round(source.getHeight() * (targetWidth / (float) source.getWidth())));
+
+        BufferedImage scaled = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        Path temp = Files.createTempFile(directory, "thumb-", ".tmp");
+        try {
+            write(scaled, format, temp);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        log.debug("Thumbnail üretildi - FilmId: {}, Size: {}x{}, Format: {}, Duration: {}ms",
+                poster.getFilmId(), targetWidth, targetHeight, format, System.currentTimeMillis() - startTime);
+        return target;
+    }
+
+    private void write(BufferedImage image, ThumbnailFormat format, Path file) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByMIMEType(format.mediaType.toString());
+        if (!writers.hasNext()) {
+            throw new IOException("Görsel yazıcısı bulunamadı: " + format.mediaType);
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionType() == null && param.getCompressionTypes() != null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(0.8f);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private int snapWidth(int requestedWidth) {
+        for (int allowed : allowedWidths) {
+            if (allowed >= requestedWidth) {
+                return allowed;
+            }
+        }
+        return allowedWidths[allowedWidths.length - 1];
+    }
+
+    private ThumbnailFormat negotiate(String accept) {
+        if (webpSupported && accept != null && accept.contains(ThumbnailFormat.WEBP.mediaType.toString())) {
+            return ThumbnailFormat.WEBP;
+        }
+        return ThumbnailFormat.JPEG;
+    }
+
+    private enum ThumbnailFormat {
+        JPEG(MediaType.IMAGE_JPEG, "jpg"),
+        WEBP(MediaType.parseMediaType("image/webp"), "webp");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        ThumbnailFormat(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+    }
+
+    /**
+     * Diskte hazır bekleyen bir poster türevi.
+     */
+    public record Thumbnail(Path file, MediaType mediaType, String etag, int width) {
+    }
+}
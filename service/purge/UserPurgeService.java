@@ -0,0 +1,192 @@
+package com.example.moodmovies.service.purge;
+
+import com.example.moodmovies.exception.UserNotFoundException;
+import com.example.moodmovies.model.UserPurgeJob;
+import com.example.moodmovies.model.UserPurgeJob.Step;
+import com.example.moodmovies.repository.BulkDeleteRepository;
+import com.example.moodmovies.repository.UserPurgeJobRepository;
+import com.example.moodmovies.repository.UserRepository;
+import com.example.moodmovies.security.UserPrincipalCache;
+import com.example.moodmovies.service.stats.FavoriteLeaderboard;
+import com.example.moodmovies.service.stats.FilmStatsService;
+import com.example.moodmovies.service.stats.UserStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hesap silme işlerini arka planda yürüten servis.
+ *
+ * İstek sadece USER_PURGE_JOB tablosuna bir iş kaydı ekler ve hemen döner. Zamanlanmış görev bekleyen işleri alır
+ * ve kullanıcının verilerini {@link Step} sırasıyla, her biri kendi işleminde çalışan sınırlı parçalar halinde siler.
+ * Her parçadan sonra ilerleme aynı işlemde kaydedildiği için uygulama yeniden başlarsa iş kaldığı adımdan devam eder.
+ *
+ * Birden fazla node çalışırken her iş önce tek bir UPDATE ... OUTPUT ile sahiplenilir ve sadece sahibi tarafından
+ * işlenir. Her parça işlemi kiralamayı yeniler; kiralamayı başka bir node devraldıysa parça çalışmaz.
+ *
+ * Silme sırasında kullanıcı yeni içerik oluşturursa son adımdaki kullanıcı silme yabancı anahtar hatası verir;
+ * bu durumda iş ilk adıma döner ve kalan içerik bir sonraki turda silinir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserPurgeService {
+
+    private final UserPurgeJobRepository userPurgeJobRepository;
+    private final UserRepository userRepository;
+    private final BulkDeleteRepository bulkDeleteRepository;
+    private final UserStatsService userStatsService;
+    private final FilmStatsService filmStatsService;
+    private final FavoriteLeaderboard favoriteLeaderboard;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.user-purge.jobs-per-run:10}")
+    private int jobsPerRun;
+
+    @Value("${app.user-purge.lease-ms:300000}")
+    private long leaseMs;
+
+    // Bu node'un iş sahipliği kimliği
+    private final String owner = UUID.randomUUID().toString();
+
+    /**
+     * Kullanıcı için silme işi oluşturur. Aynı kullanıcı için bekleyen bir iş varsa yenisi eklenmez.
+     * @param userId Silinecek kullanıcının ID'si
+     */
+    @Transactional
+    public void requestPurge(String userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("Kullanıcı bulunamadı: " + userId);
+        }
+        if (!userPurgeJobRepository.existsById(userId)) {
+            LocalDateTime now = LocalDateTime.now();
+            userPurgeJobRepository.save(new UserPurgeJob(userId, Step.values()[0], 0, now, now, null, null));
+            log.info("Hesap silme işi oluşturuldu - UserId: {}", userId);
+        }
+        userPrincipalCache.evict(userId);
+    }
+
+    /**
+     * Bekleyen silme işlerini en eskiden başlayarak sahiplenir ve işler.
+     */
+    @Scheduled(initialDelayString = "${app.user-purge.poll-interval-ms:5000}",
+            fixedDelayString = "${app.user-purge.poll-interval-ms:5000}")
+    public void processPending() {
+        List<String> userIds;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            userIds = transactionTemplate.execute(status ->
+                    userPurgeJobRepository.claimPending(owner, jobsPerRun, now.minusNanos(leaseMs * 1_000_000L), now));
+        } catch (Exception e) {
+            log.error("❌ Bekleyen hesap silme işleri sahiplenilemedi - Error: {}", e.getMessage(), e);
+            return;
+        }
+        if (userIds == null) {
+            return;
+        }
+        for (String userId : userIds) {
+            process(userId);
+        }
+    }
+
+    private void process(String userId) {
+        long startTime = System.currentTimeMillis();
+        try {
+            while (Boolean.TRUE.equals(transactionTemplate.execute(status -> runChunk(userId)))) {
+                // Her parça kendi işleminde çalışır; kilitler parça sonunda bırakılır
+            }
+            UserPurgeJob job = userPurgeJobRepository.findById(userId).orElse(null);
+            if (job != null && job.getStep() == Step.DONE) {
+                log.info("✅ Hesap silindi - UserId: {}, DeletedRows: {}, Duration: {}ms",
+                        userId, job.getDeletedRows(), System.currentTimeMillis() - startTime);
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.warn("⚠ Hesap silinemedi, silme sırasında yeni içerik oluşmuş; iş baştan tekrarlanacak - UserId: {}", userId);
+            transactionTemplate.executeWithoutResult(status -> {
+                if (userPurgeJobRepository.renewClaim(userId, owner, LocalDateTime.now()) == 0) {
+                    return; // İş başka bir node'a geçmiş
+                }
+                userPurgeJobRepository.findById(userId).ifPresent(job -> {
+                    job.setStep(Step.values()[0]);
+                    job.setLastUpd(LocalDateTime.now());
+                });
+            });
+        } catch (Exception e) {
+            log.error("❌ Hesap silme hatası, bir sonraki turda devam edilecek - UserId: {}, Error: {}",
+                    userId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * İşin bulunduğu adımdan bir parça siler ve ilerlemeyi kaydeder. Önce kiralama yenilenir; iş artık bu node'a
+     * ait değilse hiçbir şey silinmez.
+     * @return İşin devam eden adımı varsa ve iş hâlâ bu node'a aitse true
+     */
+    private boolean runChunk(String userId) {
+        if (userPurgeJobRepository.renewClaim(userId, owner, LocalDateTime.now()) == 0) {
+            log.warn("⚠ Hesap silme işi başka bir node'a geçmiş, bırakılıyor - UserId: {}", userId);
+            return false;
+        }
+        UserPurgeJob job = userPurgeJobRepository.findById(userId).orElse(null);
+        if (job == null || job.getStep() == Step.DONE) {
+            return false;
+        }
+        int deleted = deleteChunk(job.getStep(), userId);
+        job.setDeletedRows(job.getDeletedRows() + deleted);
+        if (deleted < bulkDeleteRepository.chunkSize()) {
+            job.setStep(Step.values()[job.getStep().ordinal() + 1]);
+        }
+        job.setLastUpd(LocalDateTime.now());
+        return job.getStep() != Step.DONE;
+    }
+
+    private int deleteChunk(Step step, String userId) {
+        return switch (step) {
+            case LIST_ENTRIES -> bulkDeleteRepository.deleteChunk("MOODMOVIES_FILMS_LIST_INFO",
+                    "USER_ID = ? OR LIST_ID IN (SELECT LIST_ID FROM MOODMOVIES_FILMS_LIST WHERE USER_ID = ?)", userId, userId);
+            case LISTS -> bulkDeleteRepository.deleteChunk("MOODMOVIES_FILMS_LIST", "USER_ID = ?", userId);
+            case FORUM_COMMENTS -> bulkDeleteRepository.deleteChunk("MOODMOVIES_COMMENT",
+                    "USER_ID = ? OR CONTEXT_ID IN (SELECT CONTEXT_ID FROM MOODMOVIES_FORUM WHERE USER_ID = ?)", userId, userId);
+            case FORUM_POSTS -> bulkDeleteRepository.deleteChunk("MOODMOVIES_FORUM", "USER_ID = ?", userId);
+            case FILM_POINTS -> deleteFilmPointsChunk(userId);
+            case SUGGESTIONS -> bulkDeleteRepository.deleteChunk("MOODMOVIES_SUGGEST", "USER_ID = ?", userId);
+            case RESPONSES -> bulkDeleteRepository.deleteChunk("MOODMOVIES_RESPONSE", "USER_ID = ?", userId);
+            case ACCOUNT -> deleteAccount(userId);
+            case DONE -> 0;
+        };
+    }
+
+    // Silinen puan ve favoriler film istatistiklerinden commit sonrasında düşülür
+    private int deleteFilmPointsChunk(String userId) {
+        List<Object[]> rows = bulkDeleteRepository.deleteFilmPointsChunk(userId);
+        for (Object[] row : rows) {
+            String filmId = (String) row[0];
+            Integer point = (Integer) row[1];
+            Integer fav = (Integer) row[2];
+            if (point != null) {
+                filmStatsService.recordRatingChange(filmId, point, null);
+            }
+            if (Integer.valueOf(1).equals(fav)) {
+                favoriteLeaderboard.recordFavoriteChange(filmId, false);
+            }
+        }
+        return rows.size();
+    }
+
+    private int deleteAccount(String userId) {
+        userStatsService.remove(userId);
+        int deleted = bulkDeleteRepository.deleteChunk("MOODMOVIES_USERS", "USER_ID = ?", userId);
+        userPrincipalCache.evict(userId);
+        return deleted;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.moodmovies.service.search;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Kullanıcıdan gelen tür/ülke filtre değerlerini katalog bitmap'lerine çeviren yardımcı.
+ * Karşılaştırma {@link TurkishTextNormalizer} ile yapılır; "bilim kurgu" ve "Bilim Kurgu" aynı filtredir.
+ */
+final class FacetFilters {
+
+    private FacetFilters() {
+    }
+
+    /**
+     * @param values Katalogdaki facet değerleri
+     * @param filter Kullanıcının gönderdiği değer
+     * @param bitmapOf Değerin bitmap'ini (kopya) döndüren fonksiyon
+     * @return Normalize edilmiş hali filtreyle eşleşen değerlerin birleşimi; eşleşme yoksa boş küme
+     */
+    static BitSet matching(List<String> values, String filter, Function<String, BitSet> bitmapOf) {
+        String normalizedFilter = TurkishTextNormalizer.normalize(filter);
+        BitSet result = new BitSet();
+        for (String value : values) {
+            if (TurkishTextNormalizer.normalize(value).equals(normalizedFilter)) {
+                result.or(bitmapOf.apply(value));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.moodmovies.service.search;
+
+import com.example.moodmovies.repository.FilmPointRepository;
+import com.example.moodmovies.service.catalog.FilmCatalogRefreshedEvent;
+import com.example.moodmovies.service.catalog.FilmCatalogSnapshot;
+import com.example.moodmovies.service.stats.FilmStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Tür / ülke filtresiyle film gezinme indeksi.
+ *
+ * Filtreler katalog snapshot'ındaki tür ve ülke bitmap'lerinin kesişimiyle uygulanır. Her sıralama anahtarı için
+ * filmlerin ordinal'leri önceden sıralanmış bir permütasyon dizisinde tutulur; sayfa, bu dizi sırayla dolaşılıp
+ * filtre bitmap'inde bulunan filmler seçilerek üretilir. Değeri olmayan filmler (ör. çıkış tarihi bilinmeyen)
+ * yönden bağımsız olarak her zaman sona eklenir. SQL sorgusu çalıştırılmaz.
+ *
+ * Katalog sıralamaları her snapshot'ta yeniden kurulur; kullanıcı puanı ortalaması sıralaması ise
+ * film istatistiklerinden zamanlanmış olarak ayrıca yenilenir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FilmBrowseIndex {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+
+    private final FilmPointRepository filmPointRepository;
+    private final FilmStatsService filmStatsService;
+
+    private volatile BrowseData data;
+
+    @EventListener
+    public void onCatalogRefreshed(FilmCatalogRefreshedEvent event) {
+        long startTime = System.currentTimeMillis();
+        FilmCatalogSnapshot snapshot = event.current();
+        Map<FilmBrowseSort, SortOrder> orders = new EnumMap<>(FilmBrowseSort.class);
+        orders.put(FilmBrowseSort.RELEASE_DATE, byInt(snapshot, snapshot::releaseEpochDay));
+        orders.put(FilmBrowseSort.RATING, byInt(snapshot, snapshot::ratingUnscaled));
+        orders.put(FilmBrowseSort.NAME, byName(snapshot));
+        orders.put(FilmBrowseSort.AVERAGE_RATING, byAverageRating(snapshot));
+        data = new BrowseData(snapshot, orders);
+        log.info("Film gezinme indeksi kuruldu - Films: {}, Duration: {}ms",
+                snapshot.size(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Kullanıcı puanı ortalamalarını yeniden okuyup sadece bu anahtarın sıralamasını değiştirir.
+     */
+    @Scheduled(initialDelayString = "${app.film-browse.average-refresh-ms:300000}",
+            fixedDelayString = "${app.film-browse.average-refresh-ms:300000}")
+    public void refreshAverageRatings() {
+        BrowseData current = data;
+        if (current == null) {
+            return;
+        }
+        Map<FilmBrowseSort, SortOrder> orders = new EnumMap<>(current.orders());
+        orders.put(FilmBrowseSort.AVERAGE_RATING, byAverageRating(current.snapshot()));
+        data = new BrowseData(current.snapshot(), orders);
+    }
+
+    public boolean isReady() {
+        return data != null;
+    }
+
+    /**
+     * @param genres Filmin sahip olması gereken türler (hepsi; boş olabilir)
+     * @param country Ülke filtresi (opsiyonel)
+     * @param sort Sıralama anahtarı
+     * @param ascending Artan sıralama ise true
+     * @param page Sayfa numarası (0'dan başlar)
+     * @param size Sayfa boyutu
+     * @return Sayfadaki film ID'leri ve filtreye uyan toplam film sayısı
+     */
+    public BrowseResult browse(List<String> genres, String country, FilmBrowseSort sort, boolean ascending, int page, int size) {
+        BrowseData current = data;
+        if (current == null) {
+            return new BrowseResult(List.of(), 0);
+        }
+        FilmCatalogSnapshot snapshot = current.snapshot();
+        BitSet filter = snapshot.allFilms();
+        if (genres != null) {
+            for (String genre : genres) {
+                filter.and(FacetFilters.matching(snapshot.facetGenres(), genre, snapshot::genreBitmap));
+            }
+        }
+        if (country != null) {
+            filter.and(FacetFilters.matching(snapshot.facetCountries(), country, snapshot::countryBitmap));
+        }
+        int total = filter.cardinality();
+        long offset = (long) page * size;
+        if (size <= 0 || offset >= total) {
+            return new BrowseResult(List.of(), total);
+        }
+
+        SortOrder order = current.orders().get(sort);
+        List<String> filmIds = new ArrayList<>(size);
+        int skipped = 0;
+        int[] sorted = order.sorted();
+        for (int i = 0; i < sorted.length && filmIds.size() < size; i++) {
+            int ordinal = sorted[ascending ? i : sorted.length - 1 - i];
+            if (filter.get(ordinal) && skipped++ >= offset) {
+                filmIds.add(snapshot.id(ordinal));
+            }
+        }
+        for (int i = 0; i < order.missing().length && filmIds.size() < size; i++) {
+            int ordinal = order.missing()[i];
+            if (filter.get(ordinal) && skipped++ >= offset) {
+                filmIds.add(snapshot.id(ordinal));
+            }
+        }
+        return new BrowseResult(filmIds, total);
+    }
+
+    // --- Sıralama Dizileri ---
+
+    /**
+     * Değer ve ordinal tek bir long anahtara paketlenir (üst 32 bit değer, alt 32 bit ordinal);
+     * böylece kutulama olmadan Arrays.sort ile değere, eşitlikte ordinal'e göre sıralanır.
+     */
+    private static SortOrder byInt(FilmCatalogSnapshot snapshot, IntUnaryOperator valueOf) {
+        long[] keys = new long[snapshot.size()];
+        int[] missing = new int[snapshot.size()];
+        int count = 0;
+        int missingCount = 0;
+        for (int ordinal = 0; ordinal < snapshot.size(); ordinal++) {
+            int value = valueOf.applyAsInt(ordinal);
+            if (value == FilmCatalogSnapshot.NULL_INT) {
+                missing[missingCount++] = ordinal;
+            } else {
+                keys[count++] = ((long) value << 32) | ordinal;
+            }
+        }
+        Arrays.sort(keys, 0, count);
+        int[] sorted = new int[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = (int) keys[i];
+        }
+        return new SortOrder(sorted, Arrays.copyOf(missing, missingCount));
+    }
+
+    private static SortOrder byName(FilmCatalogSnapshot snapshot) {
+        Collator collator = Collator.getInstance(TURKISH);
+        collator.setStrength(Collator.SECONDARY);
+        CollationKey[] keys = new CollationKey[snapshot.size()];
+        List<Integer> present = new ArrayList<>(snapshot.size());
+        List<Integer> missing = new ArrayList<>();
+        for (int ordinal = 0; ordinal < snapshot.size(); ordinal++) {
+            String name = snapshot.name(ordinal);
+            if (name == null || name.isBlank()) {
+                missing.add(ordinal);
+            } else {
+                keys[ordinal] = collator.getCollationKey(name.trim());
+                present.add(ordinal);
+            }
+        }
+        present.sort(Comparator.<Integer, CollationKey>comparing(ordinal -> keys[ordinal]).thenComparing(Comparator.naturalOrder()));
+        return new SortOrder(present.stream().mapToInt(Integer::intValue).toArray(),
+                missing.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private SortOrder byAverageRating(FilmCatalogSnapshot snapshot) {
+        if (filmStatsService.isReady()) {
+            // Ortalama 1/1000 hassasiyetle tamsayıya çevrilip aynı paketli sıralamayla dizilir
+            return byInt(snapshot, ordinal -> {
+                FilmStatsService.FilmRatingStats stats = filmStatsService.get(snapshot.id(ordinal));
+                return stats.count() > 0
+                        ? (int) Math.round(stats.sum() * 1000.0 / stats.count())
+                        : FilmCatalogSnapshot.NULL_INT;
+            });
+        }
+        Map<String, Double> averages = new HashMap<>();
+        try {
+            for (Object[] row : filmPointRepository.findAverageRatingsGroupedByFilmId()) {
+                averages.put((String) row[0], ((Number) row[1]).doubleValue());
+            }
+        } catch (Exception e) {
+            // Katalog sıralamaları yine kurulur; ortalama sıralaması bir sonraki yenilemede düzelir
+            log.error("❌ Ortalama puanlar okunamadı - Error: {}", e.getMessage(), e);
+        }
+        return byInt(snapshot, ordinal -> {
+            Double average = averages.get(snapshot.id(ordinal));
+            return average != null ? (int) Math.round(average * 1000) : FilmCatalogSnapshot.NULL_INT;
+        });
+    }
+
+    /**
+     * @param sorted Değeri olan filmlerin artan sıradaki ordinal'leri
+     * @param missing Değeri olmayan filmlerin ordinal'leri
+     */
+    private record SortOrder(int[] sorted, int[] missing) {
+    }
+
+    private record BrowseData(FilmCatalogSnapshot snapshot, Map<FilmBrowseSort, SortOrder> orders) {
+    }
+
+    public record BrowseResult(List<String> filmIds, int total) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.moodmovies.service.search;
+
+/**
+ * Film gezinme (browse) endpoint'inin desteklediği sıralama anahtarları.
+ * Her anahtar için {@link FilmBrowseIndex} önceden hesaplanmış bir sıralama (permütasyon) dizisi tutar.
+ */
+public enum FilmBrowseSort {
+    RELEASE_DATE("releaseDate"),
+    RATING("rating"),
+    NAME("name"),
+    AVERAGE_RATING("averageRating");
+
+    private final String parameter;
+
+    FilmBrowseSort(String parameter) {
+        this.parameter = parameter;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    /**
+     * @param parameter İstekteki sort değeri (ör. "releaseDate")
+     * @return Eşleşen anahtar; tanınmayan değerlerde RELEASE_DATE
+     */
+    public static FilmBrowseSort fromParameter(String parameter) {
+        for (FilmBrowseSort sort : values()) {
+            if (sort.parameter.equalsIgnoreCase(parameter) || sort.name().equalsIgnoreCase(parameter)) {
+                return sort;
+            }
+        }
+        return RELEASE_DATE;
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.moodmovies.service.search;
+
+import com.example.moodmovies.service.catalog.FilmCatalogRefreshedEvent;
+import com.example.moodmovies.service.catalog.FilmCatalogSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Film kataloğu üzerinde BM25 sıralamalı tam metin arama indeksi.
+ *
+ * Ad, tür, ülke ve konu (plot) alanları {@link TurkishTextNormalizer} ile kelimelere ayrılır ve
+ * ağırlıklı terim frekanslarıyla (ad > tür > ülke > konu) film ordinal'leri üzerinde postings listelerine yazılır.
+ * Facet sayımları (tür, ülke, on yıl) katalog snapshot'ındaki bitmap'lerin eşleşen kümeyle kesişiminden hesaplanır;
+ * her boyutun sayımında o boyutun kendi filtresi uygulanmaz, böylece istemci alternatif seçenekleri de görür.
+ *
+ * İndeks her katalog yenilemesinde yeni snapshot'ın ordinal'leriyle baştan kurulur ve atomik olarak değiştirilir.
+ */
+@Component
+@Slf4j
+public class FilmSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float GENRE_WEIGHT = 2.0f;
+    private static final float COUNTRY_WEIGHT = 1.5f;
+    private static final float PLOT_WEIGHT = 1.0f;
+
+    private volatile IndexData data;
+
+    @EventListener
+    public void onCatalogRefreshed(FilmCatalogRefreshedEvent event) {
+        long startTime = System.currentTimeMillis();
+        IndexData next = build(event.current());
+        data = next;
+        log.info("Film arama indeksi kuruldu - Films: {}, Terms: {}, Duration: {}ms",
+                next.snapshot().size(), next.postings().size(), System.currentTimeMillis() - startTime);
+    }
+
+    public boolean isReady() {
+        return data != null;
+    }
+
+    /**
+     * Sorguyu BM25 ile puanlar, filtreleri uygular ve istenen sayfayı facet sayımlarıyla döndürür.
+     * @param query Arama metni
+     * @param genre Tür filtresi (opsiyonel)
+     * @param country Ülke filtresi (opsiyonel)
+     * @param decade On yıl filtresi, ör. 1990 (opsiyonel)
+     * @param page Sayfa numarası (0'dan başlar)
+     * @param size Sayfa boyutu
+     * @return Sayfadaki film ID'leri, toplam sonuç sayısı ve facet'ler
+     */
+    public SearchResult search(String query, String genre, String country, Integer decade, int page, int size) {
+        IndexData current = data;
+        if (current == null) {
+            return SearchResult.empty();
+        }
+        FilmCatalogSnapshot snapshot = current.snapshot();
+        float[] scores = new float[snapshot.size()];
+        BitSet matched = new BitSet(snapshot.size());
+
+        for (String term : TurkishTextNormalizer.tokenize(query)) {
+            Postings postings = current.postings().get(term);
+            if (postings == null) {
+                continue;
+            }
+            int documentFrequency = postings.ordinals().length;
+            double idf = Math.log(1 + (snapshot.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            for (int i = 0; i < documentFrequency; i++) {
+                int ordinal = postings.ordinals()[i];
+                float tf = postings.frequencies()[i];
+                float norm = K1 * (1 - B + B * current.documentLengths()[ordinal] / current.averageDocumentLength());
+                scores[ordinal] += (float) (idf * (tf * (K1 + 1)) / (tf + norm));
+                matched.set(ordinal);
+            }
+        }
+
+        BitSet genreFilter = genre != null ? FacetFilters.matching(snapshot.facetGenres(), genre, snapshot::genreBitmap) : null;
+        BitSet countryFilter = country != null ? FacetFilters.matching(snapshot.facetCountries(), country, snapshot::countryBitmap) : null;
+        BitSet decadeFilter = decade != null ? snapshot.decadeBitmap(decade) : null;
+
+        // Her boyutun facet'i, diğer boyutların filtreleri uygulanmış küme üzerinden sayılır
+        Map<String, Integer> genreFacets = new LinkedHashMap<>();
+        BitSet forGenres = filtered(matched, countryFilter, decadeFilter);
+        for (String value : snapshot.facetGenres()) {
+            addFacet(genreFacets, value, forGenres, snapshot.genreBitmap(value));
+        }
+        Map<String, Integer> countryFacets = new LinkedHashMap<>();
+        BitSet forCountries = filtered(matched, genreFilter, decadeFilter);
+        for (String value : snapshot.facetCountries()) {
+            addFacet(countryFacets, value, forCountries, snapshot.countryBitmap(value));
+        }
+        Map<Integer, Integer> decadeFacets = new LinkedHashMap<>();
+        BitSet forDecades = filtered(matched, genreFilter, countryFilter);
+        for (Integer value : snapshot.decades()) {
+            addFacet(decadeFacets, value, forDecades, snapshot.decadeBitmap(value));
+        }
+
+        BitSet hits = filtered(matched, genreFilter, countryFilter, decadeFilter);
+        List<String> filmIds = topPage(snapshot, scores, hits, page, size);
+        return new SearchResult(filmIds, hits.cardinality(), sortByCount(genreFacets), sortByCount(countryFacets), decadeFacets);
+    }
+
+    // --- Helper Metotlar ---
+
+    private IndexData build(FilmCatalogSnapshot snapshot) {
+        Map<String, PostingsBuilder> builders = new HashMap<>();
+        float[] documentLengths = new float[snapshot.size()];
+        double totalLength = 0;
+        for (int ordinal = 0; ordinal < snapshot.size(); ordinal++) {
+            Map<String, Float> frequencies = new HashMap<>();
+            float length = 0;
+            length += addField(frequencies, snapshot.name(ordinal), NAME_WEIGHT);
+            for (String genre : snapshot.genres(ordinal)) {
+                length += addField(frequencies, genre, GENRE_WEIGHT);
+            }
+            length += addField(frequencies, snapshot.country(ordinal), COUNTRY_WEIGHT);
+            length += addField(frequencies, snapshot.plot(ordinal), PLOT_WEIGHT);
+            for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+                builders.computeIfAbsent(entry.getKey(), key -> new PostingsBuilder()).add(ordinal, entry.getValue());
+            }
+            documentLengths[ordinal] = length;
+            totalLength += length;
+        }
+        Map<String, Postings> postings = new HashMap<>(Math.max(16, builders.size() * 2));
+        builders.forEach((term, builder) -> postings.put(term, builder.build()));
+        float averageLength = snapshot.size() > 0 ? (float) (totalLength / snapshot.size()) : 1f;
+        return new IndexData(snapshot, postings, documentLengths, Math.max(averageLength, 1f));
+    }
+
+    private static float addField(Map<String, Float> frequencies, String text, float weight) {
+        List<String> tokens = TurkishTextNormalizer.tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Float::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private static BitSet filtered(BitSet base, BitSet... filters) {
+        BitSet result = (BitSet) base.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    private static <K> void addFacet(Map<K, Integer> facets, K value, BitSet base, BitSet bitmap) {
+        bitmap.and(base);
+        int count = bitmap.cardinality();
+        if (count > 0) {
+            facets.put(value, count);
+        }
+    }
+
+    private static Map<String, Integer> sortByCount(Map<String, Integer> facets) {
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        facets.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    /**
+     * Sadece istenen sayfanın sonuna kadar olan en iyi sonuçlar sınırlı bir heap'te tutulur.
+     */
+    private static List<String> topPage(FilmCatalogSnapshot snapshot, float[] scores, BitSet hits, int page, int size) {
+        long limit = (long) (page + 1) * size;
+        if (size <= 0 || limit > Integer.MAX_VALUE || page * (long) size >= hits.cardinality()) {
+            return List.of();
+        }
+        // En kötü sonuç heap'in tepesinde: düşük puan, eşitlikte büyük ordinal
+        Comparator<Integer> worstFirst = Comparator.<Integer>comparingDouble(ordinal -> scores[ordinal])
+                .thenComparing(Comparator.<Integer>reverseOrder());
+        PriorityQueue<Integer> heap = new PriorityQueue<>((int) limit + 1, worstFirst);
+        for (int ordinal = hits.nextSetBit(0); ordinal >= 0; ordinal = hits.nextSetBit(ordinal + 1)) {
+            heap.offer(ordinal);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Integer> ranked = new ArrayList<>(heap);
+        ranked.sort(worstFirst.reversed());
+        List<String> filmIds = new ArrayList<>(size);
+        for (int i = page * size; i < ranked.size(); i++) {
+            filmIds.add(snapshot.id(ranked.get(i)));
+        }
+        return filmIds;
+    }
+
+    private static final class PostingsBuilder {
+        private int[] ordinals = new int[4];
+        private float[] frequencies = new float[4];
+        private int count;
+
+        private void add(int ordinal, float frequency) {
+            if (count == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, count * 2);
+                frequencies = Arrays.copyOf(frequencies, count * 2);
+            }
+            ordinals[count] = ordinal;
+            frequencies[count] = frequency;
+            count++;
+        }
+
+        private Postings build() {
+            return new Postings(Arrays.copyOf(ordinals, count), Arrays.copyOf(frequencies, count));
+        }
+    }
+
+    private record Postings(int[] ordinals, float[] frequencies) {
+    }
+
+    private record IndexData(FilmCatalogSnapshot snapshot, Map<String, Postings> postings,
+                             float[] documentLengths, float averageDocumentLength) {
+    }
+
+    /**
+     * Arama sonucu: sayfadaki film ID'leri (puan sırasıyla), toplam eşleşme ve facet sayımları.
+     */
+    public record SearchResult(List<String> filmIds, int totalHits,
+                               Map<String, Integer> genreFacets, Map<String, Integer> countryFacets,
+                               Map<Integer, Integer> decadeFacets) {
+
+        static SearchResult empty() {
+            return new SearchResult(List.of(), 0, Map.of(), Map.of(), Map.of());
+        }
+    }
+}
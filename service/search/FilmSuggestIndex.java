@@ -0,0 +1,368 @@
+package com.example.moodmovies.service.search;
+
+import com.example.moodmovies.service.catalog.FilmCatalogRefreshedEvent;
+import com.example.moodmovies.service.catalog.FilmCatalogSnapshot;
+import com.example.moodmovies.service.stats.FavoriteLeaderboard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Film adları için bellek içi otomatik tamamlama (typeahead) indeksi.
+ *
+ * Film adları {@link TurkishTextNormalizer} ile kelimelere ayrılır. Kelimeler bir prefix trie'de ve
+ * trigram indeksinde tutulur. Sorgudaki her kelime bir film kelimesinin başlangıcıyla eşleşmelidir;
+ * yeterli sonuç yoksa trigram adayları üzerinden tek harf hatasına (ekleme, silme, değiştirme, yer değiştirme)
+ * tolerans gösterilir. Sonuçlar önce eşleşme kalitesine, sonra favori sayısına ({@link FavoriteLeaderboard}) göre sıralanır.
+ *
+ * İndeks katalog yenilendiğinde artımlı güncellenir: sadece eklenen, adı değişen veya kaldırılan filmler işlenir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FilmSuggestIndex {
+
+    private static final int MIN_FUZZY_LENGTH = 3;
+    private static final int TIER_NAME_PREFIX = 0;
+    private static final int TIER_WORD_PREFIX = 1;
+    private static final int TIER_FUZZY = 2;
+
+    private final FavoriteLeaderboard favoriteLeaderboard;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, String> indexedNames = new HashMap<>(); // filmId -> normalize edilmiş ad
+    private final Map<String, Set<String>> wordFilms = new HashMap<>(); // kelime -> filmId'ler
+    private final Map<String, Set<String>> trigramWords = new HashMap<>(); // trigram -> kelimeler
+    private final TrieNode root = new TrieNode();
+
+    private volatile boolean ready;
+
+    @EventListener
+    public void onCatalogRefreshed(FilmCatalogRefreshedEvent event) {
+        long startTime = System.currentTimeMillis();
+        FilmCatalogSnapshot snapshot = event.current();
+        int changed = 0;
+        int removed = 0;
+        int films;
+        int words;
+        lock.writeLock().lock();
+        try {
+            Set<String> live = new HashSet<>(Math.max(16, snapshot.size() * 2));
+            for (int ordinal = 0; ordinal < snapshot.size(); ordinal++) {
+                String filmId = snapshot.id(ordinal);
+                String name = TurkishTextNormalizer.normalize(snapshot.name(ordinal));
+                live.add(filmId);
+                String previous = indexedNames.get(filmId);
+                if (!name.equals(previous)) {
+                    if (previous != null) {
+                        removeFilm(filmId, previous);
+                    }
+                    addFilm(filmId, name);
+                    changed++;
+                }
+            }
+            Iterator<Map.Entry<String, String>> iterator = indexedNames.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, String> entry = iterator.next();
+                if (!live.contains(entry.getKey())) {
+                    removeWords(entry.getKey(), entry.getValue());
+                    iterator.remove();
+                    removed++;
+                }
+            }
+            films = indexedNames.size();
+            words = wordFilms.size();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Film öneri indeksi güncellendi - Changed: {}, Removed: {}, Films: {}, Words: {}, Duration: {}ms",
+                changed, removed, films, words, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * İndeks en az bir kez kurulduysa true döner.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Sorguya uyan film ID'lerini en iyi eşleşmeden başlayarak döndürür.
+     * @param query Kullanıcının yazdığı metin
+     * @param limit En fazla sonuç sayısı
+     * @return Film ID'leri
+     */
+    public List<String> suggest(String query, int limit) {
+        List<String> tokens = TurkishTextNormalizer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String normalizedQuery = String.join(" ", tokens);
+        Map<String, Integer> tiers = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            Set<String> exact = null;
+            for (String token : tokens) {
+                Set<String> films = filmsWithPrefix(token);
+                exact = intersect(exact, films);
+                if (exact.isEmpty()) {
+                    break;
+                }
+            }
+            for (String filmId : exact) {
+                tiers.put(filmId, indexedNames.get(filmId).startsWith(normalizedQuery) ? TIER_NAME_PREFIX : TIER_WORD_PREFIX);
+            }
+
+            if (tiers.size() < limit) {
+                Set<String> fuzzy = null;
+                for (String token : tokens) {
+                    Set<String> films = filmsWithPrefix(token);
+                    if (token.length() >= MIN_FUZZY_LENGTH) {
+                        for (String word : wordsWithinOneEdit(token)) {
+                            films.addAll(wordFilms.get(word));
+                        }
+                    }
+                    fuzzy = intersect(fuzzy, films);
+                    if (fuzzy.isEmpty()) {
+                        break;
+                    }
+                }
+                for (String filmId : fuzzy) {
+                    tiers.putIfAbsent(filmId, TIER_FUZZY);
+                }
+            }
+
+            // Favori sayıları sıralama sırasında değişebilir; karşılaştırıcı tutarlı kalsın diye önce kopyalanır
+            Map<String, Long> favorites = new HashMap<>(tiers.size() * 2);
+            for (String filmId : tiers.keySet()) {
+                favorites.put(filmId, favoriteLeaderboard.favoriteCount(filmId));
+            }
+            return tiers.keySet().stream()
+                    .sorted(Comparator.<String>comparingInt(tiers::get)
+                            .thenComparing(favorites::get, Comparator.reverseOrder())
+                            .thenComparing(indexedNames::get))
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- İndeks Bakımı ---
+
+    private void addFilm(String filmId, String name) {
+        indexedNames.put(filmId, name);
+        for (String word : words(name)) {
+            Set<String> films = wordFilms.get(word);
+            if (films == null) {
+                films = new HashSet<>();
+                wordFilms.put(word, films);
+                insertWord(word);
+                for (String trigram : trigrams(word)) {
+                    trigramWords.computeIfAbsent(trigram, key -> new HashSet<>()).add(word);
+                }
+            }
+            films.add(filmId);
+        }
+    }
+
+    private void removeFilm(String filmId, String name) {
+        removeWords(filmId, name);
+        indexedNames.remove(filmId);
+    }
+
+    private void removeWords(String filmId, String name) {
+        for (String word : words(name)) {
+            Set<String> films = wordFilms.get(word);
+            if (films == null) {
+                continue;
+            }
+            films.remove(filmId);
+            if (films.isEmpty()) {
+                wordFilms.remove(word);
+                deleteWord(word);
+                for (String trigram : trigrams(word)) {
+                    Set<String> wordsOfTrigram = trigramWords.get(trigram);
+                    if (wordsOfTrigram != null) {
+                        wordsOfTrigram.remove(word);
+                        if (wordsOfTrigram.isEmpty()) {
+                            trigramWords.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void insertWord(String word) {
+        TrieNode node = root;
+        for (int i = 0; i < word.length(); i++) {
+            node = node.children.computeIfAbsent(word.charAt(i), key -> new TrieNode());
+        }
+        node.word = word;
+    }
+
+    private void deleteWord(String word) {
+        Deque<TrieNode> path = new ArrayDeque<>();
+        TrieNode node = root;
+        for (int i = 0; i < word.length() && node != null; i++) {
+            path.push(node);
+            node = node.children.get(word.charAt(i));
+        }
+        if (node == null) {
+            return;
+        }
+        node.word = null;
+        // Boşalan dalları aşağıdan yukarıya buda
+        for (int i = word.length() - 1; i >= 0; i--) {
+            TrieNode parent = path.pop();
+            if (node.word != null || !node.children.isEmpty()) {
+                break;
+            }
+            parent.children.remove(word.charAt(i));
+            node = parent;
+        }
+    }
+
+    // --- Sorgu Yardımcıları ---
+
+    private Set<String> filmsWithPrefix(String prefix) {
+        Set<String> films = new HashSet<>();
+        TrieNode node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node == null) {
+            return films;
+        }
+        Deque<TrieNode> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            TrieNode current = stack.pop();
+            if (current.word != null) {
+                films.addAll(wordFilms.get(current.word));
+            }
+            current.children.values().forEach(stack::push);
+        }
+        return films;
+    }
+
+    /**
+     * Başlangıcı sorgu kelimesine en fazla bir düzenleme uzaklığında olan kelimeleri bulur.
+     * Tek bir düzenleme en fazla üç trigramı bozduğu için, adaylar ortak trigram sayısıyla önce elenir.
+     */
+    private List<String> wordsWithinOneEdit(String token) {
+        List<String> tokenTrigrams = trigrams(token);
+        int required = Math.max(1, tokenTrigrams.size() - 3);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : tokenTrigrams) {
+            Set<String> candidates = trigramWords.get(trigram);
+            if (candidates != null) {
+                for (String word : candidates) {
+                    shared.merge(word, 1, Integer::sum);
+                }
+            }
+        }
+        List<String> result = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+            if (entry.getValue() >= required && prefixWithinOneEdit(token, entry.getKey())) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    private static boolean prefixWithinOneEdit(String token, String word) {
+        for (int length = token.length() - 1; length <= token.length() + 1; length++) {
+            if (length >= 1 && length <= word.length() && withinOneEdit(token, word.substring(0, length))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * İki kelime arasındaki Damerau-Levenshtein uzaklığının en fazla 1 olup olmadığını doğrusal zamanda kontrol eder.
+     */
+    private static boolean withinOneEdit(String a, String b) {
+        int lengthDiff = a.length() - b.length();
+        if (Math.abs(lengthDiff) > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (lengthDiff == 0) {
+            if (i == a.length()) {
+                return true;
+            }
+            // Değiştirme
+            if (a.regionMatches(i + 1, b, i + 1, a.length() - i - 1)) {
+                return true;
+            }
+            // Komşu harflerin yer değiştirmesi
+            return i + 1 < a.length()
+                    && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                    && a.regionMatches(i + 2, b, i + 2, a.length() - i - 2);
+        }
+        String longer = lengthDiff > 0 ? a : b;
+        String shorter = lengthDiff > 0 ? b : a;
+        // Ekleme / silme
+        return longer.regionMatches(i + 1, shorter, i, shorter.length() - i);
+    }
+
+    private static Set<String> intersect(Set<String> accumulated, Set<String> next) {
+        if (accumulated == null) {
+            return next;
+        }
+        accumulated.retainAll(next);
+        return accumulated;
+    }
+
+    private static Set<String> words(String normalizedName) {
+        Set<String> words = new HashSet<>();
+        for (String word : normalizedName.split(" ")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Kelime başı "$" ile işaretlenmiş trigramlar; kısa kelimelerde kelimenin tamamı tek trigram sayılır.
+     */
+    private static List<String> trigrams(String word) {
+        String padded = "$" + word;
+        List<String> trigrams = new ArrayList<>();
+        if (padded.length() <= 3) {
+            trigrams.add(padded);
+            return trigrams;
+        }
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private static final class TrieNode {
+        private final Map<Character, TrieNode> children = new HashMap<>();
+        private String word; // Bu düğümde biten kelime, yoksa null
+    }
+}
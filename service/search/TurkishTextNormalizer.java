@@ -0,0 +1,55 @@
+package com.example.moodmovies.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Arama ve öneri indeksleri için metin normalizasyonu.
+ *
+ * Büyük/küçük harf Türkçe kurallarıyla katlanır (İ -> i, I -> ı), ardından ı -> i yapılır ve
+ * aksanlar (ş, ğ, ç, ö, ü, â...) NFD ayrıştırmasıyla temel harfe indirilir.
+ * Böylece "İstanbul", "ISTANBUL", "ıstanbul" ve "istanbul" aynı terime normalize olur.
+ */
+public final class TurkishTextNormalizer {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+"); // ASCII dışı harfler de korunur
+
+    private TurkishTextNormalizer() {
+    }
+
+    /**
+     * @param text Ham metin
+     * @return Katlanmış, aksansız ve tek boşlukla ayrılmış metin; null girişte boş string
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String folded = text.toLowerCase(TURKISH).replace('ı', 'i');
+        folded = COMBINING_MARKS.matcher(Normalizer.normalize(folded, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(folded).replaceAll(" ").trim();
+    }
+
+    /**
+     * @param text Ham metin
+     * @return Normalize edilmiş kelimeler
+     */
+    public static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        List<String> tokens = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return tokens;
+        }
+        for (String token : normalized.split(" ")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.moodmovies.service.stats;
+
+import com.example.moodmovies.repository.FilmPointRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * En çok favorilenen filmler sıralaması.
+ *
+ * Film başına favori sayısı bellekte tutulur ve (sayı azalan, film ID artan) sırasıyla bir skip list'te dizilir.
+ * Favori değişiklikleri işlem commit olduktan sonra sadece ilgili filmin sırasını günceller; sıralamanın
+ * istenen sayfası sorgu çalıştırmadan okunur.
+ *
+ * Açılışta ve zamanlanmış olarak FILMS_POINT üzerinden baştan kurulur; bu yeniden kurulum, yükleme sırasında
+ * commit olup iki kez sayılmış veya kaçmış değişiklikleri de düzeltir.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FavoriteLeaderboard {
+
+    private final FilmPointRepository filmPointRepository;
+
+    private final RankedCounts favorites = new RankedCounts();
+    private final Object rebuildLock = new Object();
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Favori sayılarını veritabanından yeniden okuyup sıralamayı kurar. Hata durumunda mevcut sıralama korunur.
+     */
+    @Scheduled(initialDelayString = "${app.favorite-leaderboard.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${app.favorite-leaderboard.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long startTime = System.currentTimeMillis();
+            try {
+                List<Object[]> rows = filmPointRepository.countFavoritesGroupedByFilmId();
+                Set<String> live = new HashSet<>(Math.max(16, rows.size() * 2));
+                for (Object[] row : rows) {
+                    String filmId = (String) row[0];
+                    live.add(filmId);
+                    favorites.set(filmId, ((Number) row[1]).longValue());
+                }
+                favorites.retainAll(live);
+                ready = true;
+                log.info("Favori sıralaması kuruldu - Films: {}, Duration: {}ms", favorites.size(), System.currentTimeMillis() - startTime);
+            } catch (Exception e) {
+                log.error("❌ Favori sıralaması kurulamadı - Error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * @return Sıralama en az bir kez kurulduysa true; değilse çağıran taraf veritabanından okumalıdır
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Bir filmin favori durumundaki değişimi kaydeder. Aktif bir işlem varsa commit sonrasında uygulanır.
+     * @param filmId Film ID'si
+     * @param favorite Film favorilere eklendiyse true, çıkarıldıysa false
+     */
+    public void recordFavoriteChange(String filmId, boolean favorite) {
+        long delta = favorite ? 1 : -1;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    favorites.add(filmId, delta);
+                }
+            });
+        } else {
+            favorites.add(filmId, delta);
+        }
+    }
+
+    /**
+     * @param filmId Film ID'si
+     * @return Filmin favori sayısı
+     */
+    public long favoriteCount(String filmId) {
+        return favorites.get(filmId);
+    }
+
+    /**
+     * Sıralamanın istenen dilimini döndürür.
+     * @param offset Atlanacak film sayısı
+     * @param limit Döndürülecek en fazla film sayısı
+     * @return Favori sayısına göre azalan sırada film ID'leri
+     */
+    public List<String> top(int offset, int limit) {
+        return favorites.top(offset, limit);
+    }
+
+    /**
+     * @return Sıralamadaki (en az bir favorisi olan) film sayısı
+     */
+    public int size() {
+        return favorites.size();
+    }
+}
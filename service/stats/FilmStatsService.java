@@ -0,0 +1,464 @@
+package com.example.moodmovies.service.stats;
+
+import com.example.moodmovies.model.FilmStats;
+import com.example.moodmovies.repository.FilmStatsRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Film başına puan toplamı, puan sayısı ve 1-10 histogramını bellekte tutan istatistik servisi.
+ *
+ * Her puan ekleme/değiştirme/kaldırma, işlem commit olduktan sonra sayaçlara delta olarak uygulanır.
+ * Sayaçlar LongAdder olduğu için aynı filme eşzamanlı puan veren istekler tek bir kilit üzerinde beklemez.
+ * Okumalar (ortalama, sayı, dağılım) sorgu çalıştırmadan bellekteki sayaçlardan yapılır.
+ *
+ * Henüz yazılmamış deltalar ayrı sayaçlarda birikir ve zamanlanmış olarak FILM_STATS tablosuna toplu MERGE ile
+ * eklenir. Tabloya artış (+ ?) olarak sadece bu canlı deltalar yazılır; birden fazla node aynı tabloya kendi
+ * deltalarını ekler.
+ *
+ * Mutabakat ve ilk doldurma ise FILMS_POINT üzerinden GROUP BY ile hesaplanan mutlak değerleri yazar ve
+ * sp_getapplock ile aynı anda tek bir node'da çalışır; böylece node sayısından bağımsız olarak tablo gerçek
+ * toplamlara eşitlenir. Mutabakattan sonra her node bellekteki sayaçlarını tablodan yeniden yükler ve diğer
+ * node'ların yazdığı deltaları da görür. Başka bir node'un henüz yazmadığı deltalar mutabakat anında iki kez
+ * sayılabilir; bu fark bir sonraki mutabakatta düzelir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FilmStatsService {
+
+    public static final int MIN_RATING = 1;
+    public static final int MAX_RATING = 10;
+
+    private static final String MERGE_DELTA_SQL = buildMergeSql();
+    private static final String RECONCILE_SQL = buildReconcileSql();
+    private static final String RECONCILE_LOCK = "FILM_STATS_RECONCILE";
+    private static final String ACQUIRE_LOCK_SQL = "SET NOCOUNT ON; DECLARE @result INT; " +
+            "EXEC @result = sp_getapplock @Resource = ?, @LockMode = 'Exclusive', @LockOwner = 'Transaction', @LockTimeout = ?; " +
+            "SELECT @result;";
+    private static final int BACKFILL_LOCK_TIMEOUT_MS = 60000;
+
+    private final FilmStatsRepository filmStatsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<String, Counters> totals = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counters> pending = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    // apply() okuma kilidini alır; yeniden yükleme yazma kilidi altında sayaçları değiştirirken delta kaybolmaz
+    private final ReentrantReadWriteLock totalsLock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready;
+
+    /**
+     * FILM_STATS satırlarını belleğe yükler. Yüklemeden önce gelen puan değişiklikleri sayaçlarda zaten durduğu için
+     * tablo değerleri üzerine eklenir; bu deltalar henüz yazılmadığından iki kez sayılmaz.
+     * Tablo boşsa önce FILMS_POINT'ten mutlak değerlerle doldurulur. Aynı anda açılan node'lar kilidi sırayla alır;
+     * sonra gelen node tabloyu dolu bulur ve hiçbir satırı değiştirmez.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        synchronized (flushLock) {
+            long startTime = System.currentTimeMillis();
+            try {
+                if (filmStatsRepository.count() == 0) {
+                    log.info("FILM_STATS boş, puanlardan dolduruluyor");
+                    reconcileTable(true, BACKFILL_LOCK_TIMEOUT_MS);
+                }
+                List<FilmStats> rows = filmStatsRepository.findAll();
+                for (FilmStats row : rows) {
+                    Counters counters = counters(totals, row.getFilmId());
+                    counters.sum.add(row.getRatingSum());
+                    counters.count.add(row.getRatingCount());
+                    long[] histogram = row.histogram();
+                    for (int i = 0; i < histogram.length; i++) {
+                        counters.histogram[i].add(histogram[i]);
+                    }
+                }
+                ready = true;
+                log.info("Film istatistikleri yüklendi - Films: {}, Duration: {}ms", rows.size(), System.currentTimeMillis() - startTime);
+            } catch (Exception e) {
+                log.error("❌ Film istatistikleri yüklenemedi, sorgu tabanlı okumaya devam ediliyor - Error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * @return İstatistikler yüklendiyse true; değilse çağıran taraf veritabanından okumalıdır
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Bir kullanıcının bir filme verdiği puanın değişimini kaydeder. Aktif bir işlem varsa değişiklik
+     * commit sonrasında uygulanır; rollback olan işlemler sayaçları etkilemez. Commit'e kadar aynı işlem
+     * içindeki okumalar kendi değişikliklerini görür.
+     * @param filmId Film ID'si
+     * @param previousRating Önceki puan (yeni puanlamada null)
+     * @param newRating Yeni puan (puan kaldırıldıysa null)
+     */
+    public void recordRatingChange(String filmId, Integer previousRating, Integer newRating) {
+        if (filmId == null || Objects.equals(previousRating, newRating)) {
+            return;
+        }
+        long[] delta = ratingDelta(previousRating, newRating);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(filmId, delta);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, long[]> transactionDeltas = (Map<String, long[]>) TransactionSynchronizationManager.getResource(this);
+        if (transactionDeltas == null) {
+            Map<String, long[]> deltas = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deltas.forEach(FilmStatsService.this::apply);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(FilmStatsService.this);
+                }
+            });
+            transactionDeltas = deltas;
+        }
+        long[] merged = transactionDeltas.computeIfAbsent(filmId, key -> new long[2 + MAX_RATING]);
+        for (int i = 0; i < merged.length; i++) {
+            merged[i] += delta[i];
+        }
+    }
+
+    /**
+     * @param filmId Film ID'si
+     * @return Filmin puan özeti; hiç puan almamış filmler için sıfır değerli özet
+     */
+    public FilmRatingStats get(String filmId) {
+        long[] values = new long[2 + MAX_RATING];
+        Counters counters = filmId != null ? totals.get(filmId) : null;
+        if (counters != null) {
+            values[0] = counters.sum.sum();
+            values[1] = counters.count.sum();
+            for (int i = 0; i < MAX_RATING; i++) {
+                values[2 + i] = counters.histogram[i].sum();
+            }
+        }
+        // Aynı işlemde yapılmış ama henüz commit olmamış değişiklikler
+        Object transactionDeltas = filmId != null ? TransactionSynchronizationManager.getResource(this) : null;
+        if (transactionDeltas instanceof Map<?, ?> deltas && deltas.get(filmId) instanceof long[] delta) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] += delta[i];
+            }
+        }
+        return new FilmRatingStats(values[0], values[1], Arrays.copyOfRange(values, 2, values.length));
+    }
+
+    /**
+     * Birikmiş deltaları FILM_STATS tablosuna tek işlemde yazar. Yazma başarısız olursa işlem geri alınır ve
+     * deltalar sayaçlara geri eklenir; böylece bir delta iki kez yazılmaz.
+     */
+    @Scheduled(initialDelayString = "${app.film-stats.flush-interval-ms:5000}",
+            fixedDelayString = "${app.film-stats.flush-interval-ms:5000}")
+    public void flush() {
+        if (!ready) {
+            return;
+        }
+        synchronized (flushLock) {
+            Map<String, long[]> deltas = new HashMap<>();
+            pending.forEach((filmId, counters) -> {
+                long[] delta = counters.drain();
+                if (delta != null) {
+                    deltas.put(filmId, delta);
+                }
+            });
+            if (deltas.isEmpty()) {
+                return;
+            }
+            List<Object[]> batch = new ArrayList<>(deltas.size());
+            deltas.forEach((filmId, delta) -> batch.add(mergeParameters(filmId, delta)));
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(MERGE_DELTA_SQL, batch));
+                log.debug("Film istatistikleri yazıldı - Films: {}", deltas.size());
+            } catch (Exception e) {
+                deltas.forEach((filmId, delta) -> counters(pending, filmId).add(delta));
+                log.error("❌ Film istatistikleri yazılamadı, bir sonraki denemede tekrar yazılacak - Films: {}, Error: {}",
+                        deltas.size(), e.getMessage(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * FILM_STATS'ı FILMS_POINT üzerinden hesaplanan mutlak değerlere eşitler ve bellekteki sayaçları tablodan
+     * yeniden yükler. Önce bu node'un bekleyen deltaları yazılır. Tablo mutabakatı kilidi başka bir node
+     * tutuyorsa bu node sadece sayaçlarını yeniden yükler.
+     */
+    @Scheduled(initialDelayString = "${app.film-stats.reconcile-interval-ms:3600000}",
+            fixedDelayString = "${app.film-stats.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        if (!ready) {
+            return;
+        }
+        flush();
+        synchronized (flushLock) {
+            try {
+                reconcileTable(false, 0);
+                reloadTotals();
+            } catch (Exception e) {
+                log.error("❌ Film istatistikleri mutabakatı başarısız - Error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Sapan FILM_STATS satırlarını tek bir MERGE ile mutlak değerlere eşitler. Kilit işlem süresince tutulur.
+     * @param backfill Boş tablonun ilk doldurulmasıysa true; film bazında sapma logu yazılmaz
+     * @param lockTimeoutMs Kilit için beklenecek süre; 0 ise kilit doluysa hemen vazgeçilir
+     */
+    private void reconcileTable(boolean backfill, int lockTimeoutMs) {
+        long startTime = System.currentTimeMillis();
+        Integer drifted = transactionTemplate.execute(status -> {
+            Integer lockResult = jdbcTemplate.queryForObject(ACQUIRE_LOCK_SQL, Integer.class, RECONCILE_LOCK, lockTimeoutMs);
+            if (lockResult == null || lockResult < 0) {
+                return null;
+            }
+            return jdbcTemplate.query(RECONCILE_SQL, (rs, rowNum) -> {
+                if (!backfill) {
+                    log.warn("⚠ Film istatistiği sapması düzeltildi - FilmId: {}, SumDiff: {}, CountDiff: {}",
+                            rs.getString(1), rs.getLong(2), rs.getLong(3));
+                }
+                return rs.getString(1);
+            }).size();
+        });
+        if (drifted == null) {
+            log.debug("Film istatistikleri mutabakatı başka bir node'da çalışıyor, atlandı");
+            return;
+        }
+        log.info("Film istatistikleri mutabakatı tamamlandı - Drifted: {}, Duration: {}ms",
+                drifted, System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Bellekteki toplamları FILM_STATS'tan yeniden kurar. Bu node'un henüz yazılmamış deltaları tablo
+     * değerlerinin üzerine eklenir. flushLock altında çağrılır; tablo okunduktan sonra gelen deltalar pending'de
+     * beklediği için bekleyen deltaların anlık görüntüsü ve sayaçların değişimi yazma kilidi altında birlikte yapılır.
+     */
+    private void reloadTotals() {
+        Map<String, Counters> loaded = new HashMap<>();
+        for (FilmStats row : filmStatsRepository.findAll()) {
+            long[] histogram = row.histogram();
+            long[] values = new long[2 + MAX_RATING];
+            values[0] = row.getRatingSum();
+            values[1] = row.getRatingCount();
+            System.arraycopy(histogram, 0, values, 2, histogram.length);
+            counters(loaded, row.getFilmId()).add(values);
+        }
+        totalsLock.writeLock().lock();
+        try {
+            pending.forEach((filmId, counters) -> counters(loaded, filmId).add(counters.values()));
+            totals.putAll(loaded);
+            totals.keySet().retainAll(loaded.keySet());
+        } finally {
+            totalsLock.writeLock().unlock();
+        }
+        log.debug("Film istatistikleri tablodan yeniden yüklendi - Films: {}", loaded.size());
+    }
+
+    // --- Helper Metotlar ---
+
+    private static long[] ratingDelta(Integer previousRating, Integer newRating) {
+        long[] delta = new long[2 + MAX_RATING];
+        if (isValid(previousRating)) {
+            delta[0] -= previousRating;
+            delta[1]--;
+            delta[1 + previousRating]--;
+        }
+        if (isValid(newRating)) {
+            delta[0] += newRating;
+            delta[1]++;
+            delta[1 + newRating]++;
+        }
+        return delta;
+    }
+
+    private void apply(String filmId, long[] delta) {
+        totalsLock.readLock().lock();
+        try {
+            counters(totals, filmId).add(delta);
+            counters(pending, filmId).add(delta);
+        } finally {
+            totalsLock.readLock().unlock();
+        }
+    }
+
+    private static boolean isValid(Integer rating) {
+        return rating != null && rating >= MIN_RATING && rating <= MAX_RATING;
+    }
+
+    private static Counters counters(Map<String, Counters> map, String filmId) {
+        return map.computeIfAbsent(filmId, key -> new Counters());
+    }
+
+    private static Object[] mergeParameters(String filmId, long[] delta) {
+        // MERGE'de delta hem UPDATE hem INSERT kolu için tekrar bağlanır
+        Object[] parameters = new Object[1 + delta.length * 2];
+        parameters[0] = filmId;
+        for (int i = 0; i < delta.length; i++) {
+            parameters[1 + i] = delta[i];
+            parameters[1 + delta.length + i] = delta[i];
+        }
+        return parameters;
+    }
+
+    private static String buildMergeSql() {
+        StringBuilder columns = new StringBuilder("RATING_SUM, RATING_COUNT");
+        StringBuilder increments = new StringBuilder("RATING_SUM = t.RATING_SUM + ?, RATING_COUNT = t.RATING_COUNT + ?");
+        StringBuilder values = new StringBuilder("?, ?");
+        for (int rating = MIN_RATING; rating <= MAX_RATING; rating++) {
+            columns.append(", HIST_").append(rating);
+            increments.append(", HIST_").append(rating).append(" = t.HIST_").append(rating).append(" + ?");
+            values.append(", ?");
+        }
+        return "MERGE FILM_STATS WITH (HOLDLOCK) AS t " +
+                "USING (SELECT ? AS FILM_ID) AS s ON t.FILM_ID = s.FILM_ID " +
+                "WHEN MATCHED THEN UPDATE SET " + increments + ", LAST_UPD = SYSDATETIME() " +
+                "WHEN NOT MATCHED THEN INSERT (FILM_ID, " + columns + ", LAST_UPD) " +
+                "VALUES (s.FILM_ID, " + values + ", SYSDATETIME());";
+    }
+
+    /**
+     * FILMS_POINT'ten GROUP BY ile mutlak toplamları hesaplayıp sadece sapan FILM_STATS satırlarını yazan MERGE.
+     * Artık puanı kalmayan filmlerin satırları sıfırlanır. OUTPUT, düzeltilen her film için [FILM_ID, sumDiff, countDiff] döner.
+     */
+    private static String buildReconcileSql() {
+        StringBuilder sources = new StringBuilder("SUM(FILM_POINT) AS RATING_SUM, COUNT(*) AS RATING_COUNT");
+        StringBuilder columns = new StringBuilder("RATING_SUM, RATING_COUNT");
+        StringBuilder sourceValues = new StringBuilder("s.RATING_SUM, s.RATING_COUNT");
+        StringBuilder assignments = new StringBuilder("RATING_SUM = s.RATING_SUM, RATING_COUNT = s.RATING_COUNT");
+        StringBuilder zeroes = new StringBuilder("RATING_SUM = 0, RATING_COUNT = 0");
+        StringBuilder differs = new StringBuilder("t.RATING_SUM <> s.RATING_SUM OR t.RATING_COUNT <> s.RATING_COUNT");
+        StringBuilder nonZero = new StringBuilder("t.RATING_SUM <> 0 OR t.RATING_COUNT <> 0");
+        for (int rating = MIN_RATING; rating <= MAX_RATING; rating++) {
+            String column = "HIST_" + rating;
+            sources.append(", SUM(CASE WHEN FILM_POINT = ").append(rating).append(" THEN 1 ELSE 0 END) AS ").append(column);
+            columns.append(", ").append(column);
+            sourceValues.append(", s.").append(column);
+            assignments.append(", ").append(column).append(" = s.").append(column);
+            zeroes.append(", ").append(column).append(" = 0");
+            differs.append(" OR t.").append(column).append(" <> s.").append(column);
+            nonZero.append(" OR t.").append(column).append(" <> 0");
+        }
+        return "MERGE FILM_STATS WITH (HOLDLOCK) AS t " +
+                "USING (SELECT FILM_ID, " + sources + " FROM MOODMOVIES_FILMS_POINT " +
+                "WHERE FILM_POINT BETWEEN " + MIN_RATING + " AND " + MAX_RATING + " GROUP BY FILM_ID) AS s " +
+                "ON t.FILM_ID = s.FILM_ID " +
+                "WHEN MATCHED AND (" + differs + ") THEN UPDATE SET " + assignments + ", LAST_UPD = SYSDATETIME() " +
+                "WHEN NOT MATCHED BY TARGET THEN INSERT (FILM_ID, " + columns + ", LAST_UPD) " +
+                "VALUES (s.FILM_ID, " + sourceValues + ", SYSDATETIME()) " +
+                "WHEN NOT MATCHED BY SOURCE AND (" + nonZero + ") THEN UPDATE SET " + zeroes + ", LAST_UPD = SYSDATETIME() " +
+                "OUTPUT COALESCE(inserted.FILM_ID, deleted.FILM_ID), " +
+                "ISNULL(inserted.RATING_SUM, 0) - ISNULL(deleted.RATING_SUM, 0), " +
+                "ISNULL(inserted.RATING_COUNT, 0) - ISNULL(deleted.RATING_COUNT, 0);";
+    }
+
+    /**
+     * Bir filmin şeritli (striped) sayaçları. Delta dizileri [sum, count, hist1..hist10] sırasındadır.
+     */
+    private static final class Counters {
+        private final LongAdder sum = new LongAdder();
+        private final LongAdder count = new LongAdder();
+        private final LongAdder[] histogram = new LongAdder[MAX_RATING];
+
+        private Counters() {
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        private void add(long[] delta) {
+            sum.add(delta[0]);
+            count.add(delta[1]);
+            for (int i = 0; i < histogram.length; i++) {
+                if (delta[2 + i] != 0) {
+                    histogram[i].add(delta[2 + i]);
+                }
+            }
+        }
+
+        /**
+         * @return Sayaçların anlık değerleri; sayaçlar sıfırlanmaz
+         */
+        private long[] values() {
+            long[] values = new long[2 + MAX_RATING];
+            values[0] = sum.sum();
+            values[1] = count.sum();
+            for (int i = 0; i < histogram.length; i++) {
+                values[2 + i] = histogram[i].sum();
+            }
+            return values;
+        }
+
+        /**
+         * Sayaçları sıfırlayıp birikmiş değerleri döndürür; hiçbir değişiklik yoksa null.
+         * Her hücre atomik olarak sıfırlandığı için eşzamanlı eklemeler kaybolmaz, bir sonraki boşaltmaya kalır.
+         */
+        private long[] drain() {
+            long[] delta = new long[2 + MAX_RATING];
+            boolean changed = false;
+            delta[0] = sum.sumThenReset();
+            delta[1] = count.sumThenReset();
+            changed |= delta[0] != 0 || delta[1] != 0;
+            for (int i = 0; i < histogram.length; i++) {
+                delta[2 + i] = histogram[i].sumThenReset();
+                changed |= delta[2 + i] != 0;
+            }
+            return changed ? delta : null;
+        }
+    }
+
+    /**
+     * Bir filmin puan özeti.
+     * @param sum Puanların toplamı
+     * @param count Puan sayısı
+     * @param histogram İndeks 0 = 1 puan, indeks 9 = 10 puan olacak şekilde puan sayıları
+     */
+    public record FilmRatingStats(long sum, long count, long[] histogram) {
+
+        /**
+         * @return Tek ondalık basamağa yuvarlanmış ortalama; puan yoksa 0.0
+         */
+        public BigDecimal average() {
+            if (count <= 0) {
+                return BigDecimal.valueOf(0.0).setScale(1, RoundingMode.HALF_UP);
+            }
+            return BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(count), 1, RoundingMode.HALF_UP);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.moodmovies.service.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Anahtar başına sayaç tutan ve anahtarları (sayı azalan, anahtar artan) sırasıyla dizen bellek içi sıralama.
+ * Bir sayaç değiştiğinde sadece o anahtarın skip list'teki yeri güncellenir; sıfıra düşen anahtarlar sıralamadan çıkar.
+ */
+final class RankedCounts {
+
+    private static final Comparator<Entry> RANKING = Comparator.comparingLong(Entry::count).reversed()
+            .thenComparing(Entry::key);
+
+    private final ConcurrentHashMap<String, Long> counts = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(RANKING);
+
+    long get(String key) {
+        return key != null ? counts.getOrDefault(key, 0L) : 0L;
+    }
+
+    void add(String key, long delta) {
+        counts.compute(key, (k, previous) -> update(k, previous, (previous != null ? previous : 0L) + delta));
+    }
+
+    void set(String key, long count) {
+        counts.compute(key, (k, previous) -> update(k, previous, count));
+    }
+
+    /**
+     * Verilen kümede olmayan anahtarları sıralamadan çıkarır. Baştan kurulumda silinmiş kayıtları temizlemek için kullanılır.
+     */
+    void retainAll(Set<String> live) {
+        for (String key : counts.keySet()) {
+            if (!live.contains(key)) {
+                set(key, 0);
+            }
+        }
+    }
+
+    int size() {
+        return counts.size();
+    }
+
+    /**
+     * @param offset Atlanacak anahtar sayısı
+     * @param limit Döndürülecek en fazla anahtar sayısı
+     * @return Sayıya göre azalan sırada anahtarlar
+     */
+    List<String> top(int offset, int limit) {
+        List<String> keys = new ArrayList<>(Math.max(0, Math.min(limit, 100)));
+        if (limit <= 0 || offset < 0) {
+            return keys;
+        }
+        // Bir anahtarın sırası değişirken kısa bir an iki kaydı birden görünebilir; tekrarlar atlanır
+        Set<String> seen = new HashSet<>();
+        int skipped = 0;
+        Iterator<Entry> iterator = ranking.iterator();
+        while (iterator.hasNext() && keys.size() < limit) {
+            Entry entry = iterator.next();
+            if (!seen.add(entry.key())) {
+                continue;
+            }
+            if (skipped++ >= offset) {
+                keys.add(entry.key());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * compute içinde çağrılır; aynı anahtar için güncellemeler sıralı çalışır. Yeni kayıt eski kayıt silinmeden
+     * eklenir ki okuyucular anahtarı sıralamada hiç görmeden geçmesin.
+     */
+    private Long update(String key, Long previous, long count) {
+        if (previous != null && previous == count) {
+            return previous;
+        }
+        if (count > 0) {
+            ranking.add(new Entry(key, count));
+        }
+        if (previous != null) {
+            ranking.remove(new Entry(key, previous));
+        }
+        return count > 0 ? count : null;
+    }
+
+    private record Entry(String key, long count) {
+    }
+}
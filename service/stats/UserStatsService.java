@@ -0,0 +1,176 @@
+package com.example.moodmovies.service.stats;
+
+import com.example.moodmovies.model.UserStats;
+import com.example.moodmovies.repository.UserStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Kullanıcı başına puan, favori, liste ve etkileşim sayaçlarını yöneten servis.
+ *
+ * Sayaçlar USER_STATS tablosunda tutulur ve etkileşimi yapan işlemle aynı işlem içinde tek bir MERGE ile
+ * artırılır; böylece işlem geri alınırsa sayaç da geri alınır. Yorumcu sıralaması (FILMS_POINT kayıt sayısına göre)
+ * bellekte tutulur ve commit sonrasında sadece ilgili kullanıcının yeri güncellenir.
+ *
+ * Açılışta satırı olmayan kullanıcılar mevcut verilerden doldurulur ve sıralama USER_STATS'tan kurulur.
+ * Sıralama zamanlanmış olarak USER_STATS'tan yeniden kurulur; böylece diğer node'larda yapılan etkileşimler ve
+ * yükleme sırasında kaçmış değişiklikler de sıralamaya yansır.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserStatsService {
+
+    private final UserStatsRepository userStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final RankedCounts reviewers = new RankedCounts();
+    private final Object rebuildLock = new Object();
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            Integer backfilled = transactionTemplate.execute(status -> userStatsRepository.backfillMissing());
+            if (backfilled != null && backfilled > 0) {
+                log.info("USER_STATS eksik kullanıcılar için dolduruldu - Users: {}", backfilled);
+            }
+        } catch (Exception e) {
+            log.error("❌ USER_STATS eksik kullanıcılar için doldurulamadı - Error: {}", e.getMessage(), e);
+        }
+        rebuild();
+    }
+
+    /**
+     * Yorumcu sıralamasını USER_STATS'tan yeniden kurar. Hata durumunda mevcut sıralama korunur.
+     */
+    @Scheduled(initialDelayString = "${app.user-stats.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${app.user-stats.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long startTime = System.currentTimeMillis();
+            try {
+                List<Object[]> rows = userStatsRepository.findInteractionCounts();
+                Set<String> live = new HashSet<>(Math.max(16, rows.size() * 2));
+                for (Object[] row : rows) {
+                    String userId = (String) row[0];
+                    live.add(userId);
+                    reviewers.set(userId, ((Number) row[1]).longValue());
+                }
+                reviewers.retainAll(live);
+                ready = true;
+                log.info("Yorumcu sıralaması kuruldu - Users: {}, Duration: {}ms", reviewers.size(), System.currentTimeMillis() - startTime);
+            } catch (Exception e) {
+                log.error("❌ Yorumcu sıralaması kurulamadı - Error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Kullanıcının sayaçlarını çağıranın işlemi içinde günceller. Yorumcu sıralaması commit sonrasında güncellenir.
+     * @param userId Kullanıcı ID'si
+     * @param ratingDelta Puan sayısı değişimi
+     * @param favoriteDelta Favori sayısı değişimi
+     * @param listDelta Aktif liste sayısı değişimi
+     * @param interactionDelta FILMS_POINT kayıt sayısı değişimi
+     */
+    @Transactional
+    public void adjust(String userId, long ratingDelta, long favoriteDelta, long listDelta, long interactionDelta) {
+        if (userId == null || (ratingDelta == 0 && favoriteDelta == 0 && listDelta == 0 && interactionDelta == 0)) {
+            return;
+        }
+        userStatsRepository.adjust(userId, ratingDelta, favoriteDelta, listDelta, interactionDelta);
+        if (interactionDelta == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reviewers.add(userId, interactionDelta);
+                }
+            });
+        } else {
+            reviewers.add(userId, interactionDelta);
+        }
+    }
+
+    /**
+     * Silinen kullanıcının sayaç satırını çağıranın işlemi içinde siler. Kullanıcı yorumcu sıralamasından
+     * commit sonrasında çıkarılır.
+     * @param userId Kullanıcı ID'si
+     */
+    @Transactional
+    public void remove(String userId) {
+        userStatsRepository.deleteByUserId(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reviewers.set(userId, 0);
+                }
+            });
+        } else {
+            reviewers.set(userId, 0);
+        }
+    }
+
+    /**
+     * @param userId Kullanıcı ID'si
+     * @return Kullanıcının sayaçları; hiç etkileşimi olmayan kullanıcı için sıfır değerli kayıt
+     */
+    @Transactional(readOnly = true)
+    public UserStats get(String userId) {
+        return userStatsRepository.findById(userId).orElseGet(() -> empty(userId));
+    }
+
+    /**
+     * @param userIds Kullanıcı ID'leri
+     * @return Kullanıcı ID'si -> sayaçlar; satırı olmayan kullanıcılar sıfır değerli kayıtla döner
+     */
+    @Transactional(readOnly = true)
+    public Map<String, UserStats> getAll(Collection<String> userIds) {
+        Map<String, UserStats> stats = userStatsRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(UserStats::getUserId, Function.identity()));
+        for (String userId : userIds) {
+            stats.computeIfAbsent(userId, UserStatsService::empty);
+        }
+        return stats;
+    }
+
+    /**
+     * @param limit En fazla kullanıcı sayısı
+     * @return En çok etkileşimi olan kullanıcıların ID'leri, azalan sırada
+     */
+    @Transactional(readOnly = true)
+    public List<String> topReviewers(int limit) {
+        if (ready) {
+            return reviewers.top(0, limit);
+        }
+        return userStatsRepository.findTopUserIdsByInteractionCount(PageRequest.of(0, limit));
+    }
+
+    private static UserStats empty(String userId) {
+        UserStats stats = new UserStats();
+        stats.setUserId(userId);
+        return stats;
+    }
+}